@@ -1,59 +1,240 @@
 package com.sven.sjcalendar;
 
 import android.content.ContentProviderOperation;
+import android.content.ContentProviderResult;
 import android.content.ContentResolver;
 import android.content.ContentValues;
+import android.content.Context;
 import android.database.Cursor;
 import android.net.Uri;
+import android.provider.CalendarContract.Events;
+import android.text.format.Time;
 import android.util.Log;
 
+import com.sven.sjcalendar.data.QueryCache;
+import com.sven.sjcalendar.data.QuerySpec;
+
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.reactivex.Observable;
 import io.reactivex.ObservableEmitter;
 import io.reactivex.ObservableOnSubscribe;
+import io.reactivex.Scheduler;
 import io.reactivex.android.schedulers.AndroidSchedulers;
 import io.reactivex.disposables.Disposable;
+import io.reactivex.disposables.Disposables;
 import io.reactivex.functions.Consumer;
 import io.reactivex.schedulers.Schedulers;
 
 /**
+ * 1.参数相同且还在排队的查询合并为一次执行, 结果通过{@link SharedCursor}分发给每个请求
+ * 2.uri和selection相同但参数不同的新查询会取代旧的, 旧请求不再回调, 没有其他请求共享的结果直接关闭
+ * 3.每个authority最多同时执行{@link #MAX_CONCURRENT_PER_AUTHORITY}个操作, 其余排队
+ * 4.开启批量写入后, 短时间内同一authority的插入/更新/删除合并为一次applyBatch
+ * 5.设置了{@link QueryCache}时, 写入后清除受影响的缓存, 并可以通过缓存查询, 应用内通过{@link #getInstance}共享
  * Created by zhimin
  * On date 17-5-19.
  */
 public class AsyncQueryScheduler {
     private static final String TAG = "AsyncQueryScheduler";
 
+    // 每个authority同时执行的最大操作数
+    private static final int MAX_CONCURRENT_PER_AUTHORITY = 2;
+    // 空闲线程的存活时间
+    private static final long WORKER_KEEP_ALIVE_SECONDS = 30;
+    // 批量写入等待后续写入的时间, 毫秒
+    private static final long WRITE_BATCH_WINDOW = 50;
+    // 单次批量写入的最大操作数, 达到后立即提交
+    private static final int WRITE_BATCH_MAX_SIZE = 64;
+
     // Used for generating unique tokens for calls to this service
     private static AtomicInteger mUniqueToken = new AtomicInteger(0);
 
+    // key为authority, 所有实例共享, 限制对同一provider的并发
+    private static final Map<String, Scheduler> sAuthoritySchedulers = new HashMap<>();
+
     private final WeakReference<ContentResolver> mResolver;
+    private final QueryCache mQueryCache;
+
+    private final Object mLock = new Object();
+    // 还在排队的查询, 参数相同的新请求直接加入
+    private final Map<QuerySpec, SharedQuery> mQueuedQueries = new HashMap<>();
+    // key为查询类型, 每种类型最新的未完成查询
+    private final Map<QueryKind, SharedQuery> mLatestQueries = new HashMap<>();
+
+    private volatile boolean mBatchWrites;
+    // key为authority, 等待合并提交的写入
+    private final Map<String, WriteBatch> mPendingWrites = new HashMap<>();
+
+    private static volatile AsyncQueryScheduler sInstance;
+
+    /**
+     * 应用共享的实例, 通过{@link QueryCache#getInstance}缓存查询结果, 写入后清除受影响的缓存
+     */
+    public static AsyncQueryScheduler getInstance(Context context) {
+        if (sInstance == null) {
+            synchronized (AsyncQueryScheduler.class) {
+                if (sInstance == null) {
+                    Context appContext = context.getApplicationContext();
+                    sInstance = new AsyncQueryScheduler(appContext.getContentResolver(),
+                            QueryCache.getInstance(appContext));
+                }
+            }
+        }
+        return sInstance;
+    }
 
     public AsyncQueryScheduler(ContentResolver cr) {
+        this(cr, null);
+    }
+
+    public AsyncQueryScheduler(ContentResolver cr, QueryCache cache) {
         mResolver = new WeakReference<ContentResolver>(cr);
+        mQueryCache = cache;
     }
 
     public int getNextToken() {
         return mUniqueToken.getAndIncrement();
     }
 
+    /**
+     * 开启后插入/更新/删除会延迟最多{@link #WRITE_BATCH_WINDOW}毫秒, 与同一authority的其他写入一起提交,
+     * 每个请求仍按token回调自己的结果, 整批失败时每个请求都会回调onError
+     * 关闭时立即提交等待中的写入
+     */
+    public void setWriteBatchingEnabled(boolean enabled) {
+        mBatchWrites = enabled;
+        if (!enabled) {
+            flushWrites();
+        }
+    }
+
+    /**
+     * 立即提交所有等待中的批量写入, 例如在依赖写入结果的查询之前调用
+     */
+    public void flushWrites() {
+        List<WriteBatch> batches;
+        synchronized (mLock) {
+            batches = new ArrayList<>(mPendingWrites.values());
+        }
+        for (WriteBatch batch : batches) {
+            scheduleFlush(batch, 0);
+        }
+    }
+
+    /**
+     * 通过{@link QueryCache}查询, 回调读取后的结果而不是Cursor, 有缓存时不访问数据库
+     *
+     * @return dispose后不再回调
+     */
+    public <T> Disposable startCachedQuery(final int token, final QuerySpec spec,
+                                           final QueryCache.Materializer<T> materializer,
+                                           final OperationCallback callback) {
+        if (mQueryCache == null) {
+            throw new IllegalStateException("No QueryCache set");
+        }
+
+        final Disposable request = Disposables.empty();
+        getScheduler(spec.getUri().getAuthority()).scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                if (request.isDisposed()) {
+                    return;
+                }
+
+                T result = null;
+                Exception error = null;
+                try {
+                    result = mQueryCache.query(spec, materializer);
+                } catch (Exception e) {
+                    Log.e(TAG, "execute cached query failed, e -> " + e.getMessage());
+                    error = e;
+                }
+
+                final T finalResult = result;
+                final Exception finalError = error;
+                AndroidSchedulers.mainThread().scheduleDirect(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (request.isDisposed() || callback == null) {
+                            return;
+                        }
+                        request.dispose();
+                        if (finalError != null) {
+                            callback.onError(finalError);
+                        } else {
+                            callback.onSuccess(token, finalResult);
+                        }
+                    }
+                });
+            }
+        });
+        return request;
+    }
+
+    /**
+     * uri和selection相同的上一个未完成查询会被取代, 参数完全相同时合并为一次查询
+     *
+     * @return dispose后不再回调, 没有其他请求共享的查询结果会被关闭
+     */
     public Disposable startQuery(int token, Uri uri, String[] projection, String selection, String[] selectionArgs,
                                  String orderBy, OperationCallback callback) {
-        OperationInfo info = new OperationInfo();
-        info.token = token;
-        info.op = Operation.EVENT_ARG_QUERY;
-        info.resolver = mResolver.get();
-
-        info.callback = callback;
-        info.uri = uri;
-        info.projection = projection;
-        info.selection = selection;
-        info.selectionArgs = selectionArgs;
-        info.orderBy = orderBy;
+        QueryRequest request = new QueryRequest(token, callback);
+        QuerySpec key = new QuerySpec(uri, projection, selection, selectionArgs, orderBy);
+
+        SharedQuery query;
+        boolean start = false;
+        synchronized (mLock) {
+            query = mQueuedQueries.get(key);
+            if (query == null) {
+                OperationInfo info = new OperationInfo();
+                info.token = token;
+                info.op = Operation.EVENT_ARG_QUERY;
+                info.resolver = mResolver.get();
+
+                info.uri = uri;
+                info.projection = projection;
+                info.selection = selection;
+                info.selectionArgs = selectionArgs;
+                info.orderBy = orderBy;
+
+                query = new SharedQuery(key, info);
+                mQueuedQueries.put(key, query);
+                start = true;
+            }
+            query.mRequests.add(request);
+            request.mQuery = query;
+
+            // 参数不同的旧查询的所有请求都被取代, 参数相同但已开始执行的旧查询照常回调
+            SharedQuery previous = mLatestQueries.get(query.mKind);
+            if (previous != null && !previous.mKey.equals(key)) {
+                for (QueryRequest superseded : new ArrayList<>(previous.mRequests)) {
+                    detach(superseded);
+                }
+            }
+            mLatestQueries.put(query.mKind, query);
+        }
 
-        return startOperation(info);
+        if (start) {
+            final SharedQuery target = query;
+            getScheduler(uri.getAuthority()).scheduleDirect(new Runnable() {
+                @Override
+                public void run() {
+                    executeQuery(target);
+                }
+            });
+        }
+        return request;
     }
 
     public Disposable startInsert(int token, Uri uri, ContentValues initialValues, OperationCallback callback) {
@@ -66,7 +247,7 @@ public class AsyncQueryScheduler {
         info.uri = uri;
         info.values = initialValues;
 
-        return startOperation(info);
+        return startWrite(info);
     }
 
     public Disposable startDelete(int token, Uri uri, String selection, String[] selectionArgs, OperationCallback callback) {
@@ -80,7 +261,7 @@ public class AsyncQueryScheduler {
         info.selection = selection;
         info.selectionArgs = selectionArgs;
 
-        return startOperation(info);
+        return startWrite(info);
     }
 
     public Disposable startUpdate(int token, Uri uri, ContentValues values, String selection, String[] selectionArgs,
@@ -96,7 +277,7 @@ public class AsyncQueryScheduler {
         info.selection = selection;
         info.selectionArgs = selectionArgs;
 
-        return startOperation(info);
+        return startWrite(info);
     }
 
     public void startBatch(int token, String authority, ArrayList<ContentProviderOperation> cpo, OperationCallback callback) {
@@ -122,11 +303,13 @@ public class AsyncQueryScheduler {
                         } catch (Exception e) {
                             emitter.onError(e);
                         } finally {
+                            invalidateCache(info);
                             emitter.onComplete();
                         }
                     }
                 })
-                .subscribeOn(Schedulers.io())
+                .subscribeOn(getScheduler(info.op == Operation.EVENT_ARG_BATCH
+                        ? info.authority : info.uri.getAuthority()))
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(new Consumer<Object>() {
                     @Override
@@ -145,28 +328,322 @@ public class AsyncQueryScheduler {
                 });
     }
 
+    /**
+     * 在authority的线程执行查询, 开始执行后新的相同查询不再加入, 保证请求拿到的数据不早于请求本身
+     */
+    private void executeQuery(final SharedQuery query) {
+        synchronized (mLock) {
+            if (query.mRequests.isEmpty()) {
+                // 排队期间所有请求都已被取代或取消
+                return;
+            }
+            if (mQueuedQueries.get(query.mKey) == query) {
+                mQueuedQueries.remove(query.mKey);
+            }
+        }
+
+        OperationInfo info = query.mInfo;
+        Cursor cursor = null;
+        if (info.resolver != null) {
+            try {
+                cursor = info.resolver.query(info.uri, info.projection, info.selection,
+                        info.selectionArgs, info.orderBy);
+            } catch (Exception e) {
+                Log.e(TAG, "execute query operation failed, e -> " + e.getMessage());
+                cursor = null;
+            }
+        }
+
+        if (cursor != null) {
+            if (!query.hasRequests()) {
+                cursor.close();
+                return;
+            }
+            /*
+             * Calling getCount() causes the cursor window to be
+             * filled, which will make the first access on the main
+             * thread a lot faster
+             */
+            cursor.getCount();
+        }
+
+        final Cursor result = cursor;
+        AndroidSchedulers.mainThread().scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                deliverQuery(query, result);
+            }
+        });
+    }
+
+    private void deliverQuery(SharedQuery query, Cursor cursor) {
+        List<QueryRequest> requests;
+        synchronized (mLock) {
+            requests = new ArrayList<>(query.mRequests);
+            query.mRequests.clear();
+            for (QueryRequest request : requests) {
+                request.mDisposed = true;
+            }
+            if (mLatestQueries.get(query.mKind) == query) {
+                mLatestQueries.remove(query.mKind);
+            }
+        }
+
+        Cursor[] cursors = null;
+        if (cursor != null) {
+            if (requests.isEmpty()) {
+                cursor.close();
+                return;
+            }
+            cursors = requests.size() == 1 ? new Cursor[]{cursor}
+                    : SharedCursor.share(cursor, requests.size());
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            QueryRequest request = requests.get(i);
+            if (request.mCallback != null) {
+                request.mCallback.onSuccess(request.mToken, cursors == null ? null : cursors[i]);
+            } else if (cursors != null) {
+                cursors[i].close();
+            }
+        }
+    }
+
+    /**
+     * 请求被取代或取消, 调用时需持有mLock
+     */
+    private void detach(QueryRequest request) {
+        request.mDisposed = true;
+
+        SharedQuery query = request.mQuery;
+        if (query.mRequests.remove(request) && query.mRequests.isEmpty()) {
+            if (mQueuedQueries.get(query.mKey) == query) {
+                mQueuedQueries.remove(query.mKey);
+            }
+            if (mLatestQueries.get(query.mKind) == query) {
+                mLatestQueries.remove(query.mKind);
+            }
+        }
+    }
+
+    private static Scheduler getScheduler(String authority) {
+        if (authority == null) {
+            return Schedulers.io();
+        }
+
+        synchronized (sAuthoritySchedulers) {
+            Scheduler scheduler = sAuthoritySchedulers.get(authority);
+            if (scheduler == null) {
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_CONCURRENT_PER_AUTHORITY,
+                        MAX_CONCURRENT_PER_AUTHORITY, WORKER_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<Runnable>());
+                executor.allowCoreThreadTimeOut(true);
+                scheduler = Schedulers.from(executor);
+                sAuthoritySchedulers.put(authority, scheduler);
+            }
+            return scheduler;
+        }
+    }
+
+    private Disposable startWrite(OperationInfo info) {
+        String authority = info.uri.getAuthority();
+        if (!mBatchWrites || authority == null) {
+            return startOperation(info);
+        }
+
+        WriteRequest request = new WriteRequest(info);
+        WriteBatch batch;
+        boolean created = false;
+        boolean full;
+        synchronized (mLock) {
+            batch = mPendingWrites.get(authority);
+            if (batch == null) {
+                batch = new WriteBatch(authority, info.resolver);
+                mPendingWrites.put(authority, batch);
+                created = true;
+            }
+            batch.mRequests.add(request);
+            full = batch.mRequests.size() >= WRITE_BATCH_MAX_SIZE;
+            if (full) {
+                // 之后的写入进入新的批次
+                mPendingWrites.remove(authority);
+            }
+        }
+
+        if (full) {
+            scheduleFlush(batch, 0);
+        } else if (created) {
+            scheduleFlush(batch, WRITE_BATCH_WINDOW);
+        }
+        return request;
+    }
+
+    private void scheduleFlush(final WriteBatch batch, long delay) {
+        getScheduler(batch.mAuthority).scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                executeWrites(batch);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 在authority的线程提交一批写入, 同一批次只会提交一次
+     */
+    private void executeWrites(WriteBatch batch) {
+        final List<WriteRequest> requests = new ArrayList<>();
+        synchronized (mLock) {
+            if (batch.mFlushed) {
+                return;
+            }
+            batch.mFlushed = true;
+            if (mPendingWrites.get(batch.mAuthority) == batch) {
+                mPendingWrites.remove(batch.mAuthority);
+            }
+            for (WriteRequest request : batch.mRequests) {
+                if (!request.mDisposed) {
+                    requests.add(request);
+                }
+            }
+        }
+
+        if (requests.isEmpty()) {
+            return;
+        }
+
+        ContentProviderResult[] results = null;
+        Exception error = null;
+        try {
+            if (batch.mResolver == null) {
+                throw new IllegalStateException("ContentResolver has been released");
+            }
+            ArrayList<ContentProviderOperation> cpo = new ArrayList<>(requests.size());
+            for (WriteRequest request : requests) {
+                cpo.add(toProviderOperation(request.mInfo));
+            }
+            results = batch.mResolver.applyBatch(batch.mAuthority, cpo);
+        } catch (Exception e) {
+            Log.e(TAG, "apply write batch failed, e -> " + e.getMessage());
+            error = e;
+        }
+
+        for (WriteRequest request : requests) {
+            invalidateCache(request.mInfo);
+        }
+
+        final ContentProviderResult[] finalResults = results;
+        final Exception finalError = error;
+        AndroidSchedulers.mainThread().scheduleDirect(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < requests.size(); i++) {
+                    WriteRequest request = requests.get(i);
+                    OperationCallback callback = request.mInfo.callback;
+                    if (request.mDisposed || callback == null) {
+                        continue;
+                    }
+                    request.mDisposed = true;
+                    if (finalError != null) {
+                        callback.onError(finalError);
+                    } else {
+                        callback.onSuccess(request.mInfo.token, toResult(request.mInfo, finalResults[i]));
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 写入后清除受影响的缓存, 不带重复规则的事件插入只清除事件所在天的实例查询
+     */
+    private void invalidateCache(OperationInfo info) {
+        if (mQueryCache == null) {
+            return;
+        }
+
+        switch (info.op) {
+            case Operation.EVENT_ARG_INSERT:
+                int[] days = getEventDays(info.uri, info.values);
+                if (days != null) {
+                    mQueryCache.invalidate(info.uri, days[0], days[1]);
+                    break;
+                }
+                // fall through
+            case Operation.EVENT_ARG_UPDATE:
+            case Operation.EVENT_ARG_DELETE:
+                mQueryCache.invalidate(info.uri, QuerySpec.MIN_DAY, QuerySpec.MAX_DAY);
+                break;
+            case Operation.EVENT_ARG_BATCH:
+                List<Uri> uris = new ArrayList<>();
+                for (ContentProviderOperation operation : info.cpo) {
+                    if (!uris.contains(operation.getUri())) {
+                        uris.add(operation.getUri());
+                    }
+                }
+                for (Uri uri : uris) {
+                    mQueryCache.invalidate(uri, QuerySpec.MIN_DAY, QuerySpec.MAX_DAY);
+                }
+                break;
+        }
+    }
+
+    /**
+     * @return 插入事件所在的julianDay范围, 无法确定(重复事件, 只有时长等)时返回null
+     */
+    private static int[] getEventDays(Uri uri, ContentValues values) {
+        if (values == null || !uri.toString().startsWith(Events.CONTENT_URI.toString())
+                || values.getAsLong(Events.DTSTART) == null || values.getAsLong(Events.DTEND) == null
+                || values.containsKey(Events.RRULE) || values.containsKey(Events.RDATE)) {
+            return null;
+        }
+
+        long start = values.getAsLong(Events.DTSTART);
+        long end = values.getAsLong(Events.DTEND);
+        Integer allDay = values.getAsInteger(Events.ALL_DAY);
+        // 全天事件按UTC保存
+        boolean utc = allDay != null && allDay != 0;
+        long startOffset = utc ? 0 : TimeZone.getDefault().getOffset(start) / 1000;
+        long endOffset = utc ? 0 : TimeZone.getDefault().getOffset(end) / 1000;
+        return new int[]{Time.getJulianDay(start, startOffset), Time.getJulianDay(end, endOffset)};
+    }
+
+    private static ContentProviderOperation toProviderOperation(OperationInfo info) {
+        ContentProviderOperation.Builder builder;
+        switch (info.op) {
+            case Operation.EVENT_ARG_INSERT:
+                builder = ContentProviderOperation.newInsert(info.uri);
+                break;
+            case Operation.EVENT_ARG_UPDATE:
+                builder = ContentProviderOperation.newUpdate(info.uri)
+                        .withSelection(info.selection, info.selectionArgs);
+                break;
+            case Operation.EVENT_ARG_DELETE:
+                builder = ContentProviderOperation.newDelete(info.uri)
+                        .withSelection(info.selection, info.selectionArgs);
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported write operation " + info.op);
+        }
+        if (info.values != null) {
+            builder.withValues(info.values);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 与单独执行时的返回值一致: 插入返回Uri, 更新/删除返回影响的行数
+     */
+    private static Object toResult(OperationInfo info, ContentProviderResult result) {
+        if (info.op == Operation.EVENT_ARG_INSERT) {
+            return result.uri;
+        }
+        return result.count;
+    }
+
     private Object executeOperation(OperationInfo info) {
         ContentResolver resolver = info.resolver;
         if (resolver != null) {
             switch (info.op) {
-                case Operation.EVENT_ARG_QUERY:
-                    Cursor cursor;
-                    try {
-                        cursor = resolver.query(info.uri, info.projection, info.selection,
-                                info.selectionArgs, info.orderBy);
-                        /*
-                         * Calling getCount() causes the cursor window to be
-                         * filled, which will make the first access on the main
-                         * thread a lot faster
-                         */
-                        if (cursor != null) {
-                            cursor.getCount();
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "execute query operation failed, e -> " + e.getMessage());
-                        cursor = null;
-                    }
-                    return cursor;
                 case Operation.EVENT_ARG_INSERT:
                     return resolver.insert(info.uri, info.values);
                 case Operation.EVENT_ARG_UPDATE:
@@ -203,6 +680,119 @@ public class AsyncQueryScheduler {
         public ArrayList<ContentProviderOperation> cpo;
     }
 
+    /**
+     * 一次查询执行, 结果分发给所有未取消的请求
+     */
+    private class SharedQuery {
+        final QuerySpec mKey;
+        final QueryKind mKind;
+        final OperationInfo mInfo;
+        final List<QueryRequest> mRequests = new ArrayList<>(1);
+
+        SharedQuery(QuerySpec key, OperationInfo info) {
+            mKey = key;
+            mKind = new QueryKind(info.uri, info.selection);
+            mInfo = info;
+        }
+
+        boolean hasRequests() {
+            synchronized (mLock) {
+                return !mRequests.isEmpty();
+            }
+        }
+    }
+
+    /**
+     * 查询的类型, 同一类型只保留最新参数的查询
+     */
+    private static class QueryKind {
+        final Uri mUri;
+        final String mSelection;
+
+        QueryKind(Uri uri, String selection) {
+            mUri = uri;
+            mSelection = selection;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof QueryKind)) {
+                return false;
+            }
+            QueryKind other = (QueryKind) o;
+            return mUri.equals(other.mUri) && (mSelection != null
+                    ? mSelection.equals(other.mSelection) : other.mSelection == null);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mUri.hashCode() + (mSelection != null ? mSelection.hashCode() : 0);
+        }
+    }
+
+    private class QueryRequest implements Disposable {
+        final int mToken;
+        final OperationCallback mCallback;
+        SharedQuery mQuery;
+        volatile boolean mDisposed;
+
+        QueryRequest(int token, OperationCallback callback) {
+            mToken = token;
+            mCallback = callback;
+        }
+
+        @Override
+        public void dispose() {
+            synchronized (mLock) {
+                if (!mDisposed) {
+                    detach(this);
+                }
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+    }
+
+    /**
+     * 同一authority等待合并提交的写入
+     */
+    private static class WriteBatch {
+        final String mAuthority;
+        final ContentResolver mResolver;
+        final List<WriteRequest> mRequests = new ArrayList<>();
+        boolean mFlushed;
+
+        WriteBatch(String authority, ContentResolver resolver) {
+            mAuthority = authority;
+            mResolver = resolver;
+        }
+    }
+
+    private static class WriteRequest implements Disposable {
+        final OperationInfo mInfo;
+        volatile boolean mDisposed;
+
+        WriteRequest(OperationInfo info) {
+            mInfo = info;
+        }
+
+        /**
+         * 提交前dispose的写入不会执行, 提交后只是不再回调
+         */
+        @Override
+        public void dispose() {
+            mDisposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return mDisposed;
+        }
+    }
+
     private static class Operation {
         static final int EVENT_ARG_QUERY = 1;
         static final int EVENT_ARG_INSERT = 2;
@@ -51,6 +51,7 @@ public class HomeActivity extends AppCompatActivity {
 
     private MonthPagerAdapter mMonthPagerAdapter;
     private WeekPagerAdapter mWeekPagerAdapter;
+    private HotspotsPagerAdapter mHotspotsPagerAdapter;
 
     private BottomSheetBehavior mBottomSheetBehavior;
 
@@ -97,12 +98,14 @@ public class HomeActivity extends AppCompatActivity {
         mEventDayLiveData = new EventDayLiveData(this);
         mEventDayLiveData.observe(this, mMonthPagerAdapter);
         mEventDayLiveData.observe(this, mWeekPagerAdapter);
+        mHotspotsPagerAdapter.onResume();
     }
 
     @Override
     protected void onPause() {
         mEventDayLiveData.removeObserver(mMonthPagerAdapter);
         mEventDayLiveData.removeObserver(mWeekPagerAdapter);
+        mHotspotsPagerAdapter.onPause();
         super.onPause();
         Timber.i("           onPause");
     }
@@ -167,7 +170,8 @@ public class HomeActivity extends AppCompatActivity {
         mWeekPager.addOnAdapterChangeListener(mWeekPagerAdapter);
         mWeekPager.setAdapter(mWeekPagerAdapter);
 
-        mListPager.setAdapter(new HotspotsPagerAdapter());
+        mHotspotsPagerAdapter = new HotspotsPagerAdapter(this, mWeekStart);
+        mListPager.setAdapter(mHotspotsPagerAdapter);
         //mListPager.setAdapter(new ListPagerAdapter());
 
         mListPager.getViewTreeObserver().addOnGlobalLayoutListener(
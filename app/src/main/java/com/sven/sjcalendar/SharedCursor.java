@@ -0,0 +1,185 @@
+package com.sven.sjcalendar;
+
+import android.database.CharArrayBuffer;
+import android.database.Cursor;
+import android.database.CursorWrapper;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 多个查询请求共享同一个Cursor
+ * 1.每个共享者有独立的位置, 读取数据前才把底层Cursor移动到自己的位置, 只能在同一线程使用
+ * 2.引用计数, 所有共享者都close后才关闭底层Cursor
+ */
+class SharedCursor extends CursorWrapper {
+
+    private final AtomicInteger mRefs;
+    private int mPosition = -1;
+    private boolean mClosed;
+
+    private SharedCursor(Cursor cursor, AtomicInteger refs) {
+        super(cursor);
+        mRefs = refs;
+    }
+
+    /**
+     * @return count个共享同一底层Cursor的包装
+     */
+    static Cursor[] share(Cursor cursor, int count) {
+        AtomicInteger refs = new AtomicInteger(count);
+        Cursor[] cursors = new Cursor[count];
+        for (int i = 0; i < count; i++) {
+            cursors[i] = new SharedCursor(cursor, refs);
+        }
+        return cursors;
+    }
+
+    private void sync() {
+        if (getWrappedCursor().getPosition() != mPosition) {
+            super.moveToPosition(mPosition);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (mClosed) {
+            return;
+        }
+        mClosed = true;
+        if (mRefs.decrementAndGet() == 0) {
+            super.close();
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return mClosed || super.isClosed();
+    }
+
+    @Override
+    public int getPosition() {
+        return mPosition;
+    }
+
+    @Override
+    public boolean moveToPosition(int position) {
+        int count = getCount();
+        if (position >= count) {
+            mPosition = count;
+            return false;
+        }
+        if (position < 0) {
+            mPosition = -1;
+            return false;
+        }
+        mPosition = position;
+        return super.moveToPosition(position);
+    }
+
+    @Override
+    public boolean move(int offset) {
+        return moveToPosition(mPosition + offset);
+    }
+
+    @Override
+    public boolean moveToFirst() {
+        return moveToPosition(0);
+    }
+
+    @Override
+    public boolean moveToLast() {
+        return moveToPosition(getCount() - 1);
+    }
+
+    @Override
+    public boolean moveToNext() {
+        return moveToPosition(mPosition + 1);
+    }
+
+    @Override
+    public boolean moveToPrevious() {
+        return moveToPosition(mPosition - 1);
+    }
+
+    @Override
+    public boolean isFirst() {
+        return mPosition == 0 && getCount() != 0;
+    }
+
+    @Override
+    public boolean isLast() {
+        int count = getCount();
+        return mPosition == count - 1 && count != 0;
+    }
+
+    @Override
+    public boolean isBeforeFirst() {
+        return getCount() == 0 || mPosition == -1;
+    }
+
+    @Override
+    public boolean isAfterLast() {
+        int count = getCount();
+        return count == 0 || mPosition == count;
+    }
+
+    @Override
+    public byte[] getBlob(int columnIndex) {
+        sync();
+        return super.getBlob(columnIndex);
+    }
+
+    @Override
+    public String getString(int columnIndex) {
+        sync();
+        return super.getString(columnIndex);
+    }
+
+    @Override
+    public void copyStringToBuffer(int columnIndex, CharArrayBuffer buffer) {
+        sync();
+        super.copyStringToBuffer(columnIndex, buffer);
+    }
+
+    @Override
+    public short getShort(int columnIndex) {
+        sync();
+        return super.getShort(columnIndex);
+    }
+
+    @Override
+    public int getInt(int columnIndex) {
+        sync();
+        return super.getInt(columnIndex);
+    }
+
+    @Override
+    public long getLong(int columnIndex) {
+        sync();
+        return super.getLong(columnIndex);
+    }
+
+    @Override
+    public float getFloat(int columnIndex) {
+        sync();
+        return super.getFloat(columnIndex);
+    }
+
+    @Override
+    public double getDouble(int columnIndex) {
+        sync();
+        return super.getDouble(columnIndex);
+    }
+
+    @Override
+    public int getType(int columnIndex) {
+        sync();
+        return super.getType(columnIndex);
+    }
+
+    @Override
+    public boolean isNull(int columnIndex) {
+        sync();
+        return super.isNull(columnIndex);
+    }
+}
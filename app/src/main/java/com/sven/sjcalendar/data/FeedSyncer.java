@@ -0,0 +1,360 @@
+package com.sven.sjcalendar.data;
+
+import android.content.ContentProviderOperation;
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.provider.CalendarContract;
+import android.provider.CalendarContract.Events;
+import android.text.format.DateUtils;
+
+import com.sven.sjcalendar.AsyncQueryScheduler;
+
+import net.fortuna.ical4j.model.Calendar;
+import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.Date;
+import net.fortuna.ical4j.model.DateTime;
+import net.fortuna.ical4j.model.Property;
+import net.fortuna.ical4j.model.component.CalendarComponent;
+import net.fortuna.ical4j.model.component.VEvent;
+import net.fortuna.ical4j.model.property.DtEnd;
+import net.fortuna.ical4j.model.property.DtStart;
+import net.fortuna.ical4j.model.property.RecurrenceId;
+import net.fortuna.ical4j.util.CalendarDiff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+
+import timber.log.Timber;
+
+/**
+ * 订阅日历刷新时的增量同步
+ * 1.通过{@link CalendarDiff}按UID和RECURRENCE-ID对比上次和本次的日历, 只提交新增/变化/删除的事件,
+ * 不再删除全部事件后重新插入
+ * 2.数据库中的事件按UID_2445定位, 例外事件再加上ORIGINAL_INSTANCE_TIME
+ * 3.新增的例外事件通过ORIGINAL_ID关联主事件, 主事件在同一批次插入时引用插入结果, 已存在时先查询_ID
+ * 4.上次的日历可以通过{@link net.fortuna.ical4j.data.CalendarSnapshotCodec}保存和读取
+ * 只同步带UID的VEVENT, 其他组件忽略
+ */
+public class FeedSyncer {
+
+    private static final String MASTER_SELECTION = Events.CALENDAR_ID + "=? AND "
+            + Events.UID_2445 + "=? AND " + Events.ORIGINAL_INSTANCE_TIME + " IS NULL";
+    private static final String EXCEPTION_SELECTION = Events.CALENDAR_ID + "=? AND "
+            + Events.UID_2445 + "=? AND " + Events.ORIGINAL_INSTANCE_TIME + "=?";
+    // 后面拼接UID列表
+    private static final String MASTER_IDS_SELECTION = Events.CALENDAR_ID + "=? AND "
+            + Events.ORIGINAL_INSTANCE_TIME + " IS NULL AND " + Events.DELETED + "=0 AND "
+            + Events.UID_2445 + " IN (";
+
+    private static final String[] MASTER_IDS_PROJECTION = new String[]{
+            Events._ID,
+            Events.UID_2445,
+    };
+    private static final int MASTER_ID_INDEX = 0;
+    private static final int MASTER_UID_INDEX = 1;
+
+    // key为主事件的UID, value为_ID
+    private static final QueryCache.Materializer<Map<String, Long>> MASTER_IDS =
+            new QueryCache.Materializer<Map<String, Long>>() {
+                @Override
+                public Map<String, Long> materialize(QuerySpec spec, Cursor c) {
+                    Map<String, Long> ids = new HashMap<>(c.getCount() * 4 / 3 + 1);
+                    while (c.moveToNext()) {
+                        ids.put(c.getString(MASTER_UID_INDEX), c.getLong(MASTER_ID_INDEX));
+                    }
+                    return Collections.unmodifiableMap(ids);
+                }
+
+                @Override
+                public int sizeOf(Map<String, Long> result) {
+                    return result.size() * 64;
+                }
+            };
+
+    private final AsyncQueryScheduler mScheduler;
+    private final long mCalendarId;
+
+    public FeedSyncer(Context context, long calendarId) {
+        this(AsyncQueryScheduler.getInstance(context), calendarId);
+    }
+
+    /**
+     * @param scheduler 需要设置{@link QueryCache}, 用于查询已存在的主事件
+     */
+    public FeedSyncer(AsyncQueryScheduler scheduler, long calendarId) {
+        mScheduler = scheduler;
+        mCalendarId = calendarId;
+    }
+
+    /**
+     * 对比两次的日历, 有变化时一次性提交
+     * 新增的例外事件的主事件已存在时, 先异步查询主事件的_ID再提交
+     *
+     * @param previous 上次同步的日历, 第一次同步时为空日历
+     * @return 变化的组件数, 为0时没有变化; 没有需要提交的事件操作时不会回调
+     */
+    public int sync(final int token, Calendar previous, Calendar current,
+                    final AsyncQueryScheduler.OperationCallback callback) {
+        final CalendarDiff diff = new CalendarDiff(previous, current);
+        if (diff.isEmpty()) {
+            return 0;
+        }
+
+        Timber.d("Sync feed of calendar %d: %d added, %d changed, %d removed", mCalendarId,
+                diff.getAdded().size(), diff.getChanged().size(), diff.getRemoved().size());
+        Set<String> uids = getExistingMasterUids(diff);
+        if (uids.isEmpty()) {
+            submit(token, buildOperations(diff, mCalendarId, Collections.<String, Long>emptyMap()), callback);
+        } else {
+            mScheduler.startCachedQuery(token, getMasterQuery(uids), MASTER_IDS,
+                    new AsyncQueryScheduler.OperationCallback() {
+                        @Override
+                        @SuppressWarnings("unchecked")
+                        public void onSuccess(int token, Object result) {
+                            Map<String, Long> masterIds = result != null
+                                    ? (Map<String, Long>) result : Collections.<String, Long>emptyMap();
+                            submit(token, buildOperations(diff, mCalendarId, masterIds), callback);
+                        }
+
+                        @Override
+                        public void onError(Throwable e) {
+                            if (callback != null) {
+                                callback.onError(e);
+                            }
+                        }
+                    });
+        }
+        return diff.getAdded().size() + diff.getChanged().size() + diff.getRemoved().size();
+    }
+
+    private void submit(int token, ArrayList<ContentProviderOperation> cpo,
+                        AsyncQueryScheduler.OperationCallback callback) {
+        if (!cpo.isEmpty()) {
+            mScheduler.startBatch(token, CalendarContract.AUTHORITY, cpo, callback);
+        }
+    }
+
+    /**
+     * @return 新增例外事件的主事件不在本次新增中, 需要查询_ID的UID
+     */
+    private static Set<String> getExistingMasterUids(CalendarDiff diff) {
+        List<VEvent> added = events(diff.getAdded());
+        Set<String> addedMasters = getMasterUids(added);
+        // 本次删除的主事件不再关联
+        Set<String> removedMasters = getMasterUids(events(diff.getRemoved()));
+        Set<String> uids = new HashSet<>();
+        for (VEvent event : added) {
+            String uid = event.getUid().getValue();
+            if (getRecurrenceId(event) != null && !addedMasters.contains(uid) && !removedMasters.contains(uid)) {
+                uids.add(uid);
+            }
+        }
+        return uids;
+    }
+
+    private static Set<String> getMasterUids(List<VEvent> events) {
+        Set<String> uids = new HashSet<>();
+        for (VEvent event : events) {
+            if (getRecurrenceId(event) == null) {
+                uids.add(event.getUid().getValue());
+            }
+        }
+        return uids;
+    }
+
+    /**
+     * UID直接转义后拼接在selection中, 不受参数个数的限制
+     */
+    private QuerySpec getMasterQuery(Set<String> uids) {
+        StringBuilder selection = new StringBuilder(MASTER_IDS_SELECTION);
+        boolean first = true;
+        for (String uid : uids) {
+            if (!first) {
+                selection.append(',');
+            }
+            DatabaseUtils.appendEscapedSQLString(selection, uid);
+            first = false;
+        }
+        selection.append(')');
+        return new QuerySpec(Events.CONTENT_URI, MASTER_IDS_PROJECTION, selection.toString(),
+                new String[]{String.valueOf(mCalendarId)}, null);
+    }
+
+    /**
+     * 先删除再更新和插入, 避免删除旧例外后又插入同一实例时冲突
+     * 新增的主事件在例外事件之前插入, 例外事件通过ORIGINAL_ID关联主事件, 找不到主事件的例外事件被跳过
+     *
+     * @param masterIds 已存在的主事件, key为UID, value为_ID
+     */
+    static ArrayList<ContentProviderOperation> buildOperations(CalendarDiff diff, long calendarId,
+                                                               Map<String, Long> masterIds) {
+        ArrayList<ContentProviderOperation> cpo = new ArrayList<>(
+                diff.getAdded().size() + diff.getChanged().size() + diff.getRemoved().size());
+
+        for (VEvent event : events(diff.getRemoved())) {
+            cpo.add(ContentProviderOperation.newDelete(Events.CONTENT_URI)
+                    .withSelection(getSelection(event), getSelectionArgs(event, calendarId))
+                    .build());
+        }
+        for (VEvent event : events(diff.getChanged())) {
+            ContentValues values = toValues(event, calendarId);
+            if (values != null) {
+                cpo.add(ContentProviderOperation.newUpdate(Events.CONTENT_URI)
+                        .withSelection(getSelection(event), getSelectionArgs(event, calendarId))
+                        .withValues(values)
+                        .build());
+            }
+        }
+
+        List<VEvent> added = events(diff.getAdded());
+        // key为UID, value为主事件插入操作的位置
+        Map<String, Integer> masterInserts = new HashMap<>();
+        // 本次删除的主事件不再关联
+        Set<String> removedMasters = getMasterUids(events(diff.getRemoved()));
+        for (VEvent event : added) {
+            if (getRecurrenceId(event) != null) {
+                continue;
+            }
+            ContentValues values = toValues(event, calendarId);
+            if (values != null) {
+                masterInserts.put(event.getUid().getValue(), cpo.size());
+                cpo.add(ContentProviderOperation.newInsert(Events.CONTENT_URI)
+                        .withValues(values)
+                        .build());
+            }
+        }
+        for (VEvent event : added) {
+            if (getRecurrenceId(event) == null) {
+                continue;
+            }
+            ContentValues values = toValues(event, calendarId);
+            if (values == null) {
+                continue;
+            }
+            String uid = event.getUid().getValue();
+            ContentProviderOperation.Builder builder = ContentProviderOperation.newInsert(Events.CONTENT_URI)
+                    .withValues(values);
+            Integer masterInsert = masterInserts.get(uid);
+            Long masterId = removedMasters.contains(uid) ? null : masterIds.get(uid);
+            if (masterInsert != null) {
+                builder.withValueBackReference(Events.ORIGINAL_ID, masterInsert);
+            } else if (masterId != null) {
+                builder.withValue(Events.ORIGINAL_ID, masterId);
+            } else {
+                Timber.w("Skip exception of event %s without master event", uid);
+                continue;
+            }
+            cpo.add(builder.build());
+        }
+        return cpo;
+    }
+
+    private static List<VEvent> events(List<CalendarComponent> components) {
+        List<VEvent> events = new ArrayList<>(components.size());
+        for (CalendarComponent component : components) {
+            if (component instanceof VEvent && component.getProperty(Property.UID) != null) {
+                events.add((VEvent) component);
+            }
+        }
+        return events;
+    }
+
+    private static String getSelection(VEvent event) {
+        return getRecurrenceId(event) == null ? MASTER_SELECTION : EXCEPTION_SELECTION;
+    }
+
+    private static String[] getSelectionArgs(VEvent event, long calendarId) {
+        String uid = event.getUid().getValue();
+        Date recurrenceId = getRecurrenceId(event);
+        if (recurrenceId == null) {
+            return new String[]{String.valueOf(calendarId), uid};
+        }
+        return new String[]{String.valueOf(calendarId), uid, String.valueOf(recurrenceId.getTime())};
+    }
+
+    private static Date getRecurrenceId(VEvent event) {
+        RecurrenceId recurrenceId = event.getRecurrenceId();
+        return recurrenceId != null ? recurrenceId.getDate() : null;
+    }
+
+    /**
+     * @return 事件的字段, 没有开始时间时返回null
+     */
+    static ContentValues toValues(VEvent event, long calendarId) {
+        DtStart dtStart = event.getStartDate();
+        if (dtStart == null || dtStart.getDate() == null) {
+            Timber.w("Skip event %s without DTSTART", event.getUid().getValue());
+            return null;
+        }
+
+        Date start = dtStart.getDate();
+        // 不带时间的日期为全天事件, 按UTC保存
+        boolean allDay = !(start instanceof DateTime);
+        ContentValues values = new ContentValues();
+        values.put(Events.CALENDAR_ID, calendarId);
+        values.put(Events.UID_2445, event.getUid().getValue());
+        values.put(Events.TITLE, getValue(event, Property.SUMMARY));
+        values.put(Events.DESCRIPTION, getValue(event, Property.DESCRIPTION));
+        values.put(Events.EVENT_LOCATION, getValue(event, Property.LOCATION));
+        values.put(Events.ALL_DAY, allDay ? 1 : 0);
+        values.put(Events.EVENT_TIMEZONE, getTimeZone(dtStart, allDay));
+        values.put(Events.DTSTART, start.getTime());
+
+        // 重复事件只能设置时长, 不能设置结束时间
+        DtEnd dtEnd = event.getEndDate();
+        long end = dtEnd != null && dtEnd.getDate() != null ? dtEnd.getDate().getTime() : start.getTime();
+        String rrule = getValue(event, Property.RRULE);
+        if (rrule != null) {
+            values.put(Events.RRULE, rrule);
+            values.put(Events.DURATION, toDuration(end - start.getTime(), allDay));
+            values.putNull(Events.DTEND);
+        } else {
+            values.putNull(Events.RRULE);
+            values.putNull(Events.DURATION);
+            values.put(Events.DTEND, end);
+        }
+
+        Date recurrenceId = getRecurrenceId(event);
+        if (recurrenceId != null) {
+            values.put(Events.ORIGINAL_INSTANCE_TIME, recurrenceId.getTime());
+            values.put(Events.ORIGINAL_ALL_DAY, recurrenceId instanceof DateTime ? 0 : 1);
+        }
+        return values;
+    }
+
+    /**
+     * 浮动时间按本地时区解析, 所以使用默认时区
+     */
+    private static String getTimeZone(DtStart dtStart, boolean allDay) {
+        if (allDay || dtStart.isUtc()) {
+            return "UTC";
+        }
+        if (dtStart.getTimeZone() != null) {
+            return dtStart.getTimeZone().getID();
+        }
+        return TimeZone.getDefault().getID();
+    }
+
+    private static String getValue(Component component, String name) {
+        Property property = component.getProperty(name);
+        return property != null ? property.getValue() : null;
+    }
+
+    /**
+     * @return RFC2445格式的时长, 全天事件按天
+     */
+    private static String toDuration(long millis, boolean allDay) {
+        if (allDay) {
+            return "P" + Math.max(1, millis / DateUtils.DAY_IN_MILLIS) + "D";
+        }
+        return "P" + Math.max(0, millis / 1000) + "S";
+    }
+}
@@ -0,0 +1,208 @@
+package com.sven.sjcalendar.data;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.database.ContentObserver;
+import android.database.Cursor;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.provider.CalendarContract;
+import android.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import timber.log.Timber;
+
+/**
+ * 数据库查询结果缓存, 整个应用共享
+ * 1.按{@link QuerySpec}缓存读取后的结果, 按估算的内存大小做LRU淘汰
+ * 2.数据库变化时只清除受影响的查询, 写入方知道涉及的天时只清除这些天的实例查询
+ * 3.查询期间有缓存被清除时, 结果只返回不写入缓存, 避免缓存旧数据
+ */
+public class QueryCache {
+
+    // 缓存结果的最大估算字节数
+    private static final int MAX_CACHE_BYTES = 1024 * 1024;
+
+    public interface Materializer<T> {
+        /**
+         * 在工作线程把cursor读成结果, 结果会被多个调用方共享, 不能再修改
+         */
+        T materialize(QuerySpec spec, Cursor cursor);
+
+        /**
+         * @return 结果占用内存的估算字节数
+         */
+        int sizeOf(T result);
+    }
+
+    public interface OnChangeListener {
+        /**
+         * 受影响的缓存已清除, 在主线程回调, 参数见{@link QuerySpec#isAffectedBy}
+         */
+        void onChange(Uri uri, int startDay, int endDay);
+    }
+
+    private static volatile QueryCache sInstance;
+
+    public static QueryCache getInstance(Context context) {
+        if (sInstance == null) {
+            synchronized (QueryCache.class) {
+                if (sInstance == null) {
+                    sInstance = new QueryCache(context.getApplicationContext().getContentResolver());
+                }
+            }
+        }
+        return sInstance;
+    }
+
+    private final ContentResolver mResolver;
+    private final Handler mMainHandler;
+
+    private final LruCache<CacheKey, Object> mCache = new LruCache<CacheKey, Object>(MAX_CACHE_BYTES) {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected int sizeOf(CacheKey key, Object value) {
+            return Math.max(1, ((Materializer<Object>) key.mMaterializer).sizeOf(value));
+        }
+    };
+    // 每次清除缓存加一, 由mCache保护
+    private long mGeneration;
+
+    // 只在主线程访问
+    private final List<OnChangeListener> mListeners = new ArrayList<>();
+
+    private QueryCache(ContentResolver resolver) {
+        mResolver = resolver;
+        mMainHandler = new Handler(Looper.getMainLooper());
+
+        ContentObserver observer = new ContentObserver(mMainHandler) {
+            @Override
+            public void onChange(boolean selfChange) {
+                onChange(selfChange, null);
+            }
+
+            @Override
+            public void onChange(boolean selfChange, Uri uri) {
+                invalidate(uri, QuerySpec.MIN_DAY, QuerySpec.MAX_DAY);
+            }
+        };
+        mResolver.registerContentObserver(CalendarContract.CONTENT_URI, true, observer);
+    }
+
+    /**
+     * 优先返回缓存的结果, 没有时在当前线程查询, 不能在主线程调用
+     *
+     * @param materializer 结果按materializer区分, 应使用常量
+     * @return cursor为null时返回null, 不缓存
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T query(QuerySpec spec, Materializer<T> materializer) {
+        CacheKey key = new CacheKey(spec, materializer);
+        long generation;
+        synchronized (mCache) {
+            Object cached = mCache.get(key);
+            if (cached != null) {
+                return (T) cached;
+            }
+            generation = mGeneration;
+        }
+
+        T result;
+        Cursor cursor = spec.query(mResolver);
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            result = materializer.materialize(spec, cursor);
+        } finally {
+            cursor.close();
+        }
+
+        if (result != null) {
+            synchronized (mCache) {
+                if (generation == mGeneration) {
+                    mCache.put(key, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 清除受uri变化影响的缓存, 可以在任意线程调用
+     *
+     * @param startDay 变化涉及的起始julianDay, 未知时为{@link QuerySpec#MIN_DAY}
+     * @param endDay   变化涉及的结束julianDay, 未知时为{@link QuerySpec#MAX_DAY}
+     */
+    public void invalidate(final Uri uri, final int startDay, final int endDay) {
+        int removed = 0;
+        synchronized (mCache) {
+            mGeneration++;
+            for (Map.Entry<CacheKey, Object> entry : mCache.snapshot().entrySet()) {
+                if (entry.getKey().mSpec.isAffectedBy(uri, startDay, endDay)) {
+                    mCache.remove(entry.getKey());
+                    removed++;
+                }
+            }
+        }
+        Timber.d("Invalidate %d cached queries by %s [%d, %d]", removed, uri, startDay, endDay);
+
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            notifyChange(uri, startDay, endDay);
+        } else {
+            mMainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    notifyChange(uri, startDay, endDay);
+                }
+            });
+        }
+    }
+
+    private void notifyChange(Uri uri, int startDay, int endDay) {
+        for (int i = mListeners.size() - 1; i >= 0; i--) {
+            mListeners.get(i).onChange(uri, startDay, endDay);
+        }
+    }
+
+    /**
+     * 代替直接监听数据库, 回调时受影响的缓存已经清除, 重新查询不会拿到旧数据
+     */
+    public void addOnChangeListener(OnChangeListener listener) {
+        if (!mListeners.contains(listener)) {
+            mListeners.add(listener);
+        }
+    }
+
+    public void removeOnChangeListener(OnChangeListener listener) {
+        mListeners.remove(listener);
+    }
+
+    private static class CacheKey {
+        final QuerySpec mSpec;
+        final Materializer<?> mMaterializer;
+
+        CacheKey(QuerySpec spec, Materializer<?> materializer) {
+            mSpec = spec;
+            mMaterializer = materializer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return mMaterializer == other.mMaterializer && mSpec.equals(other.mSpec);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mSpec.hashCode() + System.identityHashCode(mMaterializer);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.sven.sjcalendar.data;
+
+import android.content.ContentResolver;
+import android.database.Cursor;
+import android.net.Uri;
+import android.provider.CalendarContract;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 一次查询的参数, 作为查询合并和结果缓存的key
+ * 按天查询实例的uri(instances/whenbyday, instances/groupbyday)会解析出查询的julianDay范围
+ */
+public final class QuerySpec {
+
+    // 不限天的范围
+    public static final int MIN_DAY = Integer.MIN_VALUE;
+    public static final int MAX_DAY = Integer.MAX_VALUE;
+
+    // key为表, value为该表的数据来源于哪些表, 来源表变化时该表的查询也失效
+    private static final Map<String, Set<String>> CALENDAR_DEPENDENCIES = new HashMap<>();
+
+    static {
+        CALENDAR_DEPENDENCIES.put("instances", new HashSet<>(Arrays.asList("events", "calendars", "exception")));
+        CALENDAR_DEPENDENCIES.put("events", new HashSet<>(Arrays.asList("calendars", "exception")));
+    }
+
+    private final Uri mUri;
+    private final String[] mProjection;
+    private final String mSelection;
+    private final String[] mSelectionArgs;
+    private final String mOrderBy;
+    private final int mHash;
+
+    private final List<String> mSegments;
+    private final int mStartDay;
+    private final int mEndDay;
+
+    public QuerySpec(Uri uri, String[] projection, String selection, String[] selectionArgs,
+                     String orderBy) {
+        mUri = uri;
+        mProjection = projection;
+        mSelection = selection;
+        mSelectionArgs = selectionArgs;
+        mOrderBy = orderBy;
+
+        int result = uri.hashCode();
+        result = 31 * result + Arrays.hashCode(projection);
+        result = 31 * result + (selection != null ? selection.hashCode() : 0);
+        result = 31 * result + Arrays.hashCode(selectionArgs);
+        result = 31 * result + (orderBy != null ? orderBy.hashCode() : 0);
+        mHash = result;
+
+        mSegments = uri.getPathSegments();
+        int startDay = MIN_DAY;
+        int endDay = MAX_DAY;
+        if (CalendarContract.AUTHORITY.equals(uri.getAuthority()) && mSegments.size() >= 4
+                && "instances".equals(mSegments.get(0))
+                && ("whenbyday".equals(mSegments.get(1)) || "groupbyday".equals(mSegments.get(1)))) {
+            try {
+                startDay = Integer.parseInt(mSegments.get(2));
+                endDay = Integer.parseInt(mSegments.get(3));
+            } catch (NumberFormatException e) {
+                startDay = MIN_DAY;
+                endDay = MAX_DAY;
+            }
+        }
+        mStartDay = startDay;
+        mEndDay = endDay;
+    }
+
+    public Uri getUri() {
+        return mUri;
+    }
+
+    /**
+     * @return 查询的起始julianDay, 不是按天查询时为{@link #MIN_DAY}
+     */
+    public int getStartDay() {
+        return mStartDay;
+    }
+
+    /**
+     * @return 查询的结束julianDay, 不是按天查询时为{@link #MAX_DAY}
+     */
+    public int getEndDay() {
+        return mEndDay;
+    }
+
+    public Cursor query(ContentResolver resolver) {
+        return resolver.query(mUri, mProjection, mSelection, mSelectionArgs, mOrderBy);
+    }
+
+    /**
+     * 判断uri的变化是否影响该查询
+     * 1.uri和查询路径一方是另一方的前缀, 例如events变化影响events/12的查询
+     * 2.查询的表来源于变化的表时, 按天的查询只在天范围有交集时受影响
+     *
+     * @param uri      变化的uri, null表示未知, 影响所有查询
+     * @param startDay 变化涉及的起始julianDay, 未知时为{@link #MIN_DAY}
+     * @param endDay   变化涉及的结束julianDay, 未知时为{@link #MAX_DAY}
+     */
+    public boolean isAffectedBy(Uri uri, int startDay, int endDay) {
+        if (uri == null) {
+            return true;
+        }
+        if (!equals(uri.getAuthority(), mUri.getAuthority())) {
+            return false;
+        }
+
+        List<String> changed = uri.getPathSegments();
+        if (isPrefix(changed, mSegments) || isPrefix(mSegments, changed)) {
+            return true;
+        }
+
+        Set<String> sources = CalendarContract.AUTHORITY.equals(mUri.getAuthority())
+                ? CALENDAR_DEPENDENCIES.get(mSegments.get(0)) : Collections.<String>emptySet();
+        return sources != null && sources.contains(changed.get(0))
+                && startDay <= mEndDay && endDay >= mStartDay;
+    }
+
+    private static boolean isPrefix(List<String> prefix, List<String> segments) {
+        if (prefix.size() > segments.size()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.size(); i++) {
+            if (!prefix.get(i).equals(segments.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equals(String a, String b) {
+        return a != null ? a.equals(b) : b == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QuerySpec)) {
+            return false;
+        }
+        QuerySpec other = (QuerySpec) o;
+        return mHash == other.mHash
+                && mUri.equals(other.mUri)
+                && Arrays.equals(mProjection, other.mProjection)
+                && equals(mSelection, other.mSelection)
+                && Arrays.equals(mSelectionArgs, other.mSelectionArgs)
+                && equals(mOrderBy, other.mOrderBy);
+    }
+
+    @Override
+    public int hashCode() {
+        return mHash;
+    }
+
+    @Override
+    public String toString() {
+        return mUri.toString();
+    }
+}
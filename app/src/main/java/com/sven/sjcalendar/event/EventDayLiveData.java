@@ -1,38 +1,34 @@
 package com.sven.sjcalendar.event;
 
 import android.arch.lifecycle.MutableLiveData;
-import android.content.ContentResolver;
 import android.content.ContentUris;
 import android.content.Context;
-import android.database.ContentObserver;
 import android.database.Cursor;
 import android.icu.util.TimeZone;
 import android.net.Uri;
 import android.os.Handler;
 import android.os.Looper;
-import android.provider.CalendarContract;
 import android.provider.CalendarContract.Calendars;
 import android.provider.CalendarContract.Events;
 import android.provider.CalendarContract.EventDays;
 import android.provider.CalendarContract.Instances;
 
 import com.sven.dateview.TimeCalendar;
+import com.sven.sjcalendar.AsyncQueryScheduler;
 import com.sven.sjcalendar.Utils;
+import com.sven.sjcalendar.data.QueryCache;
+import com.sven.sjcalendar.data.QuerySpec;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
-import io.reactivex.Observable;
-import io.reactivex.ObservableEmitter;
-import io.reactivex.ObservableOnSubscribe;
-import io.reactivex.android.schedulers.AndroidSchedulers;
 import io.reactivex.disposables.CompositeDisposable;
 import io.reactivex.disposables.Disposable;
 import io.reactivex.functions.Consumer;
-import io.reactivex.functions.Predicate;
 import io.reactivex.processors.PublishProcessor;
-import io.reactivex.schedulers.Schedulers;
 import timber.log.Timber;
 
 /**
@@ -50,10 +46,26 @@ public class EventDayLiveData extends MutableLiveData<List<Integer>> {
 
     public static final String SELECTION = Calendars.VISIBLE + "=1";
 
-    private ContentResolver mContentResolver;
+    private static final QueryCache.Materializer<List<Integer>> EVENT_DAYS =
+            new QueryCache.Materializer<List<Integer>>() {
+                @Override
+                public List<Integer> materialize(QuerySpec spec, Cursor c) {
+                    return Collections.unmodifiableList(readEventDays(c));
+                }
+
+                @Override
+                public int sizeOf(List<Integer> result) {
+                    return result.size() * 16;
+                }
+            };
+
+    private QueryCache mQueryCache;
+    private AsyncQueryScheduler mScheduler;
+    private int mToken;
     private Handler mMainHandler;
 
-    private ContentObserver mContentObserver;
+    private QueryCache.OnChangeListener mChangeListener;
+    private QuerySpec mSpec;
 
     private PublishProcessor<Object> triggers;
     private Disposable mEventBus;
@@ -76,24 +88,31 @@ public class EventDayLiveData extends MutableLiveData<List<Integer>> {
 
     public EventDayLiveData(Context content) {
         mMainHandler = new Handler(Looper.getMainLooper());
-        mContentResolver = content.getApplicationContext().getContentResolver();
+        mQueryCache = QueryCache.getInstance(content);
+        mScheduler = AsyncQueryScheduler.getInstance(content);
+        mToken = mScheduler.getNextToken();
         mQueries = new CompositeDisposable();
         triggers = PublishProcessor.create();
 
-        mContentObserver = new ContentObserver(mMainHandler) {
+        TimeCalendar time = new TimeCalendar(1970, 0, 1);
+        mStartDay = time.getJulianDay();
+        time.set(2037, 11,31);
+        mEndDay = time.getJulianDay();
+
+        Uri.Builder builder = EventDays.CONTENT_URI.buildUpon();
+        ContentUris.appendId(builder, mStartDay);
+        ContentUris.appendId(builder, mEndDay);
+        mSpec = new QuerySpec(builder.build(), PROJECTION, SELECTION, null, null);
+
+        mChangeListener = new QueryCache.OnChangeListener() {
             @Override
-            public void onChange(boolean selfChange) {
+            public void onChange(Uri uri, int startDay, int endDay) {
                 // reload event day
-                if (triggers != null) {
+                if (triggers != null && mSpec.isAffectedBy(uri, startDay, endDay)) {
                     triggers.onNext("EventChange");
                 }
             }
         };
-
-        TimeCalendar time = new TimeCalendar(1970, 0, 1);
-        mStartDay = time.getJulianDay();
-        time.set(2037, 11,31);
-        mEndDay = time.getJulianDay();
     }
 
     @Override
@@ -115,18 +134,19 @@ public class EventDayLiveData extends MutableLiveData<List<Integer>> {
                 });
 
         //Utils.setMidnightUpdater(mMainHandler, mTimeChangeUpdater, TimeZone.getDefault().getID());
-        mContentResolver.registerContentObserver(CalendarContract.CONTENT_URI, true, mContentObserver);
+        mQueryCache.addOnChangeListener(mChangeListener);
         triggers.onNext("InitValue");
     }
 
     @Override
     protected void onInactive() {
         Timber.d("    onInactive");
-        mContentResolver.unregisterContentObserver(mContentObserver);
+        mQueryCache.removeOnChangeListener(mChangeListener);
         //Utils.resetMidnightUpdater(mMainHandler, mTimeChangeUpdater);
 
         if (mQueries != null) {
-            mQueries.dispose();
+            // 不能dispose, 再次onActive时还要加入新的查询
+            mQueries.clear();
         }
 
         if (mEventBus != null) {
@@ -135,57 +155,30 @@ public class EventDayLiveData extends MutableLiveData<List<Integer>> {
     }
 
     private void loadEventDays() {
-        final Disposable disposable = Observable.create(
-                new ObservableOnSubscribe<List<Integer>>() {
+        mQueries.add(mScheduler.startCachedQuery(mToken, mSpec, EVENT_DAYS,
+                new AsyncQueryScheduler.OperationCallback() {
                     @Override
-                    public void subscribe(ObservableEmitter<List<Integer>> emitter) {
-                        if (emitter.isDisposed()) {
-                            return;
-                        }
-
-                        try {
-                            emitter.onNext(queryEventDay());
-                            emitter.onComplete();
-                        } catch (Exception e) {
-                            emitter.onError(e);
-                        }
-                    }
-                })
-                .filter(new Predicate<List<Integer>>() {
-                    @Override
-                    public boolean test(List<Integer> list) {
+                    @SuppressWarnings("unchecked")
+                    public void onSuccess(int token, Object result) {
+                        List<Integer> list = result != null ? (List<Integer>) result
+                                : Collections.<Integer>emptyList();
                         // 判断数据是否变化
-                        return eventDaysChanged(getValue(), list);
-                    }
-                })
-                .subscribeOn(Schedulers.io())
-                .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(new Consumer<List<Integer>>() {
-                    @Override
-                    public void accept(List<Integer> list) {
-                        setValue(list);
+                        if (eventDaysChanged(getValue(), list)) {
+                            setValue(list);
+                        }
                     }
-                }, new Consumer<Throwable>() {
+
                     @Override
-                    public void accept(Throwable throwable) {
-                        Timber.i(throwable,"Query event day failed");
+                    public void onError(Throwable e) {
+                        Timber.i(e, "Query event day failed");
                     }
-                });
-
-        mQueries.add(disposable);
+                }));
     }
 
-    private List<Integer> queryEventDay() {
-        Uri.Builder builder = EventDays.CONTENT_URI.buildUpon();
-        ContentUris.appendId(builder, mStartDay);
-        ContentUris.appendId(builder, mEndDay);
-        Uri uri = builder.build();
-
-
-        Cursor c = mContentResolver.query(uri, PROJECTION, SELECTION, null, null);
+    private static List<Integer> readEventDays(Cursor c) {
         List<Integer> dayList = new ArrayList<>();
 
-        if (c != null && c.moveToFirst()) {
+        if (c.moveToFirst()) {
             while (!c.isAfterLast()) {
                 int startDay = c.getInt(INDEX_START_DAY);
                 int endDay = c.getInt(INDEX_END_DAY);
@@ -204,22 +197,19 @@ public class EventDayLiveData extends MutableLiveData<List<Integer>> {
             }
         }
 
-        if (c != null) {
-            c.close();
-        }
-
         return dayList;
     }
 
     private boolean eventDaysChanged(List<Integer> oldList, List<Integer> newList) {
-        if (oldList == null) {
-            return true;
+        if (oldList == newList) {
+            return false;
         }
 
-        if (oldList.size() != newList.size()) {
+        if (oldList == null || oldList.size() != newList.size()) {
             return true;
         }
 
-        return !oldList.containsAll(newList);
+        // 在主线程比较, 用HashSet避免天数较多时的平方复杂度
+        return !new HashSet<>(oldList).containsAll(newList);
     }
 }
@@ -1,11 +1,12 @@
 package com.sven.sjcalendar.hotspots;
 
-import com.alibaba.android.vlayout.DelegateAdapter.Adapter;
-
 /**
  * Created by Sven.J on 18-5-10.
  */
 public class AdapterInfo {
     public int mOrder;
-    public Adapter mAdapter;
+    // 数据对应的julianDay, 加载器可以一次返回多天的数据
+    public int mJulianDay;
+    // 卡片数据, 绑定到已有的卡片Adapter上
+    public Object mData;
 }
@@ -1,5 +1,9 @@
 package com.sven.sjcalendar.hotspots;
 
+import android.util.SparseArray;
+
+import java.util.List;
+
 import io.reactivex.Observable;
 
 /**
@@ -7,5 +11,32 @@ import io.reactivex.Observable;
  * Created by Sven.J on 18-5-10.
  */
 public interface AdapterLoader {
-    Observable<AdapterInfo> getAdapterInfo();
+
+    /**
+     * 卡片排序, 见{@link AdapterOrder}
+     */
+    int getOrder();
+
+    /**
+     * 加载期限, 单位毫秒, 超时后放弃该卡片
+     */
+    long getDeadline();
+
+    /**
+     * 加载指定天的卡片数据
+     */
+    Observable<AdapterInfo> getAdapterInfo(int julianDay);
+
+    /**
+     * 创建卡片Adapter, 切换天时复用, 只重新绑定数据
+     */
+    HotspotsAdapter createAdapter();
+
+    /**
+     * 数据库变化后检查缓存的数据, 在后台线程调用
+     *
+     * @param cachedData key为julianDay, value为缓存的卡片数据, 只包含变化范围内的天
+     * @return 数据已经过期的天
+     */
+    List<Integer> findChangedDays(SparseArray<Object> cachedData);
 }
@@ -0,0 +1,342 @@
+package com.sven.sjcalendar.hotspots;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.LruCache;
+import android.util.SparseArray;
+
+import com.sven.sjcalendar.data.QueryCache;
+import com.sven.sjcalendar.data.QuerySpec;
+import com.sven.sjcalendar.hotspots.almanac.AlmanacAdapterLoader;
+import com.sven.sjcalendar.hotspots.schedule.SchedulerAdapterLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Observable;
+import io.reactivex.ObservableSource;
+import io.reactivex.android.schedulers.AndroidSchedulers;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Consumer;
+import io.reactivex.functions.Function;
+import io.reactivex.functions.Predicate;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.schedulers.Schedulers;
+import timber.log.Timber;
+
+/**
+ * 卡片数据缓存, 所有天的页面共享
+ * 1.按julianDay做LRU缓存, 来回切换天时不再重复查询数据库
+ * 2.停留在某一天时, 后台预加载前后两天的卡片数据
+ * 3.数据库变化时只清除受影响的天
+ */
+public class CardDataCache {
+
+    // 缓存的天数
+    private static final int MAX_CACHED_DAYS = 31;
+    // 停留多久后开始预加载
+    private static final long PREFETCH_DELAY = 400;
+    // 预加载前后的天数
+    private static final int PREFETCH_RANGE = 2;
+
+    public interface OnInvalidateListener {
+        /**
+         * 缓存的卡片数据失效, 在主线程回调
+         */
+        void onInvalidate(int julianDay);
+    }
+
+    private final QueryCache mQueryCache;
+    private final Handler mMainHandler;
+
+    private final List<AdapterLoader> mAdapterLoaders = new ArrayList<>();
+
+    // key为julianDay, value为该天各卡片的数据, key为卡片排序
+    private final LruCache<Integer, SparseArray<AdapterInfo>> mCache =
+            new LruCache<>(MAX_CACHED_DAYS);
+
+    private final List<OnInvalidateListener> mListeners = new ArrayList<>();
+
+    private final QueryCache.OnChangeListener mChangeListener;
+    private final PublishProcessor<Object> mTriggers = PublishProcessor.create();
+    private Disposable mInvalidator;
+
+    // 上次检查之后变化的julianDay范围, 起始大于结束时表示没有变化
+    private final Object mChangeLock = new Object();
+    private int mChangedStartDay = QuerySpec.MAX_DAY;
+    private int mChangedEndDay = QuerySpec.MIN_DAY;
+
+    private int mPrefetchDay = -1;
+    private Disposable mPrefetcher;
+
+    private final Runnable mPrefetchRunnable = new Runnable() {
+        @Override
+        public void run() {
+            prefetch(mPrefetchDay);
+        }
+    };
+
+    public CardDataCache(Context context, int weekStart) {
+        Context appContext = context.getApplicationContext();
+        mQueryCache = QueryCache.getInstance(appContext);
+        mMainHandler = new Handler(Looper.getMainLooper());
+
+        mAdapterLoaders.add(new SchedulerAdapterLoader(appContext, weekStart));
+        mAdapterLoaders.add(new AlmanacAdapterLoader());
+
+        // 在查询缓存清除之后回调, 检查变化时不会读到旧数据
+        mChangeListener = new QueryCache.OnChangeListener() {
+            @Override
+            public void onChange(Uri uri, int startDay, int endDay) {
+                addChangedDays(startDay, endDay);
+                mTriggers.onNext("EventChange");
+            }
+        };
+    }
+
+    public List<AdapterLoader> getAdapterLoaders() {
+        return mAdapterLoaders;
+    }
+
+    public AdapterInfo get(int julianDay, int order) {
+        synchronized (mCache) {
+            SparseArray<AdapterInfo> cards = mCache.get(julianDay);
+            return cards == null ? null : cards.get(order);
+        }
+    }
+
+    public void put(int julianDay, AdapterInfo info) {
+        synchronized (mCache) {
+            SparseArray<AdapterInfo> cards = mCache.get(julianDay);
+            if (cards == null) {
+                cards = new SparseArray<>();
+                mCache.put(julianDay, cards);
+            }
+            cards.put(info.mOrder, info);
+        }
+    }
+
+    /**
+     * 优先使用缓存, 没有缓存时在加载器的期限内加载并写入缓存, 同时记录加载耗时
+     * 加载器可以顺带返回其他天的数据, 都写入缓存, 但只向下游发送请求的那一天
+     */
+    public Observable<AdapterInfo> load(final AdapterLoader loader, final int julianDay) {
+        AdapterInfo cached = get(julianDay, loader.getOrder());
+        if (cached != null) {
+            return Observable.just(cached);
+        }
+
+        return Observable.defer(new Callable<ObservableSource<AdapterInfo>>() {
+            @Override
+            public ObservableSource<AdapterInfo> call() throws Exception {
+                final long start = SystemClock.elapsedRealtime();
+                return loader.getAdapterInfo(julianDay)
+                        .timeout(loader.getDeadline(), TimeUnit.MILLISECONDS)
+                        .doOnNext(new Consumer<AdapterInfo>() {
+                            @Override
+                            public void accept(AdapterInfo info) throws Exception {
+                                if (info.mJulianDay == julianDay) {
+                                    CardLoadMetrics.record(loader.getOrder(),
+                                            SystemClock.elapsedRealtime() - start, null);
+                                }
+                                put(info.mJulianDay, info);
+                            }
+                        })
+                        .filter(new Predicate<AdapterInfo>() {
+                            @Override
+                            public boolean test(AdapterInfo info) throws Exception {
+                                return info.mJulianDay == julianDay;
+                            }
+                        })
+                        .doOnError(new Consumer<Throwable>() {
+                            @Override
+                            public void accept(Throwable throwable) throws Exception {
+                                CardLoadMetrics.record(loader.getOrder(),
+                                        SystemClock.elapsedRealtime() - start, throwable);
+                            }
+                        });
+            }
+        });
+    }
+
+    public void addOnInvalidateListener(OnInvalidateListener listener) {
+        if (!mListeners.contains(listener)) {
+            mListeners.add(listener);
+        }
+    }
+
+    public void removeOnInvalidateListener(OnInvalidateListener listener) {
+        mListeners.remove(listener);
+    }
+
+    /**
+     * 当前显示的天变化, 停留一段时间后预加载前后几天的数据
+     */
+    public void schedulePrefetch(int julianDay) {
+        if (mPrefetchDay == julianDay) {
+            return;
+        }
+
+        mPrefetchDay = julianDay;
+        mMainHandler.removeCallbacks(mPrefetchRunnable);
+        mMainHandler.postDelayed(mPrefetchRunnable, PREFETCH_DELAY);
+    }
+
+    private void prefetch(int julianDay) {
+        if (mPrefetcher != null) {
+            mPrefetcher.dispose();
+        }
+
+        // 按离当前天的距离排序, 依次加载
+        List<Integer> days = new ArrayList<>();
+        for (int i = 1; i <= PREFETCH_RANGE; i++) {
+            days.add(julianDay + i);
+            days.add(julianDay - i);
+        }
+
+        mPrefetcher = Observable.fromIterable(days)
+                .concatMap(new Function<Integer, ObservableSource<AdapterInfo>>() {
+                    @Override
+                    public ObservableSource<AdapterInfo> apply(Integer day) throws Exception {
+                        List<ObservableSource<AdapterInfo>> sources = new ArrayList<>();
+                        for (AdapterLoader loader : mAdapterLoaders) {
+                            if (get(day, loader.getOrder()) == null) {
+                                // 单个卡片失败不影响其他卡片的预加载
+                                sources.add(load(loader, day)
+                                        .onErrorResumeNext(Observable.<AdapterInfo>empty()));
+                            }
+                        }
+                        return Observable.concat(sources);
+                    }
+                })
+                .subscribeOn(Schedulers.io())
+                .subscribe(new Consumer<AdapterInfo>() {
+                    @Override
+                    public void accept(AdapterInfo info) throws Exception {
+                        // cached in load()
+                    }
+                }, new Consumer<Throwable>() {
+                    @Override
+                    public void accept(Throwable throwable) throws Exception {
+                        Timber.i(throwable, "Prefetch cards failed");
+                    }
+                });
+    }
+
+    public void startObserving() {
+        // 合并200毫秒内的多次数据库变化
+        mInvalidator = mTriggers.debounce(200, TimeUnit.MILLISECONDS)
+                .observeOn(Schedulers.io())
+                .map(new Function<Object, List<Integer>>() {
+                    @Override
+                    public List<Integer> apply(Object o) throws Exception {
+                        return invalidateChangedDays();
+                    }
+                })
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(new Consumer<List<Integer>>() {
+                    @Override
+                    public void accept(List<Integer> days) throws Exception {
+                        for (Integer day : days) {
+                            for (int i = mListeners.size() - 1; i >= 0; i--) {
+                                mListeners.get(i).onInvalidate(day);
+                            }
+                        }
+                    }
+                }, new Consumer<Throwable>() {
+                    @Override
+                    public void accept(Throwable throwable) throws Exception {
+                        Timber.i(throwable, "Invalidate cards failed");
+                    }
+                });
+
+        mQueryCache.addOnChangeListener(mChangeListener);
+        // 停止观察期间(如在其他应用中)的修改不会通知, 恢复时检查一次缓存的卡片
+        addChangedDays(QuerySpec.MIN_DAY, QuerySpec.MAX_DAY);
+        mTriggers.onNext("Resume");
+    }
+
+    public void stopObserving() {
+        mQueryCache.removeOnChangeListener(mChangeListener);
+        mMainHandler.removeCallbacks(mPrefetchRunnable);
+        mPrefetchDay = -1;
+
+        if (mInvalidator != null) {
+            mInvalidator.dispose();
+        }
+
+        if (mPrefetcher != null) {
+            mPrefetcher.dispose();
+        }
+    }
+
+    /**
+     * 合并debounce期间多次变化的范围
+     */
+    private void addChangedDays(int startDay, int endDay) {
+        synchronized (mChangeLock) {
+            mChangedStartDay = Math.min(mChangedStartDay, startDay);
+            mChangedEndDay = Math.max(mChangedEndDay, endDay);
+        }
+    }
+
+    /**
+     * 由各个加载器检查变化范围内缓存的数据是否过期, 只清除过期的卡片
+     *
+     * @return 有卡片被清除的天
+     */
+    private List<Integer> invalidateChangedDays() {
+        int startDay;
+        int endDay;
+        synchronized (mChangeLock) {
+            startDay = mChangedStartDay;
+            endDay = mChangedEndDay;
+            mChangedStartDay = QuerySpec.MAX_DAY;
+            mChangedEndDay = QuerySpec.MIN_DAY;
+        }
+
+        List<Integer> invalidDays = new ArrayList<>();
+        if (startDay > endDay) {
+            return invalidDays;
+        }
+        for (AdapterLoader loader : mAdapterLoaders) {
+            int order = loader.getOrder();
+            SparseArray<Object> cachedData = new SparseArray<>();
+            synchronized (mCache) {
+                for (Map.Entry<Integer, SparseArray<AdapterInfo>> entry : mCache.snapshot().entrySet()) {
+                    int day = entry.getKey();
+                    AdapterInfo info = entry.getValue().get(order);
+                    if (info != null && day >= startDay && day <= endDay) {
+                        cachedData.put(entry.getKey(), info.mData);
+                    }
+                }
+            }
+
+            if (cachedData.size() == 0) {
+                continue;
+            }
+
+            List<Integer> changedDays = loader.findChangedDays(cachedData);
+            synchronized (mCache) {
+                for (Integer day : changedDays) {
+                    SparseArray<AdapterInfo> cards = mCache.get(day);
+                    if (cards != null) {
+                        cards.remove(order);
+                    }
+                    if (!invalidDays.contains(day)) {
+                        invalidDays.add(day);
+                    }
+                }
+            }
+        }
+
+        Timber.d("Invalidate cards of days %s", invalidDays);
+        return invalidDays;
+    }
+}
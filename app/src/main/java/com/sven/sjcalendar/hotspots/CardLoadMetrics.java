@@ -0,0 +1,91 @@
+package com.sven.sjcalendar.hotspots;
+
+import android.util.SparseArray;
+
+import java.util.concurrent.TimeoutException;
+
+import timber.log.Timber;
+
+/**
+ * 记录每种卡片加载器的耗时和失败次数
+ */
+public class CardLoadMetrics {
+
+    private static final SparseArray<Stat> sStats = new SparseArray<>();
+
+    public static class Stat {
+        public int count;
+        public int timeouts;
+        // 超时以外的失败
+        public int errors;
+        public long totalMillis;
+        public long maxMillis;
+        public long lastMillis;
+
+        public long getAverageMillis() {
+            return count == 0 ? 0 : totalMillis / count;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + ", timeouts=" + timeouts + ", errors=" + errors + ", avg=" + getAverageMillis()
+                    + "ms, max=" + maxMillis + "ms, last=" + lastMillis + "ms";
+        }
+    }
+
+    /**
+     * @param order   卡片排序, 见{@link AdapterOrder}
+     * @param millis  加载耗时
+     * @param error   加载失败的原因, 成功时为null, 超过加载器的期限时为{@link TimeoutException}
+     */
+    public static void record(int order, long millis, Throwable error) {
+        boolean timeout = error instanceof TimeoutException;
+        synchronized (sStats) {
+            Stat stat = sStats.get(order);
+            if (stat == null) {
+                stat = new Stat();
+                sStats.put(order, stat);
+            }
+            stat.count++;
+            if (timeout) {
+                stat.timeouts++;
+            } else if (error != null) {
+                stat.errors++;
+            }
+            stat.totalMillis += millis;
+            stat.maxMillis = Math.max(stat.maxMillis, millis);
+            stat.lastMillis = millis;
+        }
+
+        Timber.d("Card %d loaded in %dms%s", order, millis,
+                timeout ? " (timeout)" : error != null ? " (" + error + ")" : "");
+    }
+
+    /**
+     * @return 指定卡片耗时统计的副本, 没有记录时返回null
+     */
+    public static Stat get(int order) {
+        synchronized (sStats) {
+            Stat stat = sStats.get(order);
+            if (stat == null) {
+                return null;
+            }
+            Stat copy = new Stat();
+            copy.count = stat.count;
+            copy.timeouts = stat.timeouts;
+            copy.errors = stat.errors;
+            copy.totalMillis = stat.totalMillis;
+            copy.maxMillis = stat.maxMillis;
+            copy.lastMillis = stat.lastMillis;
+            return copy;
+        }
+    }
+
+    public static void dump() {
+        synchronized (sStats) {
+            for (int i = 0; i < sStats.size(); i++) {
+                Timber.i("Card %d : %s", sStats.keyAt(i), sStats.valueAt(i));
+            }
+        }
+    }
+}
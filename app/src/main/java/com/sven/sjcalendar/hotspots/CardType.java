@@ -0,0 +1,11 @@
+package com.sven.sjcalendar.hotspots;
+
+/**
+ * 卡片的ViewType, 所有天的页面共享同一个RecycledViewPool, 不同类型的卡片不能重复
+ */
+public class CardType {
+
+    public static final int NOP = 0;
+    public static final int SCHEDULE_EVENT = 1;
+    public static final int ALMANAC = 2;
+}
@@ -4,6 +4,14 @@ import android.support.v7.widget.RecyclerView;
 
 import com.alibaba.android.vlayout.DelegateAdapter;
 
-public abstract class HotspotsAdapter<VH extends RecyclerView.ViewHolder>
+/**
+ * 卡片Adapter基类, 切换天时不重新创建, 通过{@link #setData(Object)}绑定新的数据
+ */
+public abstract class HotspotsAdapter<VH extends RecyclerView.ViewHolder, D>
         extends DelegateAdapter.Adapter<VH> {
+
+    /**
+     * @param data 卡片数据, 为null时表示数据正在加载
+     */
+    public abstract void setData(D data);
 }
@@ -1,39 +1,90 @@
 package com.sven.sjcalendar.hotspots;
 
 import android.content.Context;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
 
 import com.alibaba.android.vlayout.DelegateAdapter;
-import com.sven.sjcalendar.hotspots.almanac.AlmanacAdapterLoader;
-import com.sven.sjcalendar.hotspots.schedule.EventLoader;
-import com.sven.sjcalendar.hotspots.schedule.SchedulerAdapter;
-import com.sven.sjcalendar.hotspots.schedule.SchedulerAdapterLoader;
-
-import io.reactivex.Observable;
-import io.reactivex.ObservableEmitter;
-import io.reactivex.ObservableOnSubscribe;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import io.reactivex.android.schedulers.AndroidSchedulers;
 import io.reactivex.disposables.CompositeDisposable;
-import io.reactivex.disposables.Disposable;
+import io.reactivex.functions.Action;
 import io.reactivex.functions.Consumer;
 import io.reactivex.schedulers.Schedulers;
+import timber.log.Timber;
 
 /**
+ * 管理一个天页面的卡片, 页面被ViewPager回收复用时只切换目标天,
+ * 已创建的卡片Adapter会保留在DelegateAdapter中, 新数据加载完成后重新绑定
+ *
+ * 所有加载器并发执行, 卡片按{@link AdapterOrder}排列:
+ * 一个卡片只有在排序靠前的卡片都加载完成(或失败/超时)后才会显示,
+ * 同时可以显示的卡片一次性添加到DelegateAdapter, 后到的卡片只会追加在下面, 不会引起已显示卡片的位移
  * Created by Sven.J on 18-5-10.
  */
-public class HotspotsAdapterManager {
+public class HotspotsAdapterManager implements CardDataCache.OnInvalidateListener {
+    private static final int INVALID_DAY = -1;
+
     private Context mContext;
-    private int mTargetDay;
+    private int mTargetDay = INVALID_DAY;
 
     private DelegateAdapter mDelegateAdapter;
 
-    private Disposable mPreLoader;
+    private final CardDataCache mCache;
+
+    // key为卡片排序
+    private final SparseArray<AdapterLoader> mAdapterLoaders = new SparseArray<>();
+    // 已添加到DelegateAdapter的卡片, key为卡片排序
+    private final SparseArray<HotspotsAdapter> mCardAdapters = new SparseArray<>();
+    // 卡片上方的间隔, key为卡片排序
+    private final SparseArray<NopAdapter> mDividers = new SparseArray<>();
+
+    // 正在加载的卡片
+    private final SparseBooleanArray mPendingCards = new SparseBooleanArray();
+    // 已加载完成, 等待排在前面的卡片加载后再显示
+    private final SparseArray<AdapterInfo> mLoadedCards = new SparseArray<>();
 
     private CompositeDisposable mLoaders;
 
-    public HotspotsAdapterManager(Context context, DelegateAdapter adapter, int day) {
+    private boolean mStarted;
+
+    public HotspotsAdapterManager(Context context, DelegateAdapter adapter, CardDataCache cache) {
         mContext = context;
         mDelegateAdapter = adapter;
+        mCache = cache;
+
+        for (AdapterLoader loader : cache.getAdapterLoaders()) {
+            mAdapterLoaders.put(loader.getOrder(), loader);
+        }
+    }
+
+    public int getTargetDay() {
+        return mTargetDay;
+    }
+
+    /**
+     * 页面被复用到新的一天, 有缓存的卡片直接绑定, 其余的清空旧数据并重新加载
+     */
+    @SuppressWarnings("unchecked")
+    public void setTargetDay(int day) {
+        if (mTargetDay == day) {
+            return;
+        }
+
+        cancelLoaders();
         mTargetDay = day;
+
+        for (int i = 0; i < mCardAdapters.size(); i++) {
+            AdapterInfo cached = mCache.get(day, mCardAdapters.keyAt(i));
+            mCardAdapters.valueAt(i).setData(cached != null ? cached.mData : null);
+        }
+
+        if (mStarted) {
+            startLoaders();
+        }
     }
 
     /**
@@ -41,44 +92,115 @@ public class HotspotsAdapterManager {
      * 2.再加载具体卡片
      */
     public void startLoadAdapter() {
-        mPreLoader = Observable.merge(createEventLoader().getAdapterInfo(),
-                createAlmanacLoader().getAdapterInfo())
-        .subscribeOn(Schedulers.io())
-        .observeOn(AndroidSchedulers.mainThread())
-        .subscribe(new Consumer<AdapterInfo>() {
-            @Override
-            public void accept(AdapterInfo info) throws Exception {
-                if (info != null) {
-                    mDelegateAdapter.addAdapter(new NopAdapter());
-                    mDelegateAdapter.addAdapter(info.mAdapter);
-                }
-            }
-        });
+        mStarted = true;
+        mCache.addOnInvalidateListener(this);
+        startLoaders();
     }
 
     public void stopLoadAdapter() {
-        if (mPreLoader != null) {
-            mPreLoader.dispose();
+        mStarted = false;
+        mCache.removeOnInvalidateListener(this);
+        cancelLoaders();
+    }
+
+    @Override
+    public void onInvalidate(int julianDay) {
+        if (mStarted && julianDay == mTargetDay) {
+            startLoaders();
+        }
+    }
+
+    private void startLoaders() {
+        if (mTargetDay == INVALID_DAY) {
+            return;
         }
 
+        cancelLoaders();
+        mLoaders = new CompositeDisposable();
+        for (int i = 0; i < mAdapterLoaders.size(); i++) {
+            final int order = mAdapterLoaders.keyAt(i);
+            AdapterInfo cached = mCache.get(mTargetDay, order);
+            if (cached != null) {
+                mLoadedCards.put(order, cached);
+                continue;
+            }
+
+            mPendingCards.put(order, true);
+            mLoaders.add(mCache.load(mAdapterLoaders.valueAt(i), mTargetDay)
+                    .subscribeOn(Schedulers.io())
+                    .observeOn(AndroidSchedulers.mainThread())
+                    .subscribe(new Consumer<AdapterInfo>() {
+                        @Override
+                        public void accept(AdapterInfo info) throws Exception {
+                            if (info != null) {
+                                mLoadedCards.put(order, info);
+                            }
+                        }
+                    }, new Consumer<Throwable>() {
+                        @Override
+                        public void accept(Throwable throwable) throws Exception {
+                            Timber.e(throwable, "Load card %d failed", order);
+                            onCardFinished(order);
+                        }
+                    }, new Action() {
+                        @Override
+                        public void run() throws Exception {
+                            onCardFinished(order);
+                        }
+                    }));
+        }
+
+        flushCards();
+    }
+
+    private void cancelLoaders() {
         if (mLoaders != null) {
             mLoaders.dispose();
+            mLoaders = null;
         }
-    }
 
-    private AdapterLoader createEventLoader() {
-        return new SchedulerAdapterLoader(mContext, mTargetDay);
+        mPendingCards.clear();
+        mLoadedCards.clear();
     }
 
-    private AdapterLoader createAlmanacLoader() {
-        return new AlmanacAdapterLoader();
+    private void onCardFinished(int order) {
+        mPendingCards.delete(order);
+        flushCards();
     }
 
-    private AdapterLoader createZodiacLoader() {
-        return null;
-    }
+    /**
+     * 已显示的卡片直接绑定新数据, 新卡片只有排在所有加载中的卡片之前才显示,
+     * 新的卡片一次性更新到DelegateAdapter
+     */
+    @SuppressWarnings("unchecked")
+    private void flushCards() {
+        int firstPending = mPendingCards.size() > 0 ? mPendingCards.keyAt(0) : Integer.MAX_VALUE;
+
+        boolean cardsAdded = false;
+        for (int i = 0; i < mLoadedCards.size(); ) {
+            int order = mLoadedCards.keyAt(i);
+            HotspotsAdapter adapter = mCardAdapters.get(order);
+            if (adapter == null) {
+                if (order > firstPending) {
+                    i++;
+                    continue;
+                }
+                adapter = mAdapterLoaders.get(order).createAdapter();
+                mCardAdapters.put(order, adapter);
+                mDividers.put(order, new NopAdapter());
+                cardsAdded = true;
+            }
+            adapter.setData(mLoadedCards.valueAt(i).mData);
+            mLoadedCards.removeAt(i);
+        }
 
-    private Observable getHotspotsAdapters() {
-        return null;
+        if (cardsAdded) {
+            List<DelegateAdapter.Adapter> adapters = new ArrayList<>(mCardAdapters.size() * 2);
+            for (int i = 0; i < mCardAdapters.size(); i++) {
+                adapters.add(mDividers.valueAt(i));
+                adapters.add(mCardAdapters.valueAt(i));
+            }
+            mDelegateAdapter.setAdapters(adapters);
+        }
     }
 }
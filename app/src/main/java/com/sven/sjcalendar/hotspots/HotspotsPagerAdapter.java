@@ -3,6 +3,7 @@ package com.sven.sjcalendar.hotspots;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
 
 import com.alibaba.android.vlayout.DelegateAdapter;
 import com.sven.dateview.TimeCalendar;
@@ -13,34 +14,74 @@ import com.sven.sjcalendar.widget.RecycledPagerAdapter;
  */
 public class HotspotsPagerAdapter extends RecycledPagerAdapter<RecyclerView> {
 
+    // 每种卡片在共享缓存池中保留的ViewHolder数量
+    private static final int MAX_RECYCLED_NOP = 8;
+    private static final int MAX_RECYCLED_EVENT = 20;
+    private static final int MAX_RECYCLED_ALMANAC = 3;
+
     private int mMinDay;
     private int mMaxDay;
 
     private int mToday;
 
-    public HotspotsPagerAdapter() {
+    // 所有天的页面共享, 切换天时卡片不用重新inflate
+    private final RecyclerView.RecycledViewPool mViewPool;
+
+    private final CardDataCache mCache;
+
+    public HotspotsPagerAdapter(Context context, int weekStart) {
         TimeCalendar calendar = TimeCalendar.getInstance();
         mToday = calendar.getJulianDay();
         calendar.set(1970, 0, 1);
         mMinDay = calendar.getJulianDay();
         calendar.set(2037, 11, 31);
         mMaxDay = calendar.getJulianDay();
+
+        mViewPool = new RecyclerView.RecycledViewPool();
+        mViewPool.setMaxRecycledViews(CardType.NOP, MAX_RECYCLED_NOP);
+        mViewPool.setMaxRecycledViews(CardType.SCHEDULE_EVENT, MAX_RECYCLED_EVENT);
+        mViewPool.setMaxRecycledViews(CardType.ALMANAC, MAX_RECYCLED_ALMANAC);
+
+        mCache = new CardDataCache(context, weekStart);
     }
 
-    @Override
-    public RecyclerView createView(Context context) {
-        return new RecyclerView(context);
+    /**
+     * 开始监听数据库变化, 在Activity onResume时调用
+     */
+    public void onResume() {
+        mCache.startObserving();
+    }
+
+    public void onPause() {
+        mCache.stopObserving();
     }
 
     @Override
-    public void bindView(@NonNull RecyclerView view, int position) {
-        Context context = view.getContext();
+    public RecyclerView createView(Context context) {
+        RecyclerView view = new RecyclerView(context);
         view.setOverScrollMode(RecyclerView.OVER_SCROLL_NEVER);
+        view.setRecycledViewPool(mViewPool);
+
         VirtualLayoutManagerEx layoutManager = new VirtualLayoutManagerEx(context);
+        // 页面被移除时把卡片放回共享缓存池
+        layoutManager.setRecycleChildrenOnDetach(true);
         DelegateAdapter adapter = new DelegateAdapter(layoutManager, true);
-        layoutManager.setAdapterManager(new HotspotsAdapterManager(context, adapter,mMinDay + position));
+        layoutManager.setAdapterManager(new HotspotsAdapterManager(context, adapter, mCache));
         view.setLayoutManager(layoutManager);
         view.setAdapter(adapter);
+        return view;
+    }
+
+    @Override
+    public void bindView(@NonNull RecyclerView view, int position) {
+        VirtualLayoutManagerEx layoutManager = (VirtualLayoutManagerEx) view.getLayoutManager();
+        layoutManager.getAdapterManager().setTargetDay(mMinDay + position);
+    }
+
+    @Override
+    public void setPrimaryItem(ViewGroup container, int position, Object object) {
+        super.setPrimaryItem(container, position, object);
+        mCache.schedulePrefetch(mMinDay + position);
     }
 
     @Override
@@ -37,7 +37,7 @@ public class NopAdapter extends DelegateAdapter.Adapter<NopAdapter.NopViewHolder
 
     @Override
     public int getItemViewType(int position) {
-        return 0;
+        return CardType.NOP;
     }
 
     static class NopViewHolder extends RecyclerView.ViewHolder {
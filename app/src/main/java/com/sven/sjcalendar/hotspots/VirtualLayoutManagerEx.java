@@ -28,6 +28,10 @@ public class VirtualLayoutManagerEx extends VirtualLayoutManager {
         this.adapterManager = adapterManager;
     }
 
+    public HotspotsAdapterManager getAdapterManager() {
+        return adapterManager;
+    }
+
     @Override
     public void onAttachedToWindow(RecyclerView view) {
         super.onAttachedToWindow(view);
@@ -6,12 +6,22 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
-import com.alibaba.android.vlayout.DelegateAdapter;
 import com.alibaba.android.vlayout.LayoutHelper;
 import com.alibaba.android.vlayout.layout.LinearLayoutHelper;
 import com.sven.sjcalendar.R;
+import com.sven.sjcalendar.hotspots.CardType;
+import com.sven.sjcalendar.hotspots.HotspotsAdapter;
 
-public class AlmanacAdapter extends DelegateAdapter.Adapter<AlmanacAdapter.AlmanacHolder> {
+public class AlmanacAdapter extends HotspotsAdapter<AlmanacAdapter.AlmanacHolder, Integer> {
+
+    // 黄历对应的julianDay
+    private Integer mJulianDay;
+
+    @Override
+    public void setData(Integer julianDay) {
+        mJulianDay = julianDay;
+        notifyDataSetChanged();
+    }
 
     @Override
     public LayoutHelper onCreateLayoutHelper() {
@@ -33,6 +43,11 @@ public class AlmanacAdapter extends DelegateAdapter.Adapter<AlmanacAdapter.Alman
         return 1;
     }
 
+    @Override
+    public int getItemViewType(int position) {
+        return CardType.ALMANAC;
+    }
+
     static class AlmanacHolder extends RecyclerView.ViewHolder {
 
         static AlmanacHolder create(Context context, ViewGroup parent) {
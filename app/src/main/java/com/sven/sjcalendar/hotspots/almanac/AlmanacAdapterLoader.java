@@ -1,23 +1,42 @@
 package com.sven.sjcalendar.hotspots.almanac;
 
+import android.util.SparseArray;
+
 import com.sven.sjcalendar.hotspots.AdapterInfo;
 import com.sven.sjcalendar.hotspots.AdapterLoader;
+import com.sven.sjcalendar.hotspots.AdapterOrder;
+import com.sven.sjcalendar.hotspots.HotspotsAdapter;
+
+import java.util.Collections;
+import java.util.List;
 
 import io.reactivex.Observable;
 import io.reactivex.ObservableEmitter;
 import io.reactivex.ObservableOnSubscribe;
 
 public class AlmanacAdapterLoader implements AdapterLoader {
+    private static final long DEADLINE = 1000;
+
+
+    @Override
+    public int getOrder() {
+        return AdapterOrder.ALMANAC;
+    }
+
+    @Override
+    public long getDeadline() {
+        return DEADLINE;
+    }
 
     @Override
-    public Observable<AdapterInfo> getAdapterInfo() {
+    public Observable<AdapterInfo> getAdapterInfo(final int julianDay) {
         return Observable.create(new ObservableOnSubscribe<AdapterInfo>() {
             @Override
             public void subscribe(ObservableEmitter<AdapterInfo> emitter) throws Exception {
                 AdapterInfo info = new AdapterInfo();
-                info.mOrder = 1;
-
-                info.mAdapter = new AlmanacAdapter();
+                info.mOrder = AdapterOrder.ALMANAC;
+                info.mJulianDay = julianDay;
+                info.mData = julianDay;
 
                 if (!emitter.isDisposed()) {
                     emitter.onNext(info);
@@ -26,4 +45,15 @@ public class AlmanacAdapterLoader implements AdapterLoader {
             }
         });
     }
+
+    @Override
+    public HotspotsAdapter createAdapter() {
+        return new AlmanacAdapter();
+    }
+
+    @Override
+    public List<Integer> findChangedDays(SparseArray<Object> cachedData) {
+        // 黄历不依赖日历数据库
+        return Collections.emptyList();
+    }
 }
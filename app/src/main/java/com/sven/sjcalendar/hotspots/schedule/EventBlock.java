@@ -0,0 +1,88 @@
+package com.sven.sjcalendar.hotspots.schedule;
+
+/**
+ * 一天事件的列式视图, 通过下标访问
+ * 事件字段保存在共享的{@link EventColumns}平行数组中, 这里只保存该天的行号和跨天属性
+ * 标题之外的字符串(描述等)在需要时才单独查询, 不在这里保存
+ */
+public class EventBlock {
+
+    public static final EventBlock EMPTY = new EventBlock(EventColumns.EMPTY, new int[0], new int[0]);
+
+    private final EventColumns mColumns;
+    private final int[] mRows;
+    private final int[] mMultiTypes;
+
+    EventBlock(EventColumns columns, int[] rows, int[] multiTypes) {
+        mColumns = columns;
+        mRows = rows;
+        mMultiTypes = multiTypes;
+    }
+
+    public int size() {
+        return mRows.length;
+    }
+
+    public long getEventId(int index) {
+        return mColumns.eventIds[mRows[index]];
+    }
+
+    public long getBegin(int index) {
+        return mColumns.begins[mRows[index]];
+    }
+
+    public long getEnd(int index) {
+        return mColumns.ends[mRows[index]];
+    }
+
+    public int getStartDay(int index) {
+        return mColumns.startDays[mRows[index]];
+    }
+
+    public int getEndDay(int index) {
+        return mColumns.endDays[mRows[index]];
+    }
+
+    public boolean isAllDay(int index) {
+        return mColumns.allDays[mRows[index]];
+    }
+
+    /**
+     * @return {@link Event#MULTI_NONE}, {@link Event#MULTI_START}, {@link Event#MULTI_MIDDLE}
+     * 或{@link Event#MULTI_END}
+     */
+    public int getMultiType(int index) {
+        return mMultiTypes[index];
+    }
+
+    /**
+     * @return 数据库中的原始标题, 可能为空
+     */
+    public String getTitle(int index) {
+        return mColumns.titles[mRows[index]];
+    }
+
+    /**
+     * 事件摘要, 与{@link EventLoader#loadEventDigests}的结果对比判断数据是否变化
+     */
+    public int digest() {
+        int digest = 0;
+        for (int row : mRows) {
+            digest += digest(mColumns.eventIds[row], mColumns.begins[row], mColumns.ends[row],
+                    mColumns.allDays[row], mColumns.titles[row]);
+        }
+        return digest;
+    }
+
+    /**
+     * 包含卡片列表显示的字段, 描述只在展开时显示, 由{@link SchedulerAdapter}在数据库变化时重新加载
+     */
+    static int digest(long eventId, long begin, long end, boolean allDay, String title) {
+        int result = (int) (eventId ^ (eventId >>> 32));
+        result = 31 * result + (int) (begin ^ (begin >>> 32));
+        result = 31 * result + (int) (end ^ (end >>> 32));
+        result = 31 * result + (allDay ? 1 : 0);
+        result = 31 * result + (title != null ? title.hashCode() : 0);
+        return result;
+    }
+}
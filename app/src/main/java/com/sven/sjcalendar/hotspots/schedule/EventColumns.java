@@ -0,0 +1,41 @@
+package com.sven.sjcalendar.hotspots.schedule;
+
+/**
+ * 一次查询得到的事件列, 被多个{@link EventBlock}共享
+ */
+class EventColumns {
+
+    static final EventColumns EMPTY = new EventColumns(0);
+
+    int size;
+
+    final long[] eventIds;
+    final long[] begins;
+    final long[] ends;
+    final int[] startDays;
+    final int[] endDays;
+    final boolean[] allDays;
+    final String[] titles;
+
+    EventColumns(int capacity) {
+        eventIds = new long[capacity];
+        begins = new long[capacity];
+        ends = new long[capacity];
+        startDays = new int[capacity];
+        endDays = new int[capacity];
+        allDays = new boolean[capacity];
+        titles = new String[capacity];
+    }
+
+    void add(long eventId, long begin, long end, int startDay, int endDay, boolean allDay,
+             String title) {
+        int row = size++;
+        eventIds[row] = eventId;
+        begins[row] = begin;
+        ends[row] = end;
+        startDays[row] = startDay;
+        endDays[row] = endDay;
+        allDays[row] = allDay;
+        titles[row] = title;
+    }
+}
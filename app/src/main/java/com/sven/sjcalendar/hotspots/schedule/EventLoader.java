@@ -10,11 +10,17 @@ import android.provider.CalendarContract.Events;
 import android.provider.CalendarContract.Instances;
 import android.text.TextUtils;
 import android.util.Log;
+import android.util.SparseIntArray;
+
+import com.sven.sjcalendar.AsyncQueryScheduler;
+import com.sven.sjcalendar.data.QueryCache;
+import com.sven.sjcalendar.data.QuerySpec;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 
+import io.reactivex.disposables.Disposable;
 import timber.log.Timber;
 
 /**
@@ -43,6 +49,10 @@ public class EventLoader {
 
     private static final String EVENT_WHERE_BY_ID = Events._ID + "=?";
 
+    // 单次查询时先显示非全天事件, 再显示全天事件
+    private static final String SORT_BLOCK_BY = Instances.ALL_DAY + " ASC, "
+            + Instances.BEGIN + " ASC, " + Instances.END + " ASC";
+
     // The projection to use when querying instances to build a list of events
     public static final String[] EVENT_PROJECTION = new String[] {
             Instances.TITLE,                 // 0
@@ -76,6 +86,107 @@ public class EventLoader {
     private static final int PROJECTION_CALENDAR_ID = 12;
     private static final int PROJECTION_DISPLAY_ALLDAY = 13;
 
+    // The projection to use when loading an EventBlock, strings other than title are loaded lazily
+    private static final String[] BLOCK_PROJECTION = new String[] {
+            Instances.EVENT_ID,              // 0
+            Instances.BEGIN,                 // 1
+            Instances.END,                   // 2
+            Instances.START_DAY,             // 3
+            Instances.END_DAY,               // 4
+            Instances.ALL_DAY,               // 5
+            Instances.TITLE,                 // 6
+    };
+
+    private static final int BLOCK_EVENT_ID_INDEX = 0;
+    private static final int BLOCK_BEGIN_INDEX = 1;
+    private static final int BLOCK_END_INDEX = 2;
+    private static final int BLOCK_START_DAY_INDEX = 3;
+    private static final int BLOCK_END_DAY_INDEX = 4;
+    private static final int BLOCK_ALL_DAY_INDEX = 5;
+    private static final int BLOCK_TITLE_INDEX = 6;
+
+    private static final String[] DESCRIPTION_PROJECTION = new String[] {
+            Events.DESCRIPTION
+    };
+
+    // 结果通过QueryCache共享, 读出后不再修改
+    private static final QueryCache.Materializer<EventColumns> COLUMNS =
+            new QueryCache.Materializer<EventColumns>() {
+                @Override
+                public EventColumns materialize(QuerySpec spec, Cursor cursor) {
+                    EventColumns columns = new EventColumns(cursor.getCount());
+                    while (cursor.moveToNext()) {
+                        int eventStartDay = cursor.getInt(BLOCK_START_DAY_INDEX);
+                        int eventEndDay = cursor.getInt(BLOCK_END_DAY_INDEX);
+                        if (eventStartDay > spec.getEndDay() || eventEndDay < spec.getStartDay()) {
+                            continue;
+                        }
+
+                        columns.add(cursor.getLong(BLOCK_EVENT_ID_INDEX),
+                                cursor.getLong(BLOCK_BEGIN_INDEX),
+                                cursor.getLong(BLOCK_END_INDEX),
+                                eventStartDay,
+                                eventEndDay,
+                                cursor.getInt(BLOCK_ALL_DAY_INDEX) != 0,
+                                cursor.getString(BLOCK_TITLE_INDEX));
+                    }
+                    return columns;
+                }
+
+                @Override
+                public int sizeOf(EventColumns columns) {
+                    int size = columns.eventIds.length * 44;
+                    for (int row = 0; row < columns.size; row++) {
+                        String title = columns.titles[row];
+                        size += title == null ? 0 : title.length() * 2;
+                    }
+                    return size;
+                }
+            };
+
+    private static final QueryCache.Materializer<SparseIntArray> DIGESTS =
+            new QueryCache.Materializer<SparseIntArray>() {
+                @Override
+                public SparseIntArray materialize(QuerySpec spec, Cursor cursor) {
+                    SparseIntArray digests = new SparseIntArray();
+                    while (cursor.moveToNext()) {
+                        int hash = EventBlock.digest(cursor.getLong(BLOCK_EVENT_ID_INDEX),
+                                cursor.getLong(BLOCK_BEGIN_INDEX),
+                                cursor.getLong(BLOCK_END_INDEX),
+                                cursor.getInt(BLOCK_ALL_DAY_INDEX) != 0,
+                                cursor.getString(BLOCK_TITLE_INDEX));
+                        int first = Math.max(cursor.getInt(BLOCK_START_DAY_INDEX), spec.getStartDay());
+                        int last = Math.min(cursor.getInt(BLOCK_END_DAY_INDEX), spec.getEndDay());
+                        for (int day = first; day <= last; day++) {
+                            digests.put(day, digests.get(day) + hash);
+                        }
+                    }
+                    return digests;
+                }
+
+                @Override
+                public int sizeOf(SparseIntArray digests) {
+                    return digests.size() * 8;
+                }
+            };
+
+    private static final QueryCache.Materializer<String> DESCRIPTION =
+            new QueryCache.Materializer<String>() {
+                @Override
+                public String materialize(QuerySpec spec, Cursor cursor) {
+                    if (cursor.moveToFirst()) {
+                        String description = cursor.getString(0);
+                        return description == null ? "" : description;
+                    }
+                    return "";
+                }
+
+                @Override
+                public int sizeOf(String description) {
+                    return description.length() * 2;
+                }
+            };
+
     public static ArrayList<Event> loadEvents(Context context, int startDay) {
         ArrayList<Event> events = new ArrayList<>();
 
@@ -109,8 +220,66 @@ public class EventLoader {
         return events;
     }
 
+    /**
+     * 一次查询一天的所有事件(包括全天事件), 按(allDay, begin)排序, 直接读入列式的{@link EventBlock}
+     * 标题保留数据库中的原始值, 描述等字段在需要时通过{@link #startDescriptionQuery}加载
+     */
+    public static EventBlock loadEventBlock(Context context, int julianDay) {
+        return loadEventRange(context, julianDay, julianDay).getDay(julianDay);
+    }
+
+    /**
+     * 一次查询[startDay, endDay]范围内的所有事件, 按天切分成{@link EventBlock}
+     * 跨天事件只读取一次, 查询失败时每天都为{@link EventBlock#EMPTY}
+     */
+    public static EventRange loadEventRange(Context context, int startDay, int endDay) {
+        EventColumns columns = null;
+        try {
+            columns = QueryCache.getInstance(context).query(instancesSpec(BLOCK_PROJECTION,
+                    startDay, endDay, null, null, SORT_BLOCK_BY), COLUMNS);
+        } catch (Exception e) {
+            Timber.e("  Load event range failed, %s", e.getMessage());
+        }
+
+        return new EventRange(columns != null ? columns : EventColumns.EMPTY, startDay, endDay);
+    }
+
+    /**
+     * 通过应用共享的{@link AsyncQueryScheduler}查询事件的描述, 在展开事件时调用
+     * 回调的结果为事件描述, 没有描述时为空字符串, 查询失败时为null
+     *
+     * @return dispose后不再回调
+     */
+    public static Disposable startDescriptionQuery(Context context, long eventId,
+                                                   AsyncQueryScheduler.OperationCallback callback) {
+        QuerySpec spec = new QuerySpec(Events.CONTENT_URI, DESCRIPTION_PROJECTION, EVENT_WHERE_BY_ID,
+                new String[]{String.valueOf(eventId)}, null);
+        AsyncQueryScheduler scheduler = AsyncQueryScheduler.getInstance(context);
+        return scheduler.startCachedQuery(scheduler.getNextToken(), spec, DESCRIPTION, callback);
+    }
+
+    /**
+     * 一次查询[startDay, endDay]范围内的事件, 计算每一天的事件摘要
+     *
+     * @return key为julianDay, value为{@link EventBlock#digest()}, 查询失败返回null
+     */
+    public static SparseIntArray loadEventDigests(Context context, int startDay, int endDay) {
+        try {
+            return QueryCache.getInstance(context).query(instancesSpec(BLOCK_PROJECTION,
+                    startDay, endDay, null, null, null), DIGESTS);
+        } catch (Exception e) {
+            Timber.e("  Load event digests failed, %s", e.getMessage());
+            return null;
+        }
+    }
+
     private static Cursor instancesQuery(ContentResolver cr, String[] projection, int startDay,
                                          int endDay, String selection, String[] selectionArgs, String orderBy) {
+        return instancesSpec(projection, startDay, endDay, selection, selectionArgs, orderBy).query(cr);
+    }
+
+    private static QuerySpec instancesSpec(String[] projection, int startDay, int endDay,
+                                           String selection, String[] selectionArgs, String orderBy) {
         String WHERE_CALENDARS_SELECTED = Calendars.VISIBLE + "=?";
         String[] WHERE_CALENDARS_ARGS = {"1"};
         String DEFAULT_SORT_ORDER = "begin ASC";
@@ -130,7 +299,7 @@ public class EventLoader {
                 selectionArgs = WHERE_CALENDARS_ARGS;
             }
         }
-        return cr.query(builder.build(), projection, selection, selectionArgs,
+        return new QuerySpec(builder.build(), projection, selection, selectionArgs,
                 orderBy == null ? DEFAULT_SORT_ORDER : orderBy);
     }
 
@@ -165,17 +334,7 @@ public class EventLoader {
                 continue;
             }
             // 增加判断事件的跨天属性
-            if (e.startDay != e.endDay) {
-                if (e.startDay == startDay) {
-                    e.multiType = Event.MULTI_START;
-                } else if (e.endDay == endDay) {
-                    e.multiType = Event.MULTI_END;
-                } else {
-                    e.multiType = Event.MULTI_MIDDLE;
-                }
-            } else {
-                e.multiType = Event.MULTI_NONE;
-            }
+            e.multiType = getMultiType(e.startDay, e.endDay, startDay, endDay);
 
             events.add(e);
         }
@@ -183,6 +342,19 @@ public class EventLoader {
         Collections.sort(events);
     }
 
+    private static int getMultiType(int eventStartDay, int eventEndDay, int startDay, int endDay) {
+        if (eventStartDay != eventEndDay) {
+            if (eventStartDay == startDay) {
+                return Event.MULTI_START;
+            } else if (eventEndDay == endDay) {
+                return Event.MULTI_END;
+            } else {
+                return Event.MULTI_MIDDLE;
+            }
+        }
+        return Event.MULTI_NONE;
+    }
+
     /**
      * @param cEvents Cursor pointing at event
      * @return An event created from the cursor
@@ -0,0 +1,90 @@
+package com.sven.sjcalendar.hotspots.schedule;
+
+/**
+ * 一次查询得到的多天事件, 按天切分成{@link EventBlock}
+ * 跨天事件只查询一次, 各天的视图共享同一行数据, 跨天属性在切分时计算
+ */
+public class EventRange {
+
+    private final int mStartDay;
+    private final int mEndDay;
+
+    private final EventBlock[] mDays;
+
+    EventRange(EventColumns columns, int startDay, int endDay) {
+        mStartDay = startDay;
+        mEndDay = endDay;
+
+        int dayCount = endDay - startDay + 1;
+        // 先统计每天的事件数
+        int[] counts = new int[dayCount];
+        for (int row = 0; row < columns.size; row++) {
+            int first = Math.max(columns.startDays[row], startDay);
+            int last = Math.min(columns.endDays[row], endDay);
+            for (int day = first; day <= last; day++) {
+                counts[day - startDay]++;
+            }
+        }
+
+        int[][] rows = new int[dayCount][];
+        int[][] multiTypes = new int[dayCount][];
+        for (int i = 0; i < dayCount; i++) {
+            rows[i] = new int[counts[i]];
+            multiTypes[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+
+        // 按查询顺序填入每天的行号, 保持(allDay, begin)排序
+        for (int row = 0; row < columns.size; row++) {
+            int eventStartDay = columns.startDays[row];
+            int eventEndDay = columns.endDays[row];
+            int first = Math.max(eventStartDay, startDay);
+            int last = Math.min(eventEndDay, endDay);
+            for (int day = first; day <= last; day++) {
+                int i = day - startDay;
+                rows[i][counts[i]] = row;
+                multiTypes[i][counts[i]] = getMultiType(eventStartDay, eventEndDay, day);
+                counts[i]++;
+            }
+        }
+
+        mDays = new EventBlock[dayCount];
+        for (int i = 0; i < dayCount; i++) {
+            mDays[i] = new EventBlock(columns, rows[i], multiTypes[i]);
+        }
+    }
+
+    public int getStartDay() {
+        return mStartDay;
+    }
+
+    public int getEndDay() {
+        return mEndDay;
+    }
+
+    public boolean contains(int julianDay) {
+        return julianDay >= mStartDay && julianDay <= mEndDay;
+    }
+
+    /**
+     * @return 指定天的事件, 不在范围内时返回{@link EventBlock#EMPTY}
+     */
+    public EventBlock getDay(int julianDay) {
+        if (!contains(julianDay)) {
+            return EventBlock.EMPTY;
+        }
+        return mDays[julianDay - mStartDay];
+    }
+
+    static int getMultiType(int eventStartDay, int eventEndDay, int day) {
+        if (eventStartDay == eventEndDay) {
+            return Event.MULTI_NONE;
+        }
+        if (eventStartDay == day) {
+            return Event.MULTI_START;
+        } else if (eventEndDay == day) {
+            return Event.MULTI_END;
+        }
+        return Event.MULTI_MIDDLE;
+    }
+}
@@ -1,81 +1,72 @@
 package com.sven.sjcalendar.hotspots.schedule;
 
 import android.content.Context;
-import android.os.Handler;
-import android.os.Looper;
-import android.os.Message;
+import android.net.Uri;
 import android.support.v7.widget.RecyclerView;
+import android.text.TextUtils;
 import android.text.format.DateUtils;
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
-import com.alibaba.android.vlayout.DelegateAdapter;
 import com.alibaba.android.vlayout.LayoutHelper;
 import com.alibaba.android.vlayout.layout.LinearLayoutHelper;
-import com.sven.dateview.TimeCalendar;
+import com.sven.sjcalendar.AsyncQueryScheduler;
 import com.sven.sjcalendar.R;
 import com.sven.sjcalendar.Utils;
+import com.sven.sjcalendar.data.QueryCache;
+import com.sven.sjcalendar.hotspots.CardType;
+import com.sven.sjcalendar.hotspots.HotspotsAdapter;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import io.reactivex.disposables.CompositeDisposable;
 import timber.log.Timber;
 
 /**
  * Adapter for scheduler card
+ * 直接绑定列式的{@link EventBlock}, 点击事件展开时才加载描述, 数据库变化时重新加载已展开事件的描述
  * Created by Sven.J on 18-5-9.
  */
-@SuppressWarnings("unchecked")
-public class SchedulerAdapter extends DelegateAdapter.Adapter<SchedulerAdapter.EventViewHolder> {
+public class SchedulerAdapter extends HotspotsAdapter<SchedulerAdapter.EventViewHolder, EventBlock> {
 
-    private List<Event> mEvents;
+    private static final String NO_TITLE = "(无标题)";
 
-    public SchedulerAdapter(List<Event> events) {
-        mEvents = events;
+    private EventBlock mEvents;
 
+    // 展开的事件下标
+    private final SparseBooleanArray mExpanded = new SparseBooleanArray();
 
-        final Handler handler = new Handler(Looper.getMainLooper(), new Handler.Callback() {
-            @Override
-            public boolean handleMessage(Message msg) {
-                mEvents = (List<Event>) msg.obj;
-                Timber.d("handle events changed...");
-                notifyDataSetChanged();
-                return true;
+    // 已加载的描述, key为事件下标, 没有描述时为空字符串
+    private final SparseArray<String> mDescriptions = new SparseArray<>();
+
+    private final CompositeDisposable mDescriptionLoaders = new CompositeDisposable();
+
+    private Context mContext;
+    private QueryCache mQueryCache;
+
+    // 描述不在卡片摘要中, 数据库变化时查询缓存已清除, 重新加载展开的描述
+    private final QueryCache.OnChangeListener mChangeListener = new QueryCache.OnChangeListener() {
+        @Override
+        public void onChange(Uri uri, int startDay, int endDay) {
+            mDescriptions.clear();
+            mDescriptionLoaders.clear();
+            for (int i = 0; i < mExpanded.size(); i++) {
+                if (mExpanded.valueAt(i)) {
+                    loadDescription(mContext, mExpanded.keyAt(i));
+                }
             }
-        });
+        }
+    };
 
-//        new Thread() {
-//            @Override
-//            public void run() {
-//                try {
-//                    Thread.sleep(5000);
-//                } catch (Exception e) {
-//                    e.printStackTrace();
-//                }
-//
-//                ArrayList<Event> events = new ArrayList<>(mEvents);
-//                TimeCalendar time = TimeCalendar.getInstance();
-//
-//                for (int i = 0; i < 15; i ++) {
-//                    Event event = new Event();
-//                    event.title = "异步刷新增加的事件, " + i;
-//                    event.description = "异步刷新增加事件";
-//                    event.startMillis = time.getTimeInMillis();
-//                    event.endMillis = time.getTimeInMillis() + 3600 * 1000;
-//                    event.startDay = time.getJulianDay();
-//                    event.endDay = time.getJulianDay();
-//
-//                    events.add(event);
-//                }
-//
-//                Message message = handler.obtainMessage();
-//                //events.clear();
-//                message.obj = events;
-//                message.sendToTarget();
-//            }
-//        }.start();
+    @Override
+    public void setData(EventBlock events) {
+        mEvents = events;
+        mExpanded.clear();
+        mDescriptions.clear();
+        mDescriptionLoaders.clear();
+        notifyDataSetChanged();
     }
 
     @Override
@@ -85,23 +76,36 @@ public class SchedulerAdapter extends DelegateAdapter.Adapter<SchedulerAdapter.E
 
     @Override
     public EventViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
-        return EventViewHolder.create(parent.getContext(), parent);
+        final EventViewHolder holder = EventViewHolder.create(parent.getContext(), parent);
+        holder.itemView.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+                // getAdapterPosition是在DelegateAdapter中的位置, 使用绑定时的下标
+                toggleExpanded(v.getContext(), holder.index);
+            }
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(EventViewHolder holder, int position) {
-        holder.bindView(mEvents.get(position));
+        holder.bindView(mEvents, position, mExpanded.get(position) ? mDescriptions.get(position) : null);
     }
 
     @Override
     public void onAttachedToRecyclerView(RecyclerView recyclerView) {
         super.onAttachedToRecyclerView(recyclerView);
         Timber.d("onAttachedToRecyclerView");
+        mContext = recyclerView.getContext().getApplicationContext();
+        mQueryCache = QueryCache.getInstance(mContext);
+        mQueryCache.addOnChangeListener(mChangeListener);
     }
 
     @Override
     public void onDetachedFromRecyclerView(RecyclerView recyclerView) {
         super.onDetachedFromRecyclerView(recyclerView);
+        mQueryCache.removeOnChangeListener(mChangeListener);
+        mDescriptionLoaders.clear();
     }
 
     @Override
@@ -111,7 +115,40 @@ public class SchedulerAdapter extends DelegateAdapter.Adapter<SchedulerAdapter.E
 
     @Override
     public int getItemViewType(int position) {
-        return 1;
+        return CardType.SCHEDULE_EVENT;
+    }
+
+    private void toggleExpanded(Context context, final int position) {
+        if (position < 0 || mEvents == null || position >= mEvents.size()) {
+            return;
+        }
+
+        boolean expanded = !mExpanded.get(position);
+        mExpanded.put(position, expanded);
+        notifyItemChanged(position);
+
+        if (expanded && mDescriptions.get(position) == null) {
+            loadDescription(context, position);
+        }
+    }
+
+    private void loadDescription(Context context, final int position) {
+        final EventBlock events = mEvents;
+        mDescriptionLoaders.add(EventLoader.startDescriptionQuery(context, events.getEventId(position),
+                new AsyncQueryScheduler.OperationCallback() {
+                    @Override
+                    public void onSuccess(int token, Object result) {
+                        if (events == mEvents && result != null) {
+                            mDescriptions.put(position, (String) result);
+                            notifyItemChanged(position);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        Timber.e(e, "Load description failed");
+                    }
+                }));
     }
 
     static class EventViewHolder extends RecyclerView.ViewHolder {
@@ -123,18 +160,36 @@ public class SchedulerAdapter extends DelegateAdapter.Adapter<SchedulerAdapter.E
 
         private TextView title;
         private TextView time;
+        private TextView description;
+
+        // 绑定的事件在EventBlock中的下标
+        int index = -1;
 
         EventViewHolder(View itemView) {
             super(itemView);
 
             title = itemView.findViewById(R.id.title);
             time = itemView.findViewById(R.id.time);
+            description = itemView.findViewById(R.id.description);
         }
 
-        void bindView(Event event) {
-            title.setText(event.title);
+        /**
+         * @param description 展开时已加载的描述, 未展开或未加载时为null
+         */
+        void bindView(EventBlock events, int index, String description) {
+            this.index = index;
+            String text = events.getTitle(index);
+            title.setText(text == null || TextUtils.getTrimmedLength(text) == 0 ? NO_TITLE : text);
             int flags = DateUtils.FORMAT_ABBREV_ALL | DateUtils.FORMAT_SHOW_DATE | DateUtils.FORMAT_SHOW_TIME;
-            time.setText(Utils.formatDateRange(time.getContext(), event.startMillis, event.endMillis, flags));
+            time.setText(Utils.formatDateRange(time.getContext(), events.getBegin(index),
+                    events.getEnd(index), flags));
+
+            if (!TextUtils.isEmpty(description)) {
+                this.description.setText(description);
+                this.description.setVisibility(View.VISIBLE);
+            } else {
+                this.description.setVisibility(View.GONE);
+            }
         }
     }
 }
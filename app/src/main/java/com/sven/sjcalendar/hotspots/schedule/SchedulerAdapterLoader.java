@@ -1,39 +1,109 @@
 package com.sven.sjcalendar.hotspots.schedule;
 
 import android.content.Context;
+import android.util.SparseArray;
+import android.util.SparseIntArray;
 
+import com.sven.dateview.TimeCalendar;
 import com.sven.sjcalendar.hotspots.AdapterInfo;
 import com.sven.sjcalendar.hotspots.AdapterLoader;
+import com.sven.sjcalendar.hotspots.AdapterOrder;
+import com.sven.sjcalendar.hotspots.HotspotsAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import io.reactivex.Observable;
 import io.reactivex.ObservableEmitter;
 import io.reactivex.ObservableOnSubscribe;
 
-/**
- * TODO register events changed observer
- */
 public class SchedulerAdapterLoader implements AdapterLoader {
+    private static final long DEADLINE = 2000;
+
     private Context context;
-    private int day;
+    private int weekStart;
 
-    public SchedulerAdapterLoader(Context context, int day) {
+    /**
+     * @param weekStart 一周的第一天, 与周视图一致, 一次加载一整周的事件
+     */
+    public SchedulerAdapterLoader(Context context, int weekStart) {
         this.context = context;
-        this.day = day;
+        this.weekStart = weekStart;
+    }
+
+    @Override
+    public int getOrder() {
+        return AdapterOrder.SCHEDULE;
     }
 
     @Override
-    public Observable<AdapterInfo> getAdapterInfo() {
+    public long getDeadline() {
+        return DEADLINE;
+    }
+
+    @Override
+    public Observable<AdapterInfo> getAdapterInfo(final int julianDay) {
         return Observable.create(new ObservableOnSubscribe<AdapterInfo>() {
             @Override
             public void subscribe(ObservableEmitter<AdapterInfo> emitter) throws Exception {
-                AdapterInfo info = new AdapterInfo();
-                info.mOrder = 0;
-                info.mAdapter = new SchedulerAdapter(EventLoader.loadEvents(context, day));
-
-                emitter.onNext(info);
+                // 先返回请求的那一天, 再返回同一周的其他天, 由缓存一起保存
+                int firstDay = getFirstDayOfWeek(julianDay);
+                EventRange range = EventLoader.loadEventRange(context, firstDay, firstDay + 6);
+                emitter.onNext(createInfo(julianDay, range.getDay(julianDay)));
+                for (int day = range.getStartDay(); day <= range.getEndDay(); day++) {
+                    if (day != julianDay) {
+                        emitter.onNext(createInfo(day, range.getDay(day)));
+                    }
+                }
                 emitter.onComplete();
             }
 
         });
     }
+
+    private AdapterInfo createInfo(int julianDay, EventBlock block) {
+        AdapterInfo info = new AdapterInfo();
+        info.mOrder = AdapterOrder.SCHEDULE;
+        info.mJulianDay = julianDay;
+        info.mData = block;
+        return info;
+    }
+
+    private int getFirstDayOfWeek(int julianDay) {
+        int diff = TimeCalendar.THURSDAY - weekStart;
+        if (diff < 0) {
+            diff += 7;
+        }
+        int week = TimeCalendar.getWeeksSinceEpochJulianDay(julianDay, weekStart);
+        return TimeCalendar.EPOCH_JULIAN_DAY - diff + week * 7;
+    }
+
+    @Override
+    public HotspotsAdapter createAdapter() {
+        return new SchedulerAdapter();
+    }
+
+    @Override
+    public List<Integer> findChangedDays(SparseArray<Object> cachedData) {
+        List<Integer> changedDays = new ArrayList<>();
+        // key按升序排列, 每段连续的天查询一次事件摘要, 不查询中间没有缓存的天
+        int runStart = 0;
+        for (int i = 1; i <= cachedData.size(); i++) {
+            if (i < cachedData.size() && cachedData.keyAt(i) == cachedData.keyAt(i - 1) + 1) {
+                continue;
+            }
+            SparseIntArray digests = EventLoader.loadEventDigests(context,
+                    cachedData.keyAt(runStart), cachedData.keyAt(i - 1));
+            if (digests != null) {
+                for (int j = runStart; j < i; j++) {
+                    EventBlock block = (EventBlock) cachedData.valueAt(j);
+                    if (block.digest() != digests.get(cachedData.keyAt(j))) {
+                        changedDays.add(cachedData.keyAt(j));
+                    }
+                }
+            }
+            runStart = i;
+        }
+        return changedDays;
+    }
 }
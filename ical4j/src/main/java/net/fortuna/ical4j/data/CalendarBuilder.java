@@ -77,6 +77,8 @@ public class CalendarBuilder {
 
     private List<Property> datesMissingTimezones;
 
+    private boolean lazyValues;
+
     /**
      * The calendar instance created by the builder.
      */
@@ -152,6 +154,26 @@ public class CalendarBuilder {
                 propertyFactoryRegistry, parameterFactoryRegistry);
     }
 
+    /**
+     * Enables or disables lazy parsing of property values. When enabled, properties implementing
+     * {@link LazyValue} (date, date list and recurrence properties) keep the value text and parse it on first
+     * access, so values that are never used are never parsed, and values referencing a timezone defined later
+     * in the stream are parsed once instead of twice. Errors in such values are then reported by the typed
+     * accessors as a {@link CalendarException} rather than by the builder.
+     *
+     * @param lazyValues true to defer parsing of property values
+     */
+    public final void setLazyValues(boolean lazyValues) {
+        this.lazyValues = lazyValues;
+    }
+
+    /**
+     * @return true if property values are parsed on first access
+     */
+    public final boolean isLazyValues() {
+        return lazyValues;
+    }
+
     /**
      * Builds an iCalendar model from the specified input stream.
      *
@@ -295,6 +317,8 @@ public class CalendarBuilder {
 
             if (property instanceof Escapable) {
                 property.setValue(Strings.unescape(value));
+            } else if (lazyValues && property instanceof LazyValue) {
+                ((LazyValue) property).setLazyValue(value);
             } else {
                 property.setValue(value);
             }
@@ -397,7 +421,11 @@ public class CalendarBuilder {
 
                 // Reset value
                 try {
-                    property.setValue(strDate);
+                    if (lazyValues && property instanceof LazyValue) {
+                        ((LazyValue) property).setLazyValue(strDate);
+                    } else {
+                        property.setValue(strDate);
+                    }
                 } catch (ParseException e) {
                     // shouldn't happen as its already been parsed
                     throw new CalendarException(e);
@@ -0,0 +1,553 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.data;
+
+import net.fortuna.ical4j.model.*;
+import net.fortuna.ical4j.model.component.*;
+import net.fortuna.ical4j.model.parameter.TzId;
+import net.fortuna.ical4j.model.property.DateListProperty;
+import net.fortuna.ical4j.model.property.DateProperty;
+import net.fortuna.ical4j.model.property.XProperty;
+import net.fortuna.ical4j.util.Constants;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * $Id$
+ *
+ * Reads and writes a compact binary snapshot of an iCalendar model, such that a calendar previously parsed with a
+ * {@link CalendarBuilder} may be restored without parsing it again. A restored calendar produces the same output as
+ * the original when written with a {@link CalendarOutputter}.
+ *
+ * Names and values are written once to a string table and referenced by index, DATE and DATE-TIME values in UTC or
+ * a known timezone are written as epoch milliseconds, and VTIMEZONE components equal to the definition included
+ * with the library (see {@link TimeZoneRegistryImpl#getDefaultTimeZone(String)}) are written as a reference to the
+ * TZID. Other timezones, including those registered from a calendar, are always written in full. Other property
+ * values are restored lazily where the property supports it.
+ *
+ * A snapshot is intended as a cache of parsed data, and should be read with the same timezone registry and
+ * configuration with which it was written. Where a snapshot cannot be read the original data should be parsed
+ * instead.
+ */
+public class CalendarSnapshotCodec {
+
+    private static final int MAGIC = 0x49435331;
+
+    private static final int VERSION = 1;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    // strings longer than this are read in chunks, such that a corrupt length fails at the end of the stream
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int COMPONENT = 0;
+
+    private static final int TIMEZONE_REFERENCE = 1;
+
+    private static final int VALUE_TEXT = 0;
+
+    private static final int VALUE_DATE = 1;
+
+    private static final int VALUE_DATE_TIME_UTC = 2;
+
+    private static final int VALUE_DATE_TIME_ZONED = 3;
+
+    private final ComponentFactoryImpl componentFactory;
+
+    private final PropertyFactoryRegistry propertyFactory;
+
+    private final ParameterFactoryRegistry parameterFactory;
+
+    private final TimeZoneRegistry tzRegistry;
+
+    /**
+     * Constructs a new instance using the default timezone registry.
+     */
+    public CalendarSnapshotCodec() {
+        this(TimeZoneRegistryFactory.getInstance().createRegistry());
+    }
+
+    /**
+     * @param tzRegistry a timezone registry used to resolve timezones, and to which timezones found in a snapshot
+     *                   are registered
+     */
+    public CalendarSnapshotCodec(final TimeZoneRegistry tzRegistry) {
+        this(new PropertyFactoryRegistry(), new ParameterFactoryRegistry(), tzRegistry);
+    }
+
+    /**
+     * @param propertyFactoryRegistry  registry for non-standard property factories
+     * @param parameterFactoryRegistry registry for non-standard parameter factories
+     * @param tzRegistry               a timezone registry
+     */
+    public CalendarSnapshotCodec(PropertyFactoryRegistry propertyFactoryRegistry,
+                                 ParameterFactoryRegistry parameterFactoryRegistry, TimeZoneRegistry tzRegistry) {
+        this.componentFactory = new ComponentFactoryImpl();
+        this.propertyFactory = propertyFactoryRegistry;
+        this.parameterFactory = parameterFactoryRegistry;
+        this.tzRegistry = tzRegistry;
+    }
+
+    /**
+     * Writes a snapshot of the specified calendar.
+     *
+     * @param calendar a calendar
+     * @param out      the stream to write the snapshot to
+     * @throws IOException where an error occurs writing to the stream
+     */
+    public final void write(final Calendar calendar, final OutputStream out) throws IOException {
+        final SnapshotWriter writer = new SnapshotWriter(new DataOutputStream(new BufferedOutputStream(out)));
+        writer.out.writeInt(MAGIC);
+        writer.out.writeByte(VERSION);
+        writer.writeProperties(calendar.getProperties());
+        writer.writeComponents(calendar.getComponents());
+        writer.out.flush();
+    }
+
+    /**
+     * Restores a calendar from a snapshot.
+     *
+     * @param in the stream to read the snapshot from
+     * @return the calendar restored from the snapshot
+     * @throws IOException where an error occurs reading from the stream, or the snapshot cannot be restored
+     */
+    public final Calendar read(final InputStream in) throws IOException {
+        final SnapshotReader reader = new SnapshotReader(new DataInputStream(new BufferedInputStream(in)));
+        if (reader.in.readInt() != MAGIC || reader.in.readUnsignedByte() != VERSION) {
+            throw new IOException("Unsupported snapshot format");
+        }
+        try {
+            final Calendar calendar = new Calendar();
+            reader.readProperties(calendar.getProperties());
+            final int count = reader.readCount();
+            for (int i = 0; i < count; i++) {
+                final Component component = reader.readComponent();
+                if (!(component instanceof CalendarComponent)) {
+                    throw new IOException("Invalid calendar component [" + component.getName() + "]");
+                }
+                calendar.getComponents().add((CalendarComponent) component);
+                if (component instanceof VTimeZone) {
+                    // register the timezone for use with subsequent components..
+                    tzRegistry.register(new TimeZone((VTimeZone) component));
+                }
+            }
+            reader.resolveTimezones();
+            return calendar;
+        } catch (ParseException e) {
+            throw new IOException("Invalid snapshot value", e);
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid snapshot value", e);
+        } catch (RuntimeException e) {
+            // a corrupt snapshot may name the wrong type of component, property or parameter..
+            throw new IOException("Invalid snapshot", e);
+        }
+    }
+
+    /**
+     * Returns the timezone definition included with the library, which is written to a snapshot as a reference to
+     * its TZID where a calendar contains an identical VTIMEZONE.
+     *
+     * @param id a timezone identifier
+     * @return the included definition, or null if there is none or the registry does not provide them
+     */
+    protected TimeZone getDefaultTimeZone(final String id) {
+        if (tzRegistry instanceof TimeZoneRegistryImpl) {
+            return ((TimeZoneRegistryImpl) tzRegistry).getDefaultTimeZone(id);
+        }
+        return null;
+    }
+
+    private static List<? extends Component> getSubComponents(final Component component) {
+        if (component instanceof VTimeZone) {
+            return ((VTimeZone) component).getObservances();
+        } else if (component instanceof VEvent) {
+            return ((VEvent) component).getAlarms();
+        } else if (component instanceof VToDo) {
+            return ((VToDo) component).getAlarms();
+        } else if (component instanceof VAvailability) {
+            return ((VAvailability) component).getAvailable();
+        }
+        return null;
+    }
+
+    private class SnapshotWriter {
+
+        private final DataOutputStream out;
+
+        private final Map<String, Integer> strings = new HashMap<String, Integer>();
+
+        private SnapshotWriter(final DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void writeComponents(final List<? extends Component> components) throws IOException {
+            writeVarInt(components.size());
+            for (final Component component : components) {
+                if (component instanceof VTimeZone && isIncluded((VTimeZone) component)) {
+                    out.writeByte(TIMEZONE_REFERENCE);
+                    writeString(((VTimeZone) component).getTimeZoneId().getValue());
+                    continue;
+                }
+                out.writeByte(COMPONENT);
+                writeString(component.getName());
+                writeProperties(component.getProperties());
+                final List<? extends Component> subComponents = getSubComponents(component);
+                if (subComponents != null) {
+                    writeComponents(subComponents);
+                } else {
+                    writeVarInt(0);
+                }
+            }
+        }
+
+        /**
+         * @return true if the timezone is unchanged from the definition included with the library, such that it may
+         * be restored from the TZID alone
+         */
+        private boolean isIncluded(final VTimeZone vTimeZone) {
+            if (vTimeZone.getTimeZoneId() == null) {
+                return false;
+            }
+            final TimeZone timezone = getDefaultTimeZone(vTimeZone.getTimeZoneId().getValue());
+            return timezone != null && timezone.getVTimeZone().fingerprint() == vTimeZone.fingerprint()
+                    && timezone.getVTimeZone().equals(vTimeZone);
+        }
+
+        private void writeProperties(final PropertyList<? extends Property> properties) throws IOException {
+            writeVarInt(properties.size());
+            for (final Property property : properties) {
+                writeString(property.getName());
+                writeVarInt(property.getParameters().size());
+                for (final Iterator<Parameter> i = property.getParameters().iterator(); i.hasNext(); ) {
+                    final Parameter parameter = i.next();
+                    writeString(parameter.getName());
+                    writeString(parameter.getValue());
+                }
+
+                final Date date = property instanceof DateProperty ? ((DateProperty) property).getDate() : null;
+                if (date instanceof DateTime && ((DateTime) date).isUtc()) {
+                    out.writeByte(VALUE_DATE_TIME_UTC);
+                    writeVarLong(date.getTime());
+                } else if (date instanceof DateTime && ((DateProperty) property).getTimeZone() != null
+                        && property.getParameter(Parameter.TZID) != null) {
+                    out.writeByte(VALUE_DATE_TIME_ZONED);
+                    writeVarLong(date.getTime());
+                } else if (date != null && !(date instanceof DateTime)) {
+                    out.writeByte(VALUE_DATE);
+                    writeVarLong(date.getTime());
+                } else {
+                    // floating times depend on the default timezone, so are kept as text
+                    out.writeByte(VALUE_TEXT);
+                    writeString(property.getValue());
+                }
+            }
+        }
+
+        private void writeString(final String value) throws IOException {
+            if (value == null) {
+                writeVarInt(0);
+                return;
+            }
+            final Integer index = strings.get(value);
+            if (index != null) {
+                writeVarInt(index);
+                return;
+            }
+            // a new string is written following the next unused index
+            strings.put(value, strings.size() + 1);
+            writeVarInt(strings.size());
+            final byte[] bytes = value.getBytes(UTF_8);
+            writeVarInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private void writeVarInt(final int value) throws IOException {
+            writeVarLong(value);
+        }
+
+        private void writeVarLong(final long value) throws IOException {
+            // zig-zag encoding keeps small negative values (dates before 1970) short
+            long v = (value << 1) ^ (value >> 63);
+            while ((v & ~0x7FL) != 0) {
+                out.writeByte((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            out.writeByte((int) v);
+        }
+    }
+
+    private class SnapshotReader {
+
+        private final DataInputStream in;
+
+        private final List<String> strings = new ArrayList<String>();
+
+        // date-time values with a TZID not yet registered, which may be defined by a later VTIMEZONE
+        private final List<Object[]> datesMissingTimezones = new ArrayList<Object[]>();
+
+        private final List<Property> valuesMissingTimezones = new ArrayList<Property>();
+
+        private SnapshotReader(final DataInputStream in) {
+            this.in = in;
+        }
+
+        private Component readComponent() throws IOException, ParseException, URISyntaxException {
+            final int type = in.readUnsignedByte();
+            if (type == TIMEZONE_REFERENCE) {
+                final String tzId = readString();
+                final TimeZone timezone = getDefaultTimeZone(tzId);
+                if (timezone == null) {
+                    throw new IOException("Unknown timezone [" + tzId + "]");
+                }
+                // the calendar gets its own copy, as it would when parsed
+                return timezone.getVTimeZone().copy();
+            } else if (type != COMPONENT) {
+                throw new IOException("Invalid component type [" + type + "]");
+            }
+
+            final Component component = componentFactory.createComponent(readString());
+            readProperties(component.getProperties());
+            final int count = readCount();
+            for (int i = 0; i < count; i++) {
+                final Component subComponent = readComponent();
+                if (component instanceof VTimeZone) {
+                    ((VTimeZone) component).getObservances().add((Observance) subComponent);
+                } else if (component instanceof VEvent) {
+                    ((VEvent) component).getAlarms().add((VAlarm) subComponent);
+                } else if (component instanceof VToDo) {
+                    ((VToDo) component).getAlarms().add((VAlarm) subComponent);
+                } else if (component instanceof VAvailability) {
+                    ((VAvailability) component).getAvailable().add((Available) subComponent);
+                }
+            }
+            return component;
+        }
+
+        private void readProperties(final PropertyList<Property> properties)
+                throws IOException, ParseException, URISyntaxException {
+
+            final int count = readCount();
+            for (int i = 0; i < count; i++) {
+                final Property property = propertyFactory.createProperty(readString());
+                final int parameterCount = readCount();
+                final List<Parameter> parameters = new ArrayList<Parameter>();
+                for (int j = 0; j < parameterCount; j++) {
+                    parameters.add(parameterFactory.createParameter(readString(), readString()));
+                }
+
+                final int type = in.readUnsignedByte();
+                if (type == VALUE_TEXT) {
+                    readValue(property, parameters, readString());
+                } else {
+                    final long time = readVarLong();
+                    if (type == VALUE_DATE) {
+                        setDate((DateProperty) property, new Date(time), parameters);
+                    } else if (type == VALUE_DATE_TIME_UTC) {
+                        final DateTime dateTime = new DateTime(time);
+                        dateTime.setUtc(true);
+                        setDate((DateProperty) property, dateTime, parameters);
+                    } else if (type == VALUE_DATE_TIME_ZONED) {
+                        final String tzId = findTzId(parameters);
+                        final TimeZone timezone = tzRegistry.getTimeZone(tzId);
+                        if (timezone != null) {
+                            setDate((DateProperty) property, new DateTime(time), timezone, parameters);
+                        } else {
+                            datesMissingTimezones.add(new Object[] {property, time, tzId, parameters});
+                        }
+                    } else {
+                        throw new IOException("Invalid value type [" + type + "]");
+                    }
+                }
+                properties.add(Constants.forProperty(property));
+            }
+        }
+
+        private String findTzId(final List<Parameter> parameters) {
+            for (final Parameter parameter : parameters) {
+                if (parameter instanceof TzId) {
+                    return parameter.getValue();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Restores a value from text in the same way as {@link CalendarBuilder}, except that values are not unescaped
+         * as they are written unescaped.
+         */
+        private void readValue(final Property property, final List<Parameter> parameters, final String value)
+                throws IOException, ParseException, URISyntaxException {
+
+            for (final Parameter parameter : parameters) {
+                property.getParameters().add(parameter);
+                if (parameter instanceof TzId && !(property instanceof XProperty)
+                        && (property instanceof DateProperty || property instanceof DateListProperty)) {
+                    final TimeZone timezone = tzRegistry.getTimeZone(parameter.getValue());
+                    if (timezone != null) {
+                        setTimeZone(property, timezone);
+                    } else {
+                        valuesMissingTimezones.add(property);
+                    }
+                }
+            }
+            if (value != null) {
+                if (property instanceof LazyValue && !(property instanceof Escapable)) {
+                    ((LazyValue) property).setLazyValue(value);
+                } else {
+                    property.setValue(value);
+                }
+            }
+        }
+
+        private void setDate(final DateProperty property, final DateTime dateTime, final TimeZone timezone,
+                             final List<Parameter> parameters) {
+            dateTime.setTimeZone(timezone);
+            setDate(property, dateTime, parameters);
+        }
+
+        /**
+         * Sets the date of a property and then restores the parameters as written, as setting the date adds or
+         * replaces VALUE and TZID parameters.
+         */
+        private void setDate(final DateProperty property, final Date date, final List<Parameter> parameters) {
+            property.setDate(date);
+            final ParameterList current = property.getParameters();
+            for (final Iterator<Parameter> i = current.iterator(); i.hasNext(); ) {
+                current.remove(i.next());
+            }
+            for (final Parameter parameter : parameters) {
+                current.add(parameter);
+            }
+        }
+
+        private void setTimeZone(final Property property, final TimeZone timezone) {
+            if (property instanceof DateProperty) {
+                ((DateProperty) property).setTimeZone(timezone);
+            } else {
+                ((DateListProperty) property).setTimeZone(timezone);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void resolveTimezones() throws IOException, ParseException, URISyntaxException {
+            for (final Object[] pending : datesMissingTimezones) {
+                final TimeZone timezone = tzRegistry.getTimeZone((String) pending[2]);
+                if (timezone == null) {
+                    throw new IOException("Unknown timezone [" + pending[2] + "]");
+                }
+                setDate((DateProperty) pending[0], new DateTime((Long) pending[1]), timezone,
+                        (List<Parameter>) pending[3]);
+            }
+            for (final Property property : valuesMissingTimezones) {
+                final TimeZone timezone = tzRegistry.getTimeZone(property.getParameter(Parameter.TZID).getValue());
+                if (timezone != null) {
+                    final String value = property.getValue();
+                    setTimeZone(property, timezone);
+                    if (property instanceof LazyValue) {
+                        ((LazyValue) property).setLazyValue(value);
+                    } else {
+                        property.setValue(value);
+                    }
+                }
+            }
+        }
+
+        private int readCount() throws IOException {
+            final long count = readVarLong();
+            if (count < 0 || count > Integer.MAX_VALUE) {
+                throw new IOException("Invalid snapshot count");
+            }
+            return (int) count;
+        }
+
+        private String readString() throws IOException {
+            final int index = readCount();
+            if (index == 0) {
+                return null;
+            } else if (index <= strings.size()) {
+                return strings.get(index - 1);
+            } else if (index != strings.size() + 1) {
+                throw new IOException("Invalid string reference [" + index + "]");
+            }
+            final String value = new String(readBytes(readCount()), UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        private byte[] readBytes(final int length) throws IOException {
+            if (length <= BUFFER_SIZE) {
+                final byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                return bytes;
+            }
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            for (int remaining = length; remaining > 0; ) {
+                final int read = in.read(buffer, 0, Math.min(remaining, buffer.length));
+                if (read < 0) {
+                    throw new EOFException("Truncated snapshot string");
+                }
+                bytes.write(buffer, 0, read);
+                remaining -= read;
+            }
+            return bytes.toByteArray();
+        }
+
+        private long readVarLong() throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final int b = in.readUnsignedByte();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (v >>> 1) ^ -(v & 1);
+                }
+            }
+            throw new IOException("Invalid snapshot varint");
+        }
+    }
+}
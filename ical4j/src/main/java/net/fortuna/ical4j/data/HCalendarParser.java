@@ -145,9 +145,7 @@ public class HCalendarParser implements CalendarParser {
     private static final XPathExpression XPATH_SEQUENCE;
     private static final XPathExpression XPATH_ATTACH;
     private static final String HCAL_DATE_PATTERN = "yyyy-MM-dd";
-    private static final SimpleDateFormat HCAL_DATE_FORMAT = new SimpleDateFormat(HCAL_DATE_PATTERN);
     private static final String HCAL_DATE_TIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ssz";
-    private static final SimpleDateFormat HCAL_DATE_TIME_FORMAT = new SimpleDateFormat(HCAL_DATE_TIME_PATTERN);
 
     static {
         BUILDER_FACTORY.setNamespaceAware(true);
@@ -213,8 +211,11 @@ public class HCalendarParser implements CalendarParser {
     }
 
     private static NodeList findNodes(XPathExpression expr, Object context) throws ParserException {
+        // XPathExpression is not thread-safe, so evaluation is serialised per expression
         try {
-            return (NodeList) expr.evaluate(context, XPathConstants.NODESET);
+            synchronized (expr) {
+                return (NodeList) expr.evaluate(context, XPathConstants.NODESET);
+            }
         } catch (XPathException e) {
             throw new ParserException("Unable to find nodes", -1, e);
         }
@@ -222,7 +223,9 @@ public class HCalendarParser implements CalendarParser {
 
     private static Node findNode(XPathExpression expr, Object context) throws ParserException {
         try {
-            return (Node) expr.evaluate(context, XPathConstants.NODE);
+            synchronized (expr) {
+                return (Node) expr.evaluate(context, XPathConstants.NODE);
+            }
         } catch (XPathException e) {
             throw new ParserException("Unable to find node", -1, e);
         }
@@ -399,12 +402,28 @@ public class HCalendarParser implements CalendarParser {
             }
         }
 
+        String lang = isTextProperty(propName) ? element.getAttributeNS(XMLConstants.XML_NS_URI, "lang") : null;
+        buildProperty(propName, value, lang, handler);
+    }
+
+    /**
+     * Reports a property whose value has been resolved from its element, converting hCalendar dates to iCalendar
+     * format.
+     * @param propName the property name
+     * @param value the property value, properties with an empty value are skipped
+     * @param lang the xml:lang of the element for text properties, may be null
+     * @param handler the handler to notify
+     * @throws ParserException where the value is not valid for the property
+     */
+    static void buildProperty(String propName, String value, String lang, ContentHandler handler)
+            throws ParserException {
         if (TextUtils.isEmpty(value)) {
             if (LOG.isDebugEnabled())
                 LOG.debug("Skipping property with empty value");
             return;
         }
 
+        String className = className(propName);
         handler.startProperty(propName);
 
         // if it's a date property, we have to convert from the
@@ -425,7 +444,6 @@ public class HCalendarParser implements CalendarParser {
         }
 
         if (isTextProperty(propName)) {
-            String lang = element.getAttributeNS(XMLConstants.XML_NS_URI, "lang");
             if (!TextUtils.isEmpty(lang))
                 try {
                     handler.parameter(Parameter.LANGUAGE, lang);
@@ -454,33 +472,33 @@ public class HCalendarParser implements CalendarParser {
      * private static String _icalName(Element element) { return element.getAttribute("class").toUpperCase(); }
      */
 
-    private static String className(String propName) {
+    static String className(String propName) {
         return propName.toLowerCase();
     }
 
-    private static boolean isHeaderElement(String name) {
+    static boolean isHeaderElement(String name) {
         return (name.equals("h1") || name.equals("h2") || name.equals("h3")
                 || name.equals("h4") || name.equals("h5") || name
                 .equals("h6"));
     }
 
-    private static boolean isDateProperty(String name) {
+    static boolean isDateProperty(String name) {
         return (name.equals(Property.DTSTART) || name.equals(Property.DTEND) || name.equals(Property.DTSTAMP) || name
                 .equals(Property.LAST_MODIFIED));
     }
 
-    private static boolean isUrlProperty(String name) {
+    static boolean isUrlProperty(String name) {
         return (name.equals(Property.URL));
     }
 
-    private static boolean isTextProperty(String name) {
+    static boolean isTextProperty(String name) {
         return (name.equals(Property.SUMMARY) || name.equals(Property.LOCATION) || name.equals(Property.CATEGORIES)
                 || name.equals(Property.DESCRIPTION) || name.equals(Property.ATTENDEE)
                 || name.equals(Property.CONTACT) || name
                 .equals(Property.ORGANIZER));
     }
 
-    private static Date icalDate(String original) throws ParseException {
+    static Date icalDate(String original) throws ParseException {
         // in the real world, some generators use iCalendar formatted
         // dates and date-times, so try parsing those formats first before
         // going to RFC 3339 formats
@@ -494,7 +512,7 @@ public class HCalendarParser implements CalendarParser {
                     return new Date(original);
             } catch (ParseException e) {
             }
-            return new Date(HCAL_DATE_FORMAT.parse(original));
+            return new Date(new SimpleDateFormat(HCAL_DATE_PATTERN).parse(original));
         }
 
         try {
@@ -524,7 +542,7 @@ public class HCalendarParser implements CalendarParser {
             normalized = original;
         }
 
-        DateTime dt = new DateTime(HCAL_DATE_TIME_FORMAT.parse(normalized));
+        DateTime dt = new DateTime(new SimpleDateFormat(HCAL_DATE_TIME_PATTERN).parse(normalized));
 
         // hCalendar does not specify a representation for timezone ids
         // or any other sort of timezone information. the best it does is
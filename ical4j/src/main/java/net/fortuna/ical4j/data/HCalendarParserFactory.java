@@ -31,8 +31,15 @@
  */
 package net.fortuna.ical4j.data;
 
+import net.fortuna.ical4j.util.Configurator;
+
 /**
- * A parser factory for the hCal microformat.
+ * A parser factory for the hCal microformat. By default a {@link StreamingHCalendarParser} is created, the DOM-based
+ * {@link HCalendarParser} may be selected via the following system property:
+ *
+ * <pre>
+ * net.fortuna.ical4j.parser.hcalendar.dom=true
+ * </pre>
  * 
  * <pre>
  * $Id$
@@ -45,11 +52,21 @@ package net.fortuna.ical4j.data;
  */
 public class HCalendarParserFactory extends CalendarParserFactory {
 
+    /**
+     * The system property used to select the DOM-based {@link HCalendarParser}.
+     */
+    public static final String KEY_DOM_PARSER = "net.fortuna.ical4j.parser.hcalendar.dom";
+
+    private static final boolean DOM_PARSER = "true".equals(Configurator.getProperty(KEY_DOM_PARSER).orElse("false"));
+
     /**
      * {@inheritDoc}
      */
     public CalendarParser createParser() {
-        return new HCalendarParser();
+        if (DOM_PARSER) {
+            return new HCalendarParser();
+        }
+        return new StreamingHCalendarParser();
     }
 
 }
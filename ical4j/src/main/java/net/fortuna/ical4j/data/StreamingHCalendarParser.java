@@ -0,0 +1,414 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.data;
+
+import android.text.TextUtils;
+
+import net.fortuna.ical4j.Logger;
+import net.fortuna.ical4j.LoggerFactory;
+import net.fortuna.ical4j.model.CalendarException;
+import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.Property;
+import net.fortuna.ical4j.model.property.Version;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link CalendarParser} for the hCalendar microformat that reads the document in a single forward pass with SAX,
+ * rather than building a DOM and searching it once per property as {@link HCalendarParser} does.
+ * <p>
+ * The same components, properties and value rules as {@link HCalendarParser} are supported, and each event reports
+ * its properties in the same order. Differences from the DOM parser:
+ * </p>
+ * <ul>
+ * <li>class attributes are matched by whole token (e.g. "url" does not match "curl"), as the microformat specifies</li>
+ * <li>an event is reported when its element (or the outermost enclosing event element) closes, and the "method"
+ * property is reported as soon as its element has been read, so it may follow earlier events</li>
+ * <li>a property element without content is skipped rather than failing</li>
+ * </ul>
+ * <p>
+ * Parser instances hold no parsing state and may be shared between threads.
+ * </p>
+ *
+ * @see HCalendarParserFactory
+ */
+public class StreamingHCalendarParser implements CalendarParser {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StreamingHCalendarParser.class);
+
+    private static final SAXParserFactory PARSER_FACTORY = SAXParserFactory.newInstance();
+
+    private static final String CLASS_VEVENT = "vevent";
+    private static final String CLASS_METHOD = "method";
+
+    /**
+     * Event properties in the order they are reported, with their hCalendar class names.
+     */
+    private static final String[] EVENT_PROPERTIES = {
+            Property.DTSTART, Property.DTEND, Property.DURATION, Property.SUMMARY, Property.UID, Property.DTSTAMP,
+            Property.CATEGORIES, Property.LOCATION, Property.URL, Property.DESCRIPTION, Property.LAST_MODIFIED,
+            Property.STATUS, Property.CLASS, Property.ATTENDEE, Property.CONTACT, Property.ORGANIZER,
+            Property.SEQUENCE, Property.ATTACH
+    };
+
+    private static final Map<String, Integer> PROPERTY_INDEX = new HashMap<String, Integer>();
+
+    static {
+        PARSER_FACTORY.setNamespaceAware(true);
+
+        for (int i = 0; i < EVENT_PROPERTIES.length; i++) {
+            String propName = EVENT_PROPERTIES[i];
+            PROPERTY_INDEX.put(propName.equals(Property.CATEGORIES) ? "category"
+                    : HCalendarParser.className(propName), i);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void parse(InputStream in, ContentHandler handler) throws IOException, ParserException {
+        parse(new InputSource(in), handler);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public void parse(Reader in, ContentHandler handler) throws IOException, ParserException {
+        parse(new InputSource(in), handler);
+    }
+
+    private void parse(InputSource in, ContentHandler handler) throws IOException, ParserException {
+        try {
+            SAXParser parser;
+            // SAXParserFactory is not thread-safe, parsers are created one at a time
+            synchronized (PARSER_FACTORY) {
+                parser = PARSER_FACTORY.newSAXParser();
+            }
+            parser.parse(in, new HCalendarHandler(handler));
+        } catch (ParserConfigurationException e) {
+            throw new CalendarException(e);
+        } catch (SAXException e) {
+            if (e.getException() instanceof ParserException) {
+                throw (ParserException) e.getException();
+            }
+            if (e instanceof SAXParseException) {
+                SAXParseException pe = (SAXParseException) e;
+                throw new ParserException("Could not parse XML", pe.getLineNumber(), e);
+            }
+            throw new ParserException(e.getMessage(), -1, e);
+        }
+    }
+
+    /**
+     * The attributes and leading text of an element marked up as a property.
+     */
+    private static class PropertyElement {
+
+        private final String name;
+
+        private final String title;
+
+        private final String href;
+
+        private final String src;
+
+        private final String alt;
+
+        private final String lang;
+
+        private StringBuilder text;
+
+        private boolean textComplete;
+
+        PropertyElement(String localName, Attributes attributes) {
+            this.name = localName.toLowerCase();
+            this.title = attributes.getValue("title");
+            this.href = attributes.getValue("href");
+            this.src = attributes.getValue("src");
+            this.alt = attributes.getValue("alt");
+            this.lang = attributes.getValue(XMLConstants.XML_NS_URI, "lang");
+        }
+
+        /**
+         * @return the text preceding the first child element, or null if the element has no leading text
+         */
+        String getText() {
+            if (text == null) {
+                return null;
+            }
+            return text.toString().trim().replaceAll("\\s+", " ");
+        }
+
+        String getValue(String propName) throws ParserException {
+            String className = HCalendarParser.className(propName);
+            String value;
+            if (name.equals("abbr")) {
+                value = title;
+                if (TextUtils.isEmpty(value))
+                    throw new ParserException("Abbr element '" + className + "' requires a non-empty title", -1);
+            } else if (HCalendarParser.isHeaderElement(name)) {
+                // try title first. if that's not set, fall back to text content.
+                value = !TextUtils.isEmpty(title) ? title : getText();
+            } else if (name.equals("a") && HCalendarParser.isUrlProperty(propName)) {
+                value = href;
+                if (TextUtils.isEmpty(value))
+                    throw new ParserException("A element '" + className + "' requires a non-empty href", -1);
+            } else if (name.equals("img")) {
+                if (HCalendarParser.isUrlProperty(propName)) {
+                    value = src;
+                    if (TextUtils.isEmpty(value))
+                        throw new ParserException("Img element '" + className + "' requires a non-empty src", -1);
+                } else {
+                    value = alt;
+                    if (TextUtils.isEmpty(value))
+                        throw new ParserException("Img element '" + className + "' requires a non-empty alt", -1);
+                }
+            } else {
+                value = getText();
+            }
+            return value;
+        }
+    }
+
+    /**
+     * The property elements found within an event, indexed as {@link #EVENT_PROPERTIES}.
+     */
+    private static class EventElement {
+
+        private final List<List<PropertyElement>> properties = new ArrayList<List<PropertyElement>>(
+                Collections.<List<PropertyElement>>nCopies(EVENT_PROPERTIES.length, null));
+
+        void add(int index, PropertyElement element) {
+            List<PropertyElement> elements = properties.get(index);
+            if (elements == null) {
+                elements = new ArrayList<PropertyElement>(1);
+                properties.set(index, elements);
+            }
+            String propName = EVENT_PROPERTIES[index];
+            // only categories and attendees may occur more than once, otherwise the first element wins
+            if (elements.isEmpty() || propName.equals(Property.CATEGORIES) || propName.equals(Property.ATTENDEE)) {
+                elements.add(element);
+            }
+        }
+    }
+
+    /**
+     * Per-parse state, tracking the open elements and the events they contribute to.
+     */
+    private static class HCalendarHandler extends DefaultHandler {
+
+        private final ContentHandler handler;
+
+        // property element of each open element, null for other elements
+        private final List<PropertyElement> openElements = new ArrayList<PropertyElement>();
+
+        // event of each open element, null for other elements
+        private final List<EventElement> openEventElements = new ArrayList<EventElement>();
+
+        // currently open events, outermost first
+        private final List<EventElement> openEvents = new ArrayList<EventElement>();
+
+        // events in document order, reported once the outermost event closes
+        private final List<EventElement> events = new ArrayList<EventElement>();
+
+        private PropertyElement method;
+
+        private boolean methodReported;
+
+        HCalendarHandler(ContentHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void startDocument() throws SAXException {
+            if (LOG.isDebugEnabled())
+                LOG.debug("Building calendar");
+
+            handler.startCalendar();
+
+            // no PRODID, as the using application should set that itself
+
+            handler.startProperty(Property.VERSION);
+            try {
+                handler.propertyValue(Version.VERSION_2_0.getValue());
+            } catch (IOException | ParseException | URISyntaxException e) {
+            }
+            handler.endProperty(Property.VERSION);
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            // the text of the parent ends where its first child element starts
+            if (!openElements.isEmpty()) {
+                completeText(openElements.get(openElements.size() - 1));
+            }
+
+            PropertyElement property = null;
+            EventElement event = null;
+            String classes = attributes.getValue("class");
+            if (classes != null) {
+                for (String token : classes.trim().split("\\s+")) {
+                    if (token.equals(CLASS_VEVENT)) {
+                        event = new EventElement();
+                        continue;
+                    }
+
+                    if (token.equals(CLASS_METHOD)) {
+                        if (method == null) {
+                            property = property != null ? property : new PropertyElement(localName, attributes);
+                            method = property;
+                        }
+                        continue;
+                    }
+
+                    Integer index = PROPERTY_INDEX.get(token);
+                    if (index != null && !openEvents.isEmpty()) {
+                        property = property != null ? property : new PropertyElement(localName, attributes);
+                        // a property belongs to every enclosing event
+                        for (EventElement openEvent : openEvents) {
+                            openEvent.add(index, property);
+                        }
+                    }
+                }
+            }
+
+            if (event != null) {
+                openEvents.add(event);
+                events.add(event);
+            }
+            openElements.add(property);
+            openEventElements.add(event);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (openElements.isEmpty()) {
+                return;
+            }
+            PropertyElement property = openElements.get(openElements.size() - 1);
+            if (property != null && !property.textComplete) {
+                if (property.text == null) {
+                    property.text = new StringBuilder(length);
+                }
+                property.text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            PropertyElement property = openElements.remove(openElements.size() - 1);
+            EventElement event = openEventElements.remove(openEventElements.size() - 1);
+            completeText(property);
+
+            if (event != null) {
+                openEvents.remove(openEvents.size() - 1);
+                if (openEvents.isEmpty()) {
+                    try {
+                        for (EventElement e : events) {
+                            buildEvent(e);
+                        }
+                    } catch (ParserException e) {
+                        throw new SAXException(e);
+                    }
+                    events.clear();
+                }
+            }
+        }
+
+        @Override
+        public void endDocument() {
+            // XXX: support other "first class components": vjournal, vtodo,
+            // vfreebusy, vavailability, vvenue
+
+            handler.endCalendar();
+        }
+
+        private void completeText(PropertyElement property) throws SAXException {
+            if (property == null || property.textComplete) {
+                return;
+            }
+            property.textComplete = true;
+
+            if (property == method && !methodReported) {
+                methodReported = true;
+                try {
+                    buildProperty(property, Property.METHOD);
+                } catch (ParserException e) {
+                    throw new SAXException(e);
+                }
+            }
+        }
+
+        private void buildEvent(EventElement event) throws ParserException {
+            if (LOG.isDebugEnabled())
+                LOG.debug("Building event");
+
+            handler.startComponent(Component.VEVENT);
+            for (int i = 0; i < EVENT_PROPERTIES.length; i++) {
+                List<PropertyElement> elements = event.properties.get(i);
+                if (elements != null) {
+                    for (PropertyElement element : elements) {
+                        buildProperty(element, EVENT_PROPERTIES[i]);
+                    }
+                }
+            }
+            handler.endComponent(Component.VEVENT);
+        }
+
+        private void buildProperty(PropertyElement element, String propName) throws ParserException {
+            if (LOG.isDebugEnabled())
+                LOG.debug("Building property " + propName);
+
+            HCalendarParser.buildProperty(propName, element.getValue(propName),
+                    HCalendarParser.isTextProperty(propName) ? element.lang : null, handler);
+        }
+    }
+}
@@ -49,7 +49,6 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URISyntaxException;
 import java.text.ParseException;
-import java.util.List;
 
 /**
  * $Id$ [Apr 5, 2004]
@@ -219,12 +218,21 @@ public class Calendar implements Serializable {
     /**
      * Convenience method for retrieving a list of named components.
      * @param name name of components to retrieve
-     * @return a component list containing only components with the specified name
+     * @return a read-only component list containing only components with the specified name
      */
     public final <C extends CalendarComponent> ComponentList<C> getComponents(final String name) {
         return getComponents().getComponents(name);
     }
 
+    /**
+     * Convenience method for retrieving an index of components by UID.
+     * @return an index of the components of this calendar by UID
+     * @see ComponentList#getUidIndex()
+     */
+    public final UidIndex<CalendarComponent> getUidIndex() {
+        return getComponents().getUidIndex();
+    }
+
     /**
      * Convenience method for retrieving a named component.
      * @param name name of the component to retrieve
@@ -352,44 +360,11 @@ public class Calendar implements Serializable {
                 getComponents()).toHashCode();
     }
     
-    @SuppressWarnings("unchecked")
     public void conformToRfc5545() throws IllegalAccessException, IllegalArgumentException, InvocationTargetException{
-       
-        conformPropertiesToRfc5545(properties);
-        
-        for(Component component : (List<CalendarComponent>)components){
+        for (Component component : components) {
             CountableProperties.removeExceededPropertiesForComponent(component);
-            
-            //each component
-            conformComponentToRfc5545(component);
-            
-            //each component property
-            conformPropertiesToRfc5545(component.getProperties());
-            
-            for(java.lang.reflect.Method m : component.getClass().getDeclaredMethods()){
-                if(ComponentList.class.isAssignableFrom(m.getReturnType()) && 
-                   m.getName().startsWith("get")){
-                    List<Component> components = (List<Component>) m.invoke(component);
-                    for(Component c : components){
-                        //each inner component
-                        conformComponentToRfc5545(c);
-                        
-                        //each inner component properties
-                        conformPropertiesToRfc5545(c.getProperties());
-                    }
-                }
-            }
         }
-    }
-    
-    private static void conformPropertiesToRfc5545(List<Property> properties) {
-        for (Property property : properties) {
-            RuleManager.applyTo(property);
-        }
-    }
-    
-    private static void conformComponentToRfc5545(Component component){
-        RuleManager.applyTo(component);
+        RuleManager.applyTo(this);
     }
     
     private static enum CountableProperties{
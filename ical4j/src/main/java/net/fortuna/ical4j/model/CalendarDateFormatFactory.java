@@ -39,13 +39,13 @@ import java.text.NumberFormat;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.TimeZone;
 
 /**
  * $Id$ [06-Apr-2004]
  * <p/>
- * Creates DateFormat objects optimized for common iCalendar date patterns.
+ * Creates DateFormat objects optimized for common iCalendar date patterns. Parsing and formatting is
+ * delegated to {@link DateTimeCodec}, which does not allocate calendars.
  *
  * @author Dave Nault dnault@laszlosystems.com
  * @see #getInstance(String)
@@ -203,61 +203,41 @@ public final class CalendarDateFormatFactory {
         }
 
         public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition fieldPosition) {
-            final java.util.Calendar cal = new GregorianCalendar(getTimeZone());
-            cal.setTimeInMillis(date.getTime());
-
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.YEAR), 4);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.MONTH) + 1, 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.DAY_OF_MONTH), 2);
-            toAppendTo.append("T");
-
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.HOUR_OF_DAY), 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.MINUTE), 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.SECOND), 2);
-
+            final long time = date.getTime();
+            final int offset = getTimeZone().getOffset(time);
+            final StringBuilder b = new StringBuilder(DATETIME_UTC_PATTERN.length());
+            DateTimeCodec.appendDate(b, time, offset);
+            b.append('T');
+            DateTimeCodec.appendTime(b, time, offset);
             if (patternEndsWithZ) {
-                toAppendTo.append("Z");
+                b.append('Z');
             }
-
-            return toAppendTo;
+            return toAppendTo.append(b);
         }
 
         public Date parse(String source, ParsePosition pos) {
             // if lenient ignore superfluous input..
-            if (patternEndsWithZ) {
-                if (source.length() > DATETIME_UTC_PATTERN.length() && !isLenient()) {
-                    pos.setErrorIndex(DATETIME_UTC_PATTERN.length());
-                    return null;
-                }
-            } else if (source.length() > DATETIME_PATTERN.length() && !isLenient()) {
-                pos.setErrorIndex(DATETIME_PATTERN.length());
+            final int length = DateTimeCodec.DATE_TIME_LENGTH + (patternEndsWithZ ? 1 : 0);
+            if (source.length() > pos.getIndex() + length && !isLenient()) {
+                pos.setErrorIndex(pos.getIndex() + length);
                 return null;
             }
 
-            try {
-                if (source.charAt(8) != 'T') {
-                    pos.setErrorIndex(8);
-                    return null;
-                }
-                if (patternEndsWithZ && source.charAt(15) != 'Z') {
-                    pos.setErrorIndex(15);
+            final int start = pos.getIndex();
+            final long time = DateTimeCodec.parseDateTime(source, pos, false, isLenient(), getTimeZone());
+            if (time == DateTimeCodec.INVALID) {
+                return null;
+            }
+            if (patternEndsWithZ) {
+                // the designator is only checked, the formatter's timezone is applied..
+                if (pos.getIndex() >= source.length() || source.charAt(pos.getIndex()) != 'Z') {
+                    pos.setErrorIndex(pos.getIndex());
+                    pos.setIndex(start);
                     return null;
                 }
-
-                final int year = Integer.parseInt(source.substring(0, 4));
-                final int month = Integer.parseInt(source.substring(4, 6)) - 1;
-                final int day = Integer.parseInt(source.substring(6, 8));
-                final int hour = Integer.parseInt(source.substring(9, 11));
-                final int minute = Integer.parseInt(source.substring(11, 13));
-                final int second = Integer.parseInt(source.substring(13, 15));
-
-                final Date d = makeCalendar(isLenient(), getTimeZone(),
-                        year, month, day, hour, minute, second).getTime();
-                pos.setIndex(15);
-                return d;
-            } catch (RuntimeException e) {
-                return null;
+                pos.setIndex(pos.getIndex() + 1);
             }
+            return new Date(time);
         }
     }
 
@@ -281,34 +261,21 @@ public final class CalendarDateFormatFactory {
         }
 
         public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition fieldPosition) {
-            final java.util.Calendar cal = java.util.Calendar.getInstance(getTimeZone());
-            cal.setTimeInMillis(date.getTime());
-
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.YEAR), 4);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.MONTH) + 1, 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.DAY_OF_MONTH), 2);
-
-            return toAppendTo;
+            final long time = date.getTime();
+            final StringBuilder b = new StringBuilder(DATE_PATTERN.length());
+            DateTimeCodec.appendDate(b, time, getTimeZone().getOffset(time));
+            return toAppendTo.append(b);
         }
 
         public Date parse(String source, ParsePosition pos) {
             // if lenient ignore superfluous input..
-            if (source.length() > DATE_PATTERN.length() && !isLenient()) {
-                pos.setErrorIndex(DATE_PATTERN.length());
+            if (source.length() > pos.getIndex() + DateTimeCodec.DATE_LENGTH && !isLenient()) {
+                pos.setErrorIndex(pos.getIndex() + DateTimeCodec.DATE_LENGTH);
                 return null;
             }
 
-            try {
-                final int year = Integer.parseInt(source.substring(0, 4));
-                final int month = Integer.parseInt(source.substring(4, 6)) - 1;
-                final int day = Integer.parseInt(source.substring(6, 8));
-
-                final Date d = makeCalendar(isLenient(), getTimeZone(), year, month, day).getTime();
-                pos.setIndex(8);
-                return d;
-            } catch (RuntimeException e) {
-                return null;
-            }
+            final long time = DateTimeCodec.parseDate(source, pos, isLenient(), getTimeZone());
+            return time == DateTimeCodec.INVALID ? null : new Date(time);
         }
     }
 
@@ -336,71 +303,38 @@ public final class CalendarDateFormatFactory {
         }
 
         public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition fieldPosition) {
-            final java.util.Calendar cal = new GregorianCalendar(getTimeZone());
-            cal.setTimeInMillis(date.getTime());
-
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.HOUR_OF_DAY), 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.MINUTE), 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.SECOND), 2);
-
+            final long time = date.getTime();
+            final StringBuilder b = new StringBuilder(TIME_UTC_PATTERN.length());
+            DateTimeCodec.appendTime(b, time, getTimeZone().getOffset(time));
             if (patternEndsWithZ) {
-                toAppendTo.append("Z");
+                b.append('Z');
             }
-
-            return toAppendTo;
+            return toAppendTo.append(b);
         }
 
         public Date parse(String source, ParsePosition pos) {
             // if lenient ignore superfluous input..
-            if (patternEndsWithZ) {
-                if (source.length() > TIME_UTC_PATTERN.length() && !isLenient()) {
-                    pos.setErrorIndex(TIME_UTC_PATTERN.length());
-                    return null;
-                }
-            } else if (source.length() > TIME_PATTERN.length() && !isLenient()) {
-                pos.setErrorIndex(TIME_PATTERN.length());
+            final int length = DateTimeCodec.TIME_LENGTH + (patternEndsWithZ ? 1 : 0);
+            if (source.length() > pos.getIndex() + length && !isLenient()) {
+                pos.setErrorIndex(pos.getIndex() + length);
                 return null;
             }
 
-            try {
-                if (patternEndsWithZ && source.charAt(6) != 'Z') {
-                    pos.setErrorIndex(6);
+            final int start = pos.getIndex();
+            final long time = DateTimeCodec.parseTime(source, pos, false, isLenient(), getTimeZone());
+            if (time == DateTimeCodec.INVALID) {
+                return null;
+            }
+            if (patternEndsWithZ) {
+                if (pos.getIndex() >= source.length() || source.charAt(pos.getIndex()) != 'Z') {
+                    pos.setErrorIndex(pos.getIndex());
+                    pos.setIndex(start);
                     return null;
                 }
-
-                final int hour = Integer.parseInt(source.substring(0, 2));
-                final int minute = Integer.parseInt(source.substring(2, 4));
-                final int second = Integer.parseInt(source.substring(4, 6));
-
-                final Date d = makeCalendar(isLenient(), getTimeZone(), 1970, 0, 1, hour, minute, second).getTime();
-                pos.setIndex(6);
-                return d;
-            } catch (RuntimeException e) {
-                return null;
+                pos.setIndex(pos.getIndex() + 1);
             }
+            return new Date(time);
         }
     }
 
-    private static java.util.Calendar makeCalendar(boolean lenient, TimeZone timeZone, int year,
-                                                   int zeroBasedMonth, int day, int hour, int minutes, int seconds) {
-        final java.util.Calendar cal = new GregorianCalendar(timeZone);
-        cal.setLenient(lenient);
-        cal.set(year, zeroBasedMonth, day, hour, minutes, seconds);
-        cal.set(java.util.Calendar.MILLISECOND, 0);
-        return cal;
-    }
-
-    private static java.util.Calendar makeCalendar(boolean lenient, TimeZone timeZone, int year, int month, int day) {
-        return makeCalendar(lenient, timeZone, year, month, day, 0, 0, 0);
-    }
-
-    private static void appendPadded(StringBuffer toAppendTo, int value, int fieldWidth) {
-        final String s = Integer.toString(value);
-        final int max = fieldWidth - s.length();
-        for (int i = 0; i < max; i++) {
-            toAppendTo.append("0");
-        }
-        toAppendTo.append(s);
-    }
-
 }
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * An unmodifiable list of numbers backed by an <code>int</code> array, with a bitmask of the contained values
+ * for constant time membership tests. The values of small domains such as BYMONTH (1..12), BYHOUR (0..23) or
+ * BYMONTHDAY (-31..31) fit in a single mask word.
+ *
+ * @see NumberList#compact()
+ */
+public final class CompactNumberList implements Serializable {
+
+    private static final long serialVersionUID = 2815413208251735187L;
+
+    private static final long[] NO_BITS = new long[0];
+
+    // larger than any iCalendar rule part domain (366)..
+    private static final int MAX_BITS = 1024;
+
+    /**
+     * An empty list.
+     */
+    public static final CompactNumberList EMPTY = new CompactNumberList(new int[0]);
+
+    private final int[] values;
+
+    // bits of the positive values (and zero)..
+    private final long[] positiveBits;
+
+    // bits of the absolute negative values..
+    private final long[] negativeBits;
+
+    /**
+     * @param values the numbers in list order, the array is not copied
+     */
+    CompactNumberList(final int[] values) {
+        this.values = values;
+        int maxPositive = -1;
+        int maxNegative = -1;
+        for (final int value : values) {
+            if (value >= 0) {
+                maxPositive = Math.max(maxPositive, value);
+            } else {
+                maxNegative = Math.max(maxNegative, value == Integer.MIN_VALUE ? Integer.MAX_VALUE : -value);
+            }
+        }
+        if (maxPositive >= MAX_BITS || maxNegative >= MAX_BITS) {
+            // values of an unbounded list are tested by scanning..
+            positiveBits = null;
+            negativeBits = null;
+            return;
+        }
+        positiveBits = maxPositive < 0 ? NO_BITS : new long[(maxPositive >>> 6) + 1];
+        negativeBits = maxNegative < 0 ? NO_BITS : new long[(maxNegative >>> 6) + 1];
+        for (final int value : values) {
+            if (value >= 0) {
+                positiveBits[value >>> 6] |= 1L << value;
+            } else {
+                negativeBits[-value >>> 6] |= 1L << -value;
+            }
+        }
+    }
+
+    /**
+     * @return the number of values in the list
+     */
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return true if the list contains no values
+     */
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    /**
+     * @param index an index into the list
+     * @return the value at the specified index
+     */
+    public int get(final int index) {
+        return values[index];
+    }
+
+    /**
+     * @param value a number
+     * @return true if the list contains the specified number
+     */
+    public boolean contains(final int value) {
+        if (positiveBits == null) {
+            return indexOf(value) >= 0;
+        }
+        if (value >= 0) {
+            return test(positiveBits, value);
+        }
+        return value != Integer.MIN_VALUE && test(negativeBits, -value);
+    }
+
+    /**
+     * Tests whether a position is selected by this list, where negative values count back from the end of a
+     * range of the specified size (i.e. -1 is the last position).
+     *
+     * @param position a position between 1 and size
+     * @param size the number of positions in the range
+     * @return true if the position is selected by a positive or negative value
+     */
+    public boolean containsPosition(final int position, final int size) {
+        if (positiveBits == null) {
+            return indexOf(position) >= 0 || indexOf(position - size - 1) >= 0;
+        }
+        return test(positiveBits, position) || test(negativeBits, size - position + 1);
+    }
+
+    /**
+     * @return a copy of the values in list order
+     */
+    public int[] toArray() {
+        return values.clone();
+    }
+
+    private int indexOf(final int value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean test(final long[] bits, final int value) {
+        final int word = value >>> 6;
+        return word < bits.length && (bits[word] & (1L << value)) != 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean equals(final Object arg0) {
+        return arg0 instanceof CompactNumberList && Arrays.equals(values, ((CompactNumberList) arg0).values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                b.append(',');
+            }
+            b.append(values[i]);
+        }
+        return b.toString();
+    }
+}
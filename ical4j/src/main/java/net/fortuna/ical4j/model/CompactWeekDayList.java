@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * An unmodifiable list of week days backed by <code>int</code> arrays of {@link java.util.Calendar} days and
+ * offsets, with a bitmask of the days without an offset for constant time membership tests.
+ *
+ * @see WeekDayList#compact()
+ */
+public final class CompactWeekDayList implements Serializable {
+
+    private static final long serialVersionUID = -3165930231851374920L;
+
+    /**
+     * An empty list.
+     */
+    public static final CompactWeekDayList EMPTY = new CompactWeekDayList(new WeekDay[0]);
+
+    private final WeekDay[] weekDays;
+
+    private final int[] calendarDays;
+
+    private final int[] offsets;
+
+    // bit n is set when calendar day n is in the list without an offset..
+    private final int dayMask;
+
+    /**
+     * @param weekDays the week days in list order, the array is not copied
+     */
+    CompactWeekDayList(final WeekDay[] weekDays) {
+        this.weekDays = weekDays;
+        calendarDays = new int[weekDays.length];
+        offsets = new int[weekDays.length];
+        int mask = 0;
+        for (int i = 0; i < weekDays.length; i++) {
+            calendarDays[i] = WeekDay.getCalendarDay(weekDays[i]);
+            offsets[i] = weekDays[i].getOffset();
+            if (offsets[i] == 0 && calendarDays[i] > 0) {
+                mask |= 1 << calendarDays[i];
+            }
+        }
+        dayMask = mask;
+    }
+
+    /**
+     * @return the number of week days in the list
+     */
+    public int size() {
+        return weekDays.length;
+    }
+
+    /**
+     * @return true if the list contains no week days
+     */
+    public boolean isEmpty() {
+        return weekDays.length == 0;
+    }
+
+    /**
+     * @param index an index into the list
+     * @return the week day at the specified index
+     */
+    public WeekDay get(final int index) {
+        return weekDays[index];
+    }
+
+    /**
+     * @param index an index into the list
+     * @return the {@link java.util.Calendar} day of the week day at the specified index, or -1 if it cannot be
+     * identified
+     */
+    public int getCalendarDay(final int index) {
+        return calendarDays[index];
+    }
+
+    /**
+     * @param index an index into the list
+     * @return the offset of the week day at the specified index
+     */
+    public int getOffset(final int index) {
+        return offsets[index];
+    }
+
+    /**
+     * @param calendarDay a {@link java.util.Calendar} day of the week
+     * @return true if the list contains the day without an offset
+     */
+    public boolean containsDay(final int calendarDay) {
+        return calendarDay > 0 && calendarDay < Integer.SIZE && (dayMask & (1 << calendarDay)) != 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public boolean equals(final Object arg0) {
+        return arg0 instanceof CompactWeekDayList
+                && Arrays.equals(weekDays, ((CompactWeekDayList) arg0).weekDays);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public int hashCode() {
+        return Arrays.hashCode(weekDays);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public String toString() {
+        final StringBuilder b = new StringBuilder();
+        for (int i = 0; i < weekDays.length; i++) {
+            if (i > 0) {
+                b.append(',');
+            }
+            b.append(weekDays[i]);
+        }
+        return b.toString();
+    }
+}
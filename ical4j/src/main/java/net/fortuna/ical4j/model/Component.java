@@ -254,6 +254,30 @@ public abstract class Component implements Serializable {
                 .toHashCode();
     }
 
+    /**
+     * Returns a 64-bit fingerprint of the content of this component, which may be compared to detect changes without
+     * comparing the content itself. Equal components have equal fingerprints, and different components have equal
+     * fingerprints only with negligible probability. The fingerprint of the properties is cached as described in
+     * {@link PropertyList#fingerprint()}, such that property values modified in place are not reflected.
+     * @return a fingerprint of the name and properties of this component
+     */
+    public long fingerprint() {
+        return ContentHash.append(ContentHash.append(ContentHash.OFFSET_BASIS, getName()),
+                getProperties().fingerprint());
+    }
+
+    /**
+     * Returns the fingerprint of this component followed by components nested within it, for subclasses that
+     * override {@link #fingerprint()} to include their sub-components.
+     * @param components components nested within this component
+     * @return a fingerprint of the name and properties of this component and the specified components
+     */
+    protected final long fingerprint(final ComponentList<? extends Component> components) {
+        final long fingerprint = ContentHash.append(ContentHash.append(ContentHash.OFFSET_BASIS, getName()),
+                getProperties().fingerprint());
+        return ContentHash.append(fingerprint, components.fingerprint());
+    }
+
     /**
      * Create a (deep) copy of this component.
      *
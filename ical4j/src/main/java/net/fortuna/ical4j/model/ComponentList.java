@@ -36,7 +36,16 @@ import java.io.Serializable;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * $Id$ [Apr 5, 2004]
@@ -48,6 +57,24 @@ public class ComponentList<T extends Component> extends ArrayList<T> implements
 
     private static final long serialVersionUID = 7308557606558767449L;
 
+    /**
+     * The minimum list size for which components are indexed by name.
+     */
+    private static final int MIN_INDEXED_SIZE = 8;
+
+    private static final TypedComponentList<Component> EMPTY = new TypedComponentList<Component>();
+
+    static {
+        EMPTY.shared = true;
+    }
+
+    // counts replacements, which unlike structural modifications don't change modCount
+    private transient int replacements;
+
+    private transient volatile TypeIndex<T> index;
+
+    private transient volatile UidIndex<T> uidIndex;
+
     /**
      * Default constructor.
      */
@@ -104,6 +131,11 @@ public class ComponentList<T extends Component> extends ArrayList<T> implements
      * @return a component or null if no matching component found
      */
     public final T getComponent(final String aName) {
+        final TypeIndex<T> index = this.index;
+        if (index != null && index.version == version()) {
+            final ComponentList<T> components = index.groups.get(aName);
+            return components != null ? components.get(0) : null;
+        }
         for (final T c : this) {
             if (c.getName().equals(aName)) {
                 return c;
@@ -113,18 +145,270 @@ public class ComponentList<T extends Component> extends ArrayList<T> implements
     }
 
     /**
-     * Returns a list containing all components with specified name.
+     * Returns a list containing all components with specified name. The returned list is read-only, and is not
+     * affected by subsequent modifications of this list.
      * @param name name of components to return
      * @return a list of components with the matching name
      */
     @SuppressWarnings("unchecked")
 	public final <C extends T> ComponentList<C> getComponents(final String name) {
-        final ComponentList<C> components = new ComponentList<C>();
+        if (size() < MIN_INDEXED_SIZE) {
+            final TypedComponentList<C> components = new TypedComponentList<C>();
+            for (final T c : this) {
+                if (c.getName().equals(name)) {
+                    components.add((C) c);
+                }
+            }
+            components.shared = true;
+            return components;
+        }
+
+        TypeIndex<T> index = this.index;
+        final long version = version();
+        if (index == null || index.version != version) {
+            index = new TypeIndex<T>(this, version);
+            this.index = index;
+        }
+        final TypedComponentList<T> components = index.groups.get(name);
+        if (components == null) {
+            return (ComponentList<C>) EMPTY;
+        }
+        components.shared = true;
+        return (ComponentList<C>) components;
+    }
+
+    /**
+     * @return a 64-bit fingerprint of the components in this list
+     * @see Component#fingerprint()
+     */
+    public final long fingerprint() {
+        long fingerprint = ContentHash.OFFSET_BASIS;
         for (final T c : this) {
-            if (c.getName().equals(name)) {
-                components.add((C) c);
+            fingerprint = ContentHash.append(fingerprint, c.fingerprint());
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Returns an index of the components in this list by UID. The index is built on first use and maintained as
+     * components are added to the list.
+     * @return an index of components by UID
+     */
+    public final UidIndex<T> getUidIndex() {
+        UidIndex<T> uidIndex = this.uidIndex;
+        final long version = version();
+        if (uidIndex == null || uidIndex.version != version) {
+            uidIndex = new UidIndex<T>(this, version);
+            this.uidIndex = uidIndex;
+        }
+        return uidIndex;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final T component) {
+        final long version = version();
+        final TypeIndex<T> index = this.index;
+        final UidIndex<T> uidIndex = this.uidIndex;
+        super.add(component);
+        if (index != null && index.version == version) {
+            index.append(component);
+            index.version = version();
+        }
+        if (uidIndex != null && uidIndex.version == version) {
+            uidIndex.add(component);
+            uidIndex.version = version();
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public T set(final int index, final T component) {
+        final T previous = super.set(index, component);
+        replacements++;
+        return previous;
+    }
+
+    private long version() {
+        return ((long) modCount << 32) | (replacements & 0xffffffffL);
+    }
+
+    /**
+     * Components of a list grouped by name, tagged with the version of the list they were built from.
+     */
+    private static final class TypeIndex<T extends Component> {
+
+        private final Map<String, TypedComponentList<T>> groups = new HashMap<String, TypedComponentList<T>>();
+
+        private long version;
+
+        private TypeIndex(final List<T> components, final long version) {
+            this.version = version;
+            for (final T c : components) {
+                append(c);
             }
         }
-        return components;
+
+        private void append(final T component) {
+            TypedComponentList<T> group = groups.get(component.getName());
+            if (group == null) {
+                group = new TypedComponentList<T>();
+                groups.put(component.getName(), group);
+            }
+            else if (group.shared) {
+                // a group already returned to a caller is never modified
+                final TypedComponentList<T> copy = new TypedComponentList<T>(group.size() + 1);
+                copy.addAll(group);
+                group = copy;
+                groups.put(component.getName(), group);
+            }
+            group.add(component);
+        }
+    }
+
+    /**
+     * A list of components that becomes read-only once returned from {@link #getComponents(String)}. Instances
+     * created by other code, such as {@link net.fortuna.ical4j.filter.Filter} copying the concrete list type, remain
+     * modifiable.
+     */
+    public static final class TypedComponentList<T extends Component> extends ComponentList<T> {
+
+        private static final long serialVersionUID = 2614581470958318713L;
+
+        private boolean shared;
+
+        /**
+         * Creates a modifiable list.
+         */
+        public TypedComponentList() {
+        }
+
+        private TypedComponentList(final int initialCapacity) {
+            super(initialCapacity);
+        }
+
+        private void checkModifiable() {
+            if (shared) {
+                throw new UnsupportedOperationException("Component list is read-only");
+            }
+        }
+
+        @Override
+        public boolean add(final T component) {
+            checkModifiable();
+            return super.add(component);
+        }
+
+        @Override
+        public void add(final int index, final T component) {
+            checkModifiable();
+            super.add(index, component);
+        }
+
+        @Override
+        public boolean addAll(final Collection<? extends T> components) {
+            checkModifiable();
+            return super.addAll(components);
+        }
+
+        @Override
+        public boolean addAll(final int index, final Collection<? extends T> components) {
+            checkModifiable();
+            return super.addAll(index, components);
+        }
+
+        @Override
+        public T set(final int index, final T component) {
+            checkModifiable();
+            return super.set(index, component);
+        }
+
+        @Override
+        public T remove(final int index) {
+            checkModifiable();
+            return super.remove(index);
+        }
+
+        @Override
+        public boolean remove(final Object component) {
+            checkModifiable();
+            return super.remove(component);
+        }
+
+        @Override
+        public boolean removeAll(final Collection<?> components) {
+            checkModifiable();
+            return super.removeAll(components);
+        }
+
+        @Override
+        public boolean retainAll(final Collection<?> components) {
+            checkModifiable();
+            return super.retainAll(components);
+        }
+
+        @Override
+        protected void removeRange(final int fromIndex, final int toIndex) {
+            checkModifiable();
+            super.removeRange(fromIndex, toIndex);
+        }
+
+        @Override
+        public void clear() {
+            checkModifiable();
+            super.clear();
+        }
+
+        // the bulk operations of later API levels modify the backing array directly..
+
+        @Override
+        public boolean removeIf(final Predicate<? super T> filter) {
+            checkModifiable();
+            return super.removeIf(filter);
+        }
+
+        @Override
+        public void replaceAll(final UnaryOperator<T> operator) {
+            checkModifiable();
+            super.replaceAll(operator);
+        }
+
+        @Override
+        public void sort(final Comparator<? super T> c) {
+            checkModifiable();
+            super.sort(c);
+        }
+
+        // ..as do iterators and sublists, which are therefore read-only views once the list is shared
+
+        @Override
+        public Iterator<T> iterator() {
+            return shared ? readOnlyView().iterator() : super.iterator();
+        }
+
+        @Override
+        public ListIterator<T> listIterator() {
+            return shared ? readOnlyView().listIterator() : super.listIterator();
+        }
+
+        @Override
+        public ListIterator<T> listIterator(final int index) {
+            return shared ? readOnlyView().listIterator(index) : super.listIterator(index);
+        }
+
+        @Override
+        public List<T> subList(final int fromIndex, final int toIndex) {
+            final List<T> subList = super.subList(fromIndex, toIndex);
+            return shared ? Collections.unmodifiableList(subList) : subList;
+        }
+
+        private List<T> readOnlyView() {
+            return Collections.unmodifiableList(super.subList(0, size()));
+        }
     }
 }
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+/**
+ * A hash of calendar content cached against the versions of the content it was calculated from, along with support
+ * for calculating 64-bit (FNV-1a) content fingerprints.
+ */
+final class ContentHash {
+
+    static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long PRIME = 0x100000001b3L;
+
+    // outside the range of char values, such that ("ab", "c") and ("a", "bc") hash differently
+    private static final int SEPARATOR = 0x10000;
+
+    private static final int NULL = 0x10001;
+
+    final long version;
+
+    final long nestedVersion;
+
+    final long value;
+
+    ContentHash(final long version, final long nestedVersion, final long value) {
+        this.version = version;
+        this.nestedVersion = nestedVersion;
+        this.value = value;
+    }
+
+    /**
+     * @return true if this hash was calculated from content of the specified versions
+     */
+    boolean isCurrent(final long version, final long nestedVersion) {
+        return this.version == version && this.nestedVersion == nestedVersion;
+    }
+
+    /**
+     * @param hash the fingerprint of preceding content
+     * @param value a string value, which may be null
+     * @return the fingerprint of the preceding content followed by the specified value
+     */
+    static long append(long hash, final String value) {
+        if (value == null) {
+            return (hash ^ NULL) * PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * PRIME;
+        }
+        return (hash ^ SEPARATOR) * PRIME;
+    }
+
+    /**
+     * @param hash the fingerprint of preceding content
+     * @param value a fingerprint of nested content
+     * @return the fingerprint of the preceding content followed by the nested content
+     */
+    static long append(long hash, final long value) {
+        for (int shift = 0; shift < 64; shift += 16) {
+            hash = (hash ^ ((value >>> shift) & 0xffff)) * PRIME;
+        }
+        return (hash ^ SEPARATOR) * PRIME;
+    }
+}
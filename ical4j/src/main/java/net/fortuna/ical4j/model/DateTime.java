@@ -34,10 +34,10 @@ package net.fortuna.ical4j.model;
 import net.fortuna.ical4j.util.CompatibilityHints;
 import net.fortuna.ical4j.util.Dates;
 import net.fortuna.ical4j.util.TimeZones;
-import org.apache.commons.lang3.builder.EqualsBuilder;
 
 import java.text.DateFormat;
 import java.text.ParseException;
+import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.util.Collections;
 import java.util.Map;
@@ -175,56 +175,19 @@ public class DateTime extends Date {
 
 	private static final long serialVersionUID = -6407231357919440387L;
 
-	private static final String DEFAULT_PATTERN = "yyyyMMdd'T'HHmmss";
-
-	private static final String UTC_PATTERN = "yyyyMMdd'T'HHmmss'Z'";
-	
 	private static final String VCARD_PATTERN = "yyyy'-'MM'-'dd'T'HH':'mm':'ss'Z'";
 
-	private static final String RELAXED_PATTERN = "yyyyMMdd";
-
-	/**
-	 * Used for parsing times in a UTC date-time representation.
-	 */
-	private static final DateFormatCache UTC_FORMAT;
-	static {
-		final DateFormat format = new SimpleDateFormat(UTC_PATTERN);
-		format.setTimeZone(TimeZones.getUtcTimeZone());
-		format.setLenient(false);
-
-		UTC_FORMAT = new DateFormatCache(format);
-	}
-
 	/**
-	 * Used for parsing times in a local date-time representation.
+	 * Only used for the vCard compatibility fallback, iCalendar values are parsed
+	 * by {@link DateTimeCodec}.
 	 */
-	private static final DateFormatCache DEFAULT_FORMAT;
-	static {
-		final DateFormat format = new SimpleDateFormat(DEFAULT_PATTERN);
-		format.setLenient(false);
-		DEFAULT_FORMAT = new DateFormatCache(format);
-	}
-
-	private static final DateFormatCache LENIENT_DEFAULT_FORMAT;
-	static {
-		final DateFormat format = new SimpleDateFormat(DEFAULT_PATTERN);
-		LENIENT_DEFAULT_FORMAT = new DateFormatCache(format);
-	}
-
-	private static final DateFormatCache RELAXED_FORMAT;
-	static {
-		final DateFormat format = new SimpleDateFormat(RELAXED_PATTERN);
-        format.setLenient(true);
-		RELAXED_FORMAT = new DateFormatCache(format);
-	}
-
 	private static final DateFormatCache VCARD_FORMAT;
 	static {
 		final DateFormat format = new SimpleDateFormat(VCARD_PATTERN);
         VCARD_FORMAT = new DateFormatCache(format);
 	}
 
-	private Time time;
+	private boolean utc;
 
 	private TimeZone timezone;
 
@@ -233,7 +196,7 @@ public class DateTime extends Date {
 	 */
 	public DateTime() {
 		super(Dates.PRECISION_SECOND, java.util.TimeZone.getDefault());
-		this.time = new Time(getTime(), getFormat().getTimeZone());
+		this.utc = TimeZones.isUtc(getFormat().getTimeZone());
 	}
 
 	/**
@@ -251,7 +214,7 @@ public class DateTime extends Date {
 	 */
 	public DateTime(final long time) {
 		super(time, Dates.PRECISION_SECOND, java.util.TimeZone.getDefault());
-		this.time = new Time(time, getFormat().getTimeZone());
+		this.utc = TimeZones.isUtc(getFormat().getTimeZone());
 	}
 
 	/**
@@ -260,7 +223,7 @@ public class DateTime extends Date {
 	 */
 	public DateTime(final java.util.Date date) {
 		super(date.getTime(), Dates.PRECISION_SECOND, java.util.TimeZone.getDefault());
-		this.time = new Time(date.getTime(), getFormat().getTimeZone());
+		this.utc = TimeZones.isUtc(getFormat().getTimeZone());
 		// copy timezone information if applicable..
 		if (date instanceof DateTime) {
 			final DateTime dateTime = (DateTime) date;
@@ -310,22 +273,24 @@ public class DateTime extends Date {
 		// setting the time to 0 since we are going to reset it anyway
 		super(0, Dates.PRECISION_SECOND, timezone != null ? timezone
 				: java.util.TimeZone.getDefault());
-		this.time = new Time(getTime(), getFormat().getTimeZone());
+		this.utc = TimeZones.isUtc(getFormat().getTimeZone());
 
         try {
             if (value.endsWith("Z")) {
-                setTime(value, UTC_FORMAT.get(), null);
+                setTime(DateTimeCodec.parseDateTime(value, new ParsePosition(0), true, false,
+                        TimeZones.getUtcTimeZone()), value);
                 setUtc(true);
             } else {
                 if (timezone != null) {
-                    setTime(value, DEFAULT_FORMAT.get(), timezone);
+                    setTime(DateTimeCodec.parseDateTime(value, new ParsePosition(0), false, false,
+                            timezone), value);
                 } else {
                     // Use lenient parsing for floating times. This is to
                     // overcome
                     // the problem of parsing VTimeZone dates that specify dates
                     // that the strict parser does not accept.
-                    setTime(value, LENIENT_DEFAULT_FORMAT.get(),
-                            getFormat().getTimeZone());
+                    setTime(DateTimeCodec.parseDateTime(value, new ParsePosition(0), false, true,
+                            getFormat().getTimeZone()), value);
                 }
                 setTimeZone(timezone);
             }
@@ -337,13 +302,11 @@ public class DateTime extends Date {
 	                setTimeZone(timezone);
             	} catch (ParseException pe2) {
                     if (CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING)) {
-    	                setTime(value, RELAXED_FORMAT.get(), timezone);
-    	                setTimeZone(timezone);
-                    }            		
+                        setRelaxedTime(value, timezone);
+                    }
             	}
             } else if (CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING)) {
-                setTime(value, RELAXED_FORMAT.get(), timezone);
-                setTimeZone(timezone);
+                setRelaxedTime(value, timezone);
             } else {
                 throw pe;
             }
@@ -365,7 +328,7 @@ public class DateTime extends Date {
 		// setting the time to 0 since we are going to reset it anyway
 		super(0, Dates.PRECISION_SECOND, timezone != null ? timezone
 				: java.util.TimeZone.getDefault());
-		this.time = new Time(getTime(), getFormat().getTimeZone());
+		this.utc = TimeZones.isUtc(getFormat().getTimeZone());
 
 		final DateFormat format = CalendarDateFormatFactory
 				.getInstance(pattern);
@@ -389,8 +352,7 @@ public class DateTime extends Date {
 		final DateFormat format = CalendarDateFormatFactory
 				.getInstance(pattern);
 		if (utc) {
-			setTime(value, format,
-					UTC_FORMAT.get().getTimeZone());
+			setTime(value, format, TimeZones.getUtcTimeZone());
 		} else {
 			setTime(value, format, null);
 		}
@@ -415,24 +377,41 @@ public class DateTime extends Date {
 		setTime(format.parse(value).getTime());
 	}
 
+	/**
+	 * Internal set of time parsed by {@link DateTimeCodec}.
+	 *
+	 * @param time the parsed time, or {@link DateTimeCodec#INVALID}
+	 * @param value the parsed string, for the error message
+	 * @throws ParseException where the value could not be parsed
+	 */
+	private void setTime(final long time, final String value) throws ParseException {
+		if (time == DateTimeCodec.INVALID) {
+			throw new ParseException("Unparseable date: \"" + value + "\"", 0);
+		}
+		setTime(time);
+	}
+
+	/**
+	 * Relaxed parsing of a date only value (yyyyMMdd) as the start of the day.
+	 */
+	private void setRelaxedTime(final String value, final TimeZone timezone) throws ParseException {
+		setTime(DateTimeCodec.parseDate(value, new ParsePosition(0), true,
+				timezone != null ? timezone : getFormat().getTimeZone()), value);
+		setTimeZone(timezone);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	public final void setTime(final long time) {
 		super.setTime(time);
-		// need to check for null time due to Android java.util.Date(long)
-		// constructor
-		// calling this method..
-		if (this.time != null) {
-			this.time.setTime(time);
-		}
 	}
 
 	/**
 	 * @return Returns the utc.
 	 */
 	public final boolean isUtc() {
-		return time.isUtc();
+		return utc;
 	}
 
 	/**
@@ -450,7 +429,7 @@ public class DateTime extends Date {
 		} else {
 			resetTimeZone();
 		}
-		time = new Time(time, getFormat().getTimeZone(), utc);
+		this.utc = utc;
 	}
 
 	/**
@@ -469,7 +448,7 @@ public class DateTime extends Date {
 		} else {
 			resetTimeZone();
 		}
-		time = new Time(time, getFormat().getTimeZone(), false);
+		this.utc = false;
 	}
 
 	/**
@@ -495,8 +474,8 @@ public class DateTime extends Date {
 	 * {@inheritDoc}
 	 */
 	public final String toString() {
-		return super.toString() + 'T' +
-				time.toString();
+		return DateTimeCodec.formatDateTime(getTime(),
+				DateTimeCodec.getDisplayOffset(getTime(), getFormat().getTimeZone()), utc);
 	}
 
 	/**
@@ -506,8 +485,7 @@ public class DateTime extends Date {
 		// TODO: what about compareTo, before, after, etc.?
 
 		if (arg0 instanceof DateTime) {
-			return new EqualsBuilder().append(time, ((DateTime) arg0).time)
-					.isEquals();
+			return getTime() == ((DateTime) arg0).getTime();
 		}
 		return super.equals(arg0);
 	}
@@ -521,6 +499,7 @@ public class DateTime extends Date {
 
 	/**
 	 * This cache class is a workaround for DateFormat not being threadsafe.
+	 * It is only used for the vCard fallback, see {@link DateTimeCodec}.
 	 * We maintain map from Thread to DateFormat instance so that the instances
 	 * are not shared between threads (effectively a ThreadLocal).
 	 * TODO: once the project targets Java 8+, the new date utilities are
@@ -0,0 +1,409 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.util.Dates;
+import net.fortuna.ical4j.util.TimeZones;
+
+import java.text.ParsePosition;
+import java.util.GregorianCalendar;
+
+/**
+ * Thread-safe parser and formatter for the fixed iCalendar patterns:
+ * <p/>
+ * <pre>
+ * yyyyMMdd'T'HHmmss
+ * yyyyMMdd'T'HHmmss'Z'
+ * yyyyMMdd
+ * HHmmss
+ * HHmmss'Z'
+ * </pre>
+ * Fields are converted to and from epoch milliseconds arithmetically, using only the offsets reported by
+ * the timezone, so no <code>DateFormat</code> or <code>Calendar</code> instances are created or shared.
+ * Dates before the Gregorian cutover are delegated to {@link GregorianCalendar} to retain its Julian calendar
+ * handling.
+ */
+final class DateTimeCodec {
+
+    /**
+     * Value returned when a string cannot be parsed. The error index of the parse position is also set.
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+    static final int DATE_LENGTH = 8;
+
+    static final int TIME_LENGTH = 6;
+
+    static final int DATE_TIME_LENGTH = DATE_LENGTH + 1 + TIME_LENGTH;
+
+    // 1582-10-15, the default Gregorian cutover of GregorianCalendar..
+    private static final long GREGORIAN_CUTOVER = -12219292800000L;
+
+    private static final int GREGORIAN_CUTOVER_YEAR = 1583;
+
+    // larger than any offset change, smaller than the interval between two transitions..
+    private static final long TRANSITION_WINDOW = Dates.MILLIS_PER_DAY;
+
+    private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /**
+     * Constructor made private to enforce static nature.
+     */
+    private DateTimeCodec() {
+    }
+
+    /**
+     * Parses a date-time value starting at the parse position.
+     *
+     * @param source the string to parse
+     * @param pos the parse position, updated to the end of the value on success
+     * @param utc indicates if the value must end with the UTC designator
+     * @param lenient indicates if field values outside their ranges roll over into the next field
+     * @param timezone the timezone of a local value
+     * @return the time in milliseconds, or {@link #INVALID}
+     */
+    static long parseDateTime(String source, ParsePosition pos, boolean utc, boolean lenient,
+                              java.util.TimeZone timezone) {
+        final int start = pos.getIndex();
+        final int end = start + DATE_TIME_LENGTH + (utc ? 1 : 0);
+        if (source.length() < end) {
+            pos.setErrorIndex(Math.min(source.length(), end - 1));
+            return INVALID;
+        }
+        if (source.charAt(start + DATE_LENGTH) != 'T') {
+            pos.setErrorIndex(start + DATE_LENGTH);
+            return INVALID;
+        }
+        if (utc && source.charAt(start + DATE_TIME_LENGTH) != 'Z') {
+            pos.setErrorIndex(start + DATE_TIME_LENGTH);
+            return INVALID;
+        }
+
+        final int year = parseDigits(source, start, 4, pos);
+        final int month = parseDigits(source, start + 4, 2, pos);
+        final int day = parseDigits(source, start + 6, 2, pos);
+        final int hour = parseDigits(source, start + 9, 2, pos);
+        final int minute = parseDigits(source, start + 11, 2, pos);
+        final int second = parseDigits(source, start + 13, 2, pos);
+        if (pos.getErrorIndex() >= 0) {
+            return INVALID;
+        }
+
+        final long time = toTime(year, month, day, hour, minute, second, lenient,
+                utc ? TimeZones.getUtcTimeZone() : timezone);
+        if (time == INVALID) {
+            pos.setErrorIndex(start);
+            return INVALID;
+        }
+        pos.setIndex(end);
+        return time;
+    }
+
+    /**
+     * Parses a date value starting at the parse position.
+     *
+     * @param source the string to parse
+     * @param pos the parse position, updated to the end of the value on success
+     * @param lenient indicates if field values outside their ranges roll over into the next field
+     * @param timezone the timezone in which the day starts
+     * @return the time in milliseconds, or {@link #INVALID}
+     */
+    static long parseDate(String source, ParsePosition pos, boolean lenient, java.util.TimeZone timezone) {
+        final int start = pos.getIndex();
+        if (source.length() < start + DATE_LENGTH) {
+            pos.setErrorIndex(source.length());
+            return INVALID;
+        }
+
+        final int year = parseDigits(source, start, 4, pos);
+        final int month = parseDigits(source, start + 4, 2, pos);
+        final int day = parseDigits(source, start + 6, 2, pos);
+        if (pos.getErrorIndex() >= 0) {
+            return INVALID;
+        }
+
+        final long time = toTime(year, month, day, 0, 0, 0, lenient, timezone);
+        if (time == INVALID) {
+            pos.setErrorIndex(start);
+            return INVALID;
+        }
+        pos.setIndex(start + DATE_LENGTH);
+        return time;
+    }
+
+    /**
+     * Parses a time value starting at the parse position. The date of the result is 1 January 1970.
+     *
+     * @param source the string to parse
+     * @param pos the parse position, updated to the end of the value on success
+     * @param utc indicates if the value must end with the UTC designator
+     * @param lenient indicates if field values outside their ranges roll over into the next field
+     * @param timezone the timezone of the value
+     * @return the time in milliseconds, or {@link #INVALID}
+     */
+    static long parseTime(String source, ParsePosition pos, boolean utc, boolean lenient,
+                          java.util.TimeZone timezone) {
+        final int start = pos.getIndex();
+        final int end = start + TIME_LENGTH + (utc ? 1 : 0);
+        if (source.length() < end) {
+            pos.setErrorIndex(Math.min(source.length(), end - 1));
+            return INVALID;
+        }
+        if (utc && source.charAt(start + TIME_LENGTH) != 'Z') {
+            pos.setErrorIndex(start + TIME_LENGTH);
+            return INVALID;
+        }
+
+        final int hour = parseDigits(source, start, 2, pos);
+        final int minute = parseDigits(source, start + 2, 2, pos);
+        final int second = parseDigits(source, start + 4, 2, pos);
+        if (pos.getErrorIndex() >= 0) {
+            return INVALID;
+        }
+
+        final long time = toTime(1970, 1, 1, hour, minute, second, lenient, timezone);
+        if (time == INVALID) {
+            pos.setErrorIndex(start);
+            return INVALID;
+        }
+        pos.setIndex(end);
+        return time;
+    }
+
+    /**
+     * Appends the date of the specified time in the form <code>yyyyMMdd</code>.
+     *
+     * @param b the buffer to append to
+     * @param time a time value in milliseconds
+     * @param offset the offset from UTC in milliseconds of the timezone to display
+     */
+    static void appendDate(StringBuilder b, long time, int offset) {
+        if (time < GREGORIAN_CUTOVER) {
+            final GregorianCalendar cal = getUtcCalendar(time + offset);
+            appendDate(b, cal.get(GregorianCalendar.YEAR), cal.get(GregorianCalendar.MONTH) + 1,
+                    cal.get(GregorianCalendar.DAY_OF_MONTH));
+            return;
+        }
+
+        // days since 0000-03-01, so leap days fall at the end of each year..
+        final long z = floorDiv(time + offset, Dates.MILLIS_PER_DAY) + 719468;
+        final long era = floorDiv(z, 146097);
+        final long doe = z - era * 146097;
+        final long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        final long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        final long mp = (5 * doy + 2) / 153;
+        final int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        final int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        final int year = (int) (yoe + era * 400 + (month <= 2 ? 1 : 0));
+        appendDate(b, year, month, day);
+    }
+
+    /**
+     * Appends the time of day of the specified time in the form <code>HHmmss</code>.
+     *
+     * @param b the buffer to append to
+     * @param time a time value in milliseconds
+     * @param offset the offset from UTC in milliseconds of the timezone to display
+     */
+    static void appendTime(StringBuilder b, long time, int offset) {
+        final long local = time + offset;
+        final int seconds = (int) ((local - floorDiv(local, Dates.MILLIS_PER_DAY) * Dates.MILLIS_PER_DAY)
+                / Dates.MILLIS_PER_SECOND);
+        appendPadded(b, seconds / 3600, 2);
+        appendPadded(b, seconds / 60 % 60, 2);
+        appendPadded(b, seconds % 60, 2);
+    }
+
+    /**
+     * Formats a date-time in the form <code>yyyyMMdd'T'HHmmss</code>, with a trailing UTC designator if
+     * specified.
+     */
+    static String formatDateTime(long time, int offset, boolean utc) {
+        final StringBuilder b = new StringBuilder(DATE_TIME_LENGTH + 1);
+        appendDate(b, time, offset);
+        b.append('T');
+        appendTime(b, time, offset);
+        if (utc) {
+            b.append('Z');
+        }
+        return b.toString();
+    }
+
+    /**
+     * Converts local date and time fields to a time in milliseconds. Where a local time occurs twice the
+     * first occurrence is used, and where it does not occur the offset before the gap is used (RFC5545
+     * section 3.3.5).
+     *
+     * @return the time in milliseconds, or {@link #INVALID} if the fields are out of range and not lenient
+     */
+    static long toTime(int year, int month, int day, int hour, int minute, int second, boolean lenient,
+                       java.util.TimeZone timezone) {
+        if (!lenient && (month < 1 || month > 12 || day < 1 || day > DAYS_IN_MONTH[month - 1]
+                || (month == 2 && day == 29 && !isLeapYear(year))
+                || hour > 23 || minute > 59 || second > 59)) {
+            return INVALID;
+        }
+
+        if (year < GREGORIAN_CUTOVER_YEAR) {
+            final GregorianCalendar cal = new GregorianCalendar(timezone);
+            cal.setLenient(lenient);
+            cal.clear();
+            cal.set(year, month - 1, day, hour, minute, second);
+            try {
+                return cal.getTimeInMillis();
+            } catch (IllegalArgumentException iae) {
+                return INVALID;
+            }
+        }
+
+        // normalise the month so that lenient values roll over into the year..
+        final long m = month - 1;
+        final long y = year + floorDiv(m, 12);
+        final long local = (toEpochDay(y, (int) (m - floorDiv(m, 12) * 12) + 1) + day - 1) * Dates.MILLIS_PER_DAY
+                + hour * Dates.MILLIS_PER_HOUR + minute * Dates.MILLIS_PER_MINUTE
+                + second * Dates.MILLIS_PER_SECOND;
+        return toTime(local, timezone);
+    }
+
+    /**
+     * @param local a local time in milliseconds, as if the timezone were UTC
+     * @param timezone the timezone of the local time
+     * @return the time in milliseconds
+     */
+    static long toTime(long local, java.util.TimeZone timezone) {
+        if (TimeZones.isUtc(timezone)) {
+            return local;
+        }
+
+        final int rawOffset = timezone.getRawOffset();
+        final int before = timezone.getOffset(local - rawOffset - TRANSITION_WINDOW);
+        final int after = timezone.getOffset(local - rawOffset + TRANSITION_WINDOW);
+        if (before == after) {
+            return local - before;
+        }
+
+        // a transition is near, check which of the offsets are valid for the local time..
+        final boolean beforeValid = timezone.getOffset(local - before) == before;
+        final boolean afterValid = timezone.getOffset(local - after) == after;
+        if (beforeValid && afterValid) {
+            return Math.min(local - before, local - after);
+        } else if (afterValid) {
+            return local - after;
+        }
+        return local - before;
+    }
+
+    /**
+     * Returns the offset used to display a time. Offsets of an iCalendar timezone are applied directly; other
+     * timezones are used for floating times, which ignore daylight savings at the start of a transition (see
+     * {@link Iso8601#toString()}).
+     */
+    static int getDisplayOffset(long time, java.util.TimeZone timezone) {
+        if (timezone instanceof TimeZone) {
+            return timezone.getOffset(time);
+        }
+        if (TimeZones.isUtc(timezone)) {
+            return 0;
+        }
+        if (timezone.inDaylightTime(new java.util.Date(time))
+                && timezone.inDaylightTime(new java.util.Date(time - 1))) {
+            return timezone.getRawOffset() + timezone.getDSTSavings();
+        }
+        return timezone.getRawOffset();
+    }
+
+    private static int parseDigits(String source, int start, int count, ParsePosition pos) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            final char c = source.charAt(i);
+            if (c < '0' || c > '9') {
+                if (pos.getErrorIndex() < 0) {
+                    pos.setErrorIndex(i);
+                }
+                return 0;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * @return days since 1970-01-01 of the first day of the month
+     */
+    private static long toEpochDay(long year, int month) {
+        final long y = month <= 2 ? year - 1 : year;
+        final long era = floorDiv(y, 400);
+        final long yoe = y - era * 400;
+        final long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5;
+        final long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    private static long floorDiv(long x, long y) {
+        long r = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            r--;
+        }
+        return r;
+    }
+
+    private static GregorianCalendar getUtcCalendar(long local) {
+        final GregorianCalendar cal = new GregorianCalendar(TimeZones.getUtcTimeZone());
+        cal.setTimeInMillis(local);
+        return cal;
+    }
+
+    private static void appendDate(StringBuilder b, int year, int month, int day) {
+        appendPadded(b, year, 4);
+        appendPadded(b, month, 2);
+        appendPadded(b, day, 2);
+    }
+
+    private static void appendPadded(StringBuilder b, int value, int fieldWidth) {
+        final int limit = fieldWidth == 4 ? 10000 : 100;
+        if (value < 0 || value >= limit) {
+            final String s = Integer.toString(value);
+            for (int i = s.length(); i < fieldWidth; i++) {
+                b.append('0');
+            }
+            b.append(s);
+            return;
+        }
+        for (int divisor = limit / 10; divisor > 0; divisor /= 10) {
+            b.append((char) ('0' + value / divisor % 10));
+        }
+    }
+}
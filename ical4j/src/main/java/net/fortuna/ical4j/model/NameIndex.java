@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A compact index of calendar content by name, used by {@link PropertyList} and {@link ParameterList} to avoid a
+ * linear scan per lookup. Names are matched ignoring case, and content of the same name is chained in list order.
+ * Lists smaller than {@link #MIN_SIZE} are not indexed.
+ * @param <T> the content type
+ */
+final class NameIndex<T extends Content> {
+
+    /**
+     * The minimum list size for which an index is built.
+     */
+    static final int MIN_SIZE = 8;
+
+    private final List<T> contents;
+
+    private long version;
+
+    // open-addressed table of the distinct names, with the first and last position of content of each name
+    private String[] names;
+
+    private int[] firsts;
+
+    private int[] lasts;
+
+    private int distinctNames;
+
+    // the next position of content with the same name, or -1
+    private int[] nexts;
+
+    private int size;
+
+    /**
+     * @param contents the indexed content, positions of which must not change while the index is in use
+     * @param version an owner-defined version of the content
+     */
+    NameIndex(final List<T> contents, final long version) {
+        this.contents = contents;
+        this.version = version;
+        final int size = contents.size();
+        int capacity = Integer.highestOneBit(Math.max(size, MIN_SIZE)) * 2;
+        names = new String[capacity];
+        firsts = new int[capacity];
+        lasts = new int[capacity];
+        nexts = new int[size + MIN_SIZE];
+        for (int i = 0; i < size; i++) {
+            append(contents.get(i).getName());
+        }
+    }
+
+    /**
+     * @return the version of the content when the index was built or last appended
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Indexes content added to the end of the list.
+     * @param version the version of the content after the addition
+     * @return false if the index cannot be updated and should be rebuilt
+     */
+    boolean appended(final long version) {
+        if (size != contents.size() - 1 || (distinctNames + 1) * 2 > names.length) {
+            return false;
+        }
+        append(contents.get(size).getName());
+        this.version = version;
+        return true;
+    }
+
+    private void append(final String name) {
+        if (size == nexts.length) {
+            nexts = Arrays.copyOf(nexts, size * 2);
+        }
+        nexts[size] = -1;
+
+        final int slot = slot(name);
+        if (names[slot] == null) {
+            names[slot] = name;
+            firsts[slot] = size;
+            distinctNames++;
+        }
+        else {
+            nexts[lasts[slot]] = size;
+        }
+        lasts[slot] = size;
+        size++;
+    }
+
+    /**
+     * @return the slot of the specified name, or the empty slot where it would be added
+     */
+    private int slot(final String name) {
+        final int mask = names.length - 1;
+        int slot = hash(name) & mask;
+        for (String key = names[slot]; key != null; key = names[slot]) {
+            if (key == name || key.equalsIgnoreCase(name)) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(final String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) {
+            // consistent with String.equalsIgnoreCase
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @param name a content name
+     * @return the first content with the specified name, or null if there is none or the name is null
+     */
+    T get(final String name) {
+        if (name == null) {
+            return null;
+        }
+        final int slot = slot(name);
+        if (names[slot] == null) {
+            return null;
+        }
+        return contents.get(firsts[slot]);
+    }
+
+    /**
+     * Adds all content with the specified name to a collection in list order. A null name matches no content.
+     * @param name a content name
+     * @param collection the collection to add matching content to
+     */
+    @SuppressWarnings("unchecked")
+    <C extends T> void getAll(final String name, final Collection<? super C> collection) {
+        if (name == null) {
+            return;
+        }
+        final int slot = slot(name);
+        if (names[slot] == null) {
+            return;
+        }
+        for (int i = firsts[slot]; i >= 0; i = nexts[i]) {
+            collection.add((C) contents.get(i));
+        }
+    }
+}
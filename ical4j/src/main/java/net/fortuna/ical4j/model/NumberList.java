@@ -116,6 +116,20 @@ public class NumberList extends ArrayList<Integer> implements Serializable {
         return super.add(aNumber);
     }
 
+    /**
+     * @return an unmodifiable snapshot of the list backed by primitive values, for repeated lookups
+     */
+    public final CompactNumberList compact() {
+        if (isEmpty()) {
+            return CompactNumberList.EMPTY;
+        }
+        final int[] values = new int[size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = get(i);
+        }
+        return new CompactNumberList(values);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -36,6 +36,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import java.io.Serializable;
 import java.net.URISyntaxException;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -54,6 +55,14 @@ public class ParameterList implements Serializable {
 
     private final List<Parameter> parameters;
 
+    // incremented after each modification of the parameters. Parameters are immutable, so this also versions the
+    // cached hash
+    private transient volatile int version;
+
+    private transient volatile NameIndex<Parameter> index;
+
+    private transient volatile ContentHash hash;
+
     /**
      * Default constructor. Creates a modifiable parameter list.
      */
@@ -115,8 +124,12 @@ public class ParameterList implements Serializable {
      * @return the first matching parameter or null if no matching parameters
      */
     public final Parameter getParameter(final String aName) {
+        final NameIndex<Parameter> index = getIndex();
+        if (index != null) {
+            return index.get(aName);
+        }
         for (final Parameter p : parameters) {
-            if (aName.equalsIgnoreCase(p.getName())) {
+            if (p.getName().equalsIgnoreCase(aName)) {
                 return p;
             }
         }
@@ -130,6 +143,11 @@ public class ParameterList implements Serializable {
      */
     public final ParameterList getParameters(final String name) {
         final ParameterList list = new ParameterList();
+        final NameIndex<Parameter> index = getIndex();
+        if (index != null) {
+            index.getAll(name, list.parameters);
+            return list;
+        }
         for (final Parameter p : parameters) {
             if (p.getName().equalsIgnoreCase(name)) {
                 list.add(p);
@@ -150,7 +168,11 @@ public class ParameterList implements Serializable {
         if (parameter == null) {
             throw new IllegalArgumentException("Trying to add null Parameter");
         }
-        return parameters.add(parameter);
+        synchronized (parameters) {
+            parameters.add(parameter);
+            version++;
+        }
+        return true;
     }
 
     /**
@@ -188,7 +210,11 @@ public class ParameterList implements Serializable {
      * @see List#remove(Object)
      */
     public final boolean remove(final Parameter parameter) {
-        return parameters.remove(parameter);
+        synchronized (parameters) {
+            final boolean removed = parameters.remove(parameter);
+            version++;
+            return removed;
+        }
     }
 
     /**
@@ -197,7 +223,27 @@ public class ParameterList implements Serializable {
      */
     public final void removeAll(final String paramName) {
         final ParameterList params = getParameters(paramName);
-        parameters.removeAll(params.parameters);
+        synchronized (parameters) {
+            parameters.removeAll(params.parameters);
+            version++;
+        }
+    }
+
+    /**
+     * @return an index of a snapshot of the parameters, or null if the list is too small to benefit from an index
+     */
+    private NameIndex<Parameter> getIndex() {
+        if (parameters.size() < NameIndex.MIN_SIZE) {
+            return null;
+        }
+        NameIndex<Parameter> index = this.index;
+        final int version = this.version;
+        if (index == null || index.getVersion() != version) {
+            // the snapshot may include later modifications, in which case the index is rebuilt on next use
+            index = new NameIndex<Parameter>(Arrays.asList(parameters.toArray(new Parameter[0])), version);
+            this.index = index;
+        }
+        return index;
     }
     
     /**
@@ -223,6 +269,32 @@ public class ParameterList implements Serializable {
      * {@inheritDoc}
      */
     public final int hashCode() {
-        return new HashCodeBuilder().append(parameters).toHashCode();
+        ContentHash hash = this.hash;
+        final int version = this.version;
+        if (hash == null || !hash.isCurrent(version, 0)) {
+            hash = new ContentHash(version, 0, new HashCodeBuilder().append(parameters).toHashCode());
+            this.hash = hash;
+        }
+        return (int) hash.value;
+    }
+
+    /**
+     * @return a fingerprint of the parameter names and values in this list
+     * @see Component#fingerprint()
+     */
+    final long fingerprint() {
+        long fingerprint = ContentHash.OFFSET_BASIS;
+        for (final Parameter parameter : parameters) {
+            fingerprint = ContentHash.append(fingerprint, parameter.getName());
+            fingerprint = ContentHash.append(fingerprint, parameter.getValue());
+        }
+        return fingerprint;
+    }
+
+    /**
+     * @return a version of this list, which increases with each modification
+     */
+    final int getVersion() {
+        return version;
     }
 }
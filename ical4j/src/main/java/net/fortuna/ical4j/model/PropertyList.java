@@ -48,6 +48,13 @@ public class PropertyList<T extends Property> extends ArrayList<T> implements Se
 
     private static final long serialVersionUID = -8875923766224921031L;
 
+    // counts replacements, which unlike structural modifications don't change modCount
+    private transient int replacements;
+
+    private transient volatile NameIndex<T> index;
+
+    private transient volatile ContentHash fingerprint;
+
     /**
      * Default constructor.
      */
@@ -95,6 +102,10 @@ public class PropertyList<T extends Property> extends ArrayList<T> implements Se
      * @return a property or null if no matching property found
      */
     public final T getProperty(final String aName) {
+        final NameIndex<T> index = getIndex();
+        if (index != null) {
+            return index.get(aName);
+        }
         for (final T p : this) {
             if (p.getName().equalsIgnoreCase(aName)) {
                 return p;
@@ -111,6 +122,11 @@ public class PropertyList<T extends Property> extends ArrayList<T> implements Se
     @SuppressWarnings("unchecked")
     public final <C extends T> PropertyList<C> getProperties(final String name) {
         final PropertyList<C> list = new PropertyList<C>();
+        final NameIndex<T> index = getIndex();
+        if (index != null) {
+            index.<C>getAll(name, list);
+            return list;
+        }
         for (final T p : this) {
             if (p.getName().equalsIgnoreCase(name)) {
                 list.add((C) p);
@@ -126,7 +142,83 @@ public class PropertyList<T extends Property> extends ArrayList<T> implements Se
      * @see java.util.List#add(Object)
      */
     public final boolean add(final T property) {
-        return super.add(property);
+        final NameIndex<T> index = this.index;
+        final boolean indexed = index != null && index.getVersion() == version();
+        super.add(property);
+        if (indexed && !index.appended(version())) {
+            this.index = null;
+        }
+        return true;
+    }
+
+    /**
+     * Replace the property at the specified position.
+     * @param index the position of the property to replace
+     * @param property the property to add
+     * @return the property previously at the specified position
+     * @see java.util.List#set(int, Object)
+     */
+    public final T set(final int index, final T property) {
+        final T previous = super.set(index, property);
+        replacements++;
+        return previous;
+    }
+
+    /**
+     * @return the name index of this list, or null if the list is too small to benefit from an index
+     */
+    private NameIndex<T> getIndex() {
+        if (size() < NameIndex.MIN_SIZE) {
+            return null;
+        }
+        NameIndex<T> index = this.index;
+        final long version = version();
+        if (index == null || index.getVersion() != version) {
+            index = new NameIndex<T>(this, version);
+            this.index = index;
+        }
+        return index;
+    }
+
+    /**
+     * Returns a 64-bit fingerprint of the names, values and parameters of the properties in this list. The fingerprint
+     * is cached until the list, or the parameters of a property in the list, is modified. Property values modified in
+     * place are not detected, so properties should be replaced rather than modified once a fingerprint has been
+     * obtained. Unlike the fingerprint, {@link #hashCode()} is not cached and is consistent with equals.
+     * @return a fingerprint of the properties in this list
+     * @see Component#fingerprint()
+     */
+    public final long fingerprint() {
+        final long version = version();
+        final long parameterVersions = parameterVersions();
+        ContentHash fingerprint = this.fingerprint;
+        if (fingerprint == null || !fingerprint.isCurrent(version, parameterVersions)) {
+            long value = ContentHash.OFFSET_BASIS;
+            for (final T p : this) {
+                value = ContentHash.append(value, p.getName());
+                value = ContentHash.append(value, p.getValue());
+                value = ContentHash.append(value, p.getParameters().fingerprint());
+            }
+            fingerprint = new ContentHash(version, parameterVersions, value);
+            this.fingerprint = fingerprint;
+        }
+        return fingerprint.value;
+    }
+
+    /**
+     * @return the sum of the versions of the parameter lists of all properties, which increases with any parameter
+     * modification while the properties in this list are unchanged
+     */
+    private long parameterVersions() {
+        long versions = 0;
+        for (int i = 0; i < size(); i++) {
+            versions += get(i).getParameters().getVersion();
+        }
+        return versions;
+    }
+
+    private long version() {
+        return ((long) modCount << 32) | (replacements & 0xffffffffL);
     }
 
     /**
@@ -43,6 +43,7 @@ import java.io.Serializable;
 import java.text.ParseException;
 import java.util.*;
 import java.util.Calendar;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * $Id$ [18-Apr-2004]
@@ -119,6 +120,12 @@ public class Recur implements Serializable {
      */
     public static final String YEARLY = "YEARLY";
 
+    /**
+     * The frequencies from the coarsest to the finest resolution.
+     */
+    private static final List<String> FREQUENCIES = Arrays.asList(YEARLY, MONTHLY, WEEKLY, DAILY, HOURLY,
+            MINUTELY, SECONDLY);
+
     /**
      * When calculating dates matching this recur ({@code getDates()} or {@code getNextDate}),
      * this property defines the maximum number of attempt to find a matching date by
@@ -127,12 +134,26 @@ public class Recur implements Serializable {
      */
     public static final String KEY_MAX_INCREMENT_COUNT = "net.fortuna.ical4j.recur.maxincrementcount";
 
+    /**
+     * The maximum number of recurrences kept by {@link #intern(String)}.
+     * <p>The default value is 512.</p>
+     */
+    public static final String KEY_INTERN_CACHE_SIZE = "net.fortuna.ical4j.recur.interncachesize";
+
     private static int maxIncrementCount;
 
+    private static int internCacheSize;
+
     static {
         maxIncrementCount = Configurator.getIntProperty(KEY_MAX_INCREMENT_COUNT).orElse(1000);
+        internCacheSize = Configurator.getIntProperty(KEY_INTERN_CACHE_SIZE).orElse(512);
     }
 
+    /**
+     * Interned recurrences keyed by their string representation.
+     */
+    private static final ConcurrentHashMap<String, Recur> INTERNED = new ConcurrentHashMap<String, Recur>();
+
     private transient Logger log = LoggerFactory.getLogger(Recur.class);
 
     private String frequency;
@@ -170,6 +191,14 @@ public class Recur implements Serializable {
     // Calendar field we increment based on frequency.
     private int calIncField;
 
+    // true for a shared instance returned by intern()..
+    private boolean frozen;
+
+    // the compiled rules of a frozen instance..
+    private transient Rules rules;
+
+    private String frozenString;
+
     /**
      * Default constructor.
      */
@@ -248,6 +277,59 @@ public class Recur implements Serializable {
         }
     }
 
+    /**
+     * Returns a shared, unmodifiable recurrence for the specified string value. Identical values are parsed and
+     * compiled once and the same instance is returned while it remains in a bounded cache (see
+     * {@link #KEY_INTERN_CACHE_SIZE}).
+     * <p/>
+     * Setters of the returned instance throw {@link UnsupportedOperationException}, and the rule part lists and
+     * UNTIL date returned by its getters are copies. Use {@link #Recur(String)} for a modifiable instance.
+     *
+     * @param aValue a string representation of a recurrence
+     * @return a shared recurrence instance
+     * @throws ParseException thrown when the specified string contains an invalid representation of an UNTIL date
+     * value
+     */
+    public static Recur intern(final String aValue) throws ParseException {
+        Recur recur = INTERNED.get(aValue);
+        if (recur == null) {
+            recur = new Recur(aValue);
+            recur.freeze();
+            if (INTERNED.size() >= internCacheSize) {
+                // rules are usually repeated within a calendar, start again rather than track usage..
+                INTERNED.clear();
+            }
+            final Recur existing = INTERNED.putIfAbsent(aValue, recur);
+            if (existing != null) {
+                recur = existing;
+            }
+        }
+        return recur;
+    }
+
+    /**
+     * Makes this instance unmodifiable and compiles its rules for expansion.
+     */
+    private void freeze() {
+        frozenString = toString();
+        rules = new Rules(this);
+        experimentalValues = Collections.unmodifiableMap(experimentalValues);
+        frozen = true;
+    }
+
+    /**
+     * @return true if this is a shared instance returned by {@link #intern(String)}
+     */
+    public final boolean isInterned() {
+        return frozen;
+    }
+
+    private void assertModifiable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Interned recurrence cannot be modified");
+        }
+    }
+
     /**
      * @param frequency a recurrence frequency string
      * @param until     maximum recurrence date
@@ -276,6 +358,13 @@ public class Recur implements Serializable {
      * @return Returns the dayList.
      */
     public final WeekDayList getDayList() {
+        if (frozen) {
+            final WeekDayList copy = new WeekDayList();
+            if (dayList != null) {
+                copy.addAll(dayList);
+            }
+            return copy;
+        }
         if (dayList == null) {
             dayList = new WeekDayList();
         }
@@ -286,6 +375,13 @@ public class Recur implements Serializable {
      * @return Returns the hourList.
      */
     public final NumberList getHourList() {
+        if (frozen) {
+            final NumberList copy = new NumberList(0, 23, false);
+            if (hourList != null) {
+                copy.addAll(hourList);
+            }
+            return copy;
+        }
         if (hourList == null) {
             hourList = new NumberList(0, 23, false);
         }
@@ -296,6 +392,13 @@ public class Recur implements Serializable {
      * @return Returns the minuteList.
      */
     public final NumberList getMinuteList() {
+        if (frozen) {
+            final NumberList copy = new NumberList(0, 59, false);
+            if (minuteList != null) {
+                copy.addAll(minuteList);
+            }
+            return copy;
+        }
         if (minuteList == null) {
             minuteList = new NumberList(0, 59, false);
         }
@@ -306,6 +409,13 @@ public class Recur implements Serializable {
      * @return Returns the monthDayList.
      */
     public final NumberList getMonthDayList() {
+        if (frozen) {
+            final NumberList copy = new NumberList(1, 31, true);
+            if (monthDayList != null) {
+                copy.addAll(monthDayList);
+            }
+            return copy;
+        }
         if (monthDayList == null) {
             monthDayList = new NumberList(1, 31, true);
         }
@@ -316,6 +426,13 @@ public class Recur implements Serializable {
      * @return Returns the monthList.
      */
     public final NumberList getMonthList() {
+        if (frozen) {
+            final NumberList copy = new NumberList(1, 12, false);
+            if (monthList != null) {
+                copy.addAll(monthList);
+            }
+            return copy;
+        }
         if (monthList == null) {
             monthList = new NumberList(1, 12, false);
         }
@@ -326,6 +443,13 @@ public class Recur implements Serializable {
      * @return Returns the secondList.
      */
     public final NumberList getSecondList() {
+        if (frozen) {
+            final NumberList copy = new NumberList(0, 59, false);
+            if (secondList != null) {
+                copy.addAll(secondList);
+            }
+            return copy;
+        }
         if (secondList == null) {
             secondList = new NumberList(0, 59, false);
         }
@@ -336,6 +460,13 @@ public class Recur implements Serializable {
      * @return Returns the setPosList.
      */
     public final NumberList getSetPosList() {
+        if (frozen) {
+            final NumberList copy = new NumberList(1, 366, true);
+            if (setPosList != null) {
+                copy.addAll(setPosList);
+            }
+            return copy;
+        }
         if (setPosList == null) {
             setPosList = new NumberList(1, 366, true);
         }
@@ -346,6 +477,13 @@ public class Recur implements Serializable {
      * @return Returns the weekNoList.
      */
     public final NumberList getWeekNoList() {
+        if (frozen) {
+            final NumberList copy = new NumberList(1, 53, true);
+            if (weekNoList != null) {
+                copy.addAll(weekNoList);
+            }
+            return copy;
+        }
         if (weekNoList == null) {
             weekNoList = new NumberList(1, 53, true);
         }
@@ -356,6 +494,13 @@ public class Recur implements Serializable {
      * @return Returns the yearDayList.
      */
     public final NumberList getYearDayList() {
+        if (frozen) {
+            final NumberList copy = new NumberList(1, 366, true);
+            if (yearDayList != null) {
+                copy.addAll(yearDayList);
+            }
+            return copy;
+        }
         if (yearDayList == null) {
             yearDayList = new NumberList(1, 366, true);
         }
@@ -394,6 +539,9 @@ public class Recur implements Serializable {
      * @return Returns the until or null if there is none.
      */
     public final Date getUntil() {
+        if (frozen && until != null) {
+            return until instanceof DateTime ? new DateTime(until) : new Date(until);
+        }
         return until;
     }
 
@@ -408,6 +556,7 @@ public class Recur implements Serializable {
      * @param weekStartDay The weekStartDay to set.
      */
     public final void setWeekStartDay(final WeekDay.Day weekStartDay) {
+        assertModifiable();
         this.weekStartDay = weekStartDay;
         if (weekStartDay != null) {
             calendarWeekStartDay = WeekDay.getCalendarDay(WeekDay.getWeekDay(weekStartDay));
@@ -419,6 +568,9 @@ public class Recur implements Serializable {
      */
     @Override
     public final String toString() {
+        if (frozenString != null) {
+            return frozenString;
+        }
         final StringBuilder b = new StringBuilder();
         b.append(FREQ);
         b.append('=');
@@ -570,6 +722,7 @@ public class Recur implements Serializable {
                                    final Date periodEnd, final Value value,
                                    final int maxCount) {
 
+        final Rules rules = getRules();
         final DateList dates = new DateList(value);
         if (seed instanceof DateTime) {
             if (((DateTime) seed).isUtc()) {
@@ -599,8 +752,8 @@ public class Recur implements Serializable {
         while ((maxCount < 0) || (dates.size() < maxCount)) {
             final Date candidateSeed = Dates.getInstance(cal.getTime(), value);
 
-            if (getUntil() != null && candidate != null
-                    && candidate.after(getUntil())) {
+            if (until != null && candidate != null
+                    && candidate.after(until)) {
 
                 break;
             }
@@ -624,7 +777,7 @@ public class Recur implements Serializable {
                 }
             }
 
-            final DateList candidates = getCandidates(candidateSeed, value);
+            final DateList candidates = getCandidates(rules, candidateSeed, value);
             if (!candidates.isEmpty()) {
                 noCandidateIncrementCount = 0;
                 // sort candidates for identifying when UNTIL date is exceeded..
@@ -640,8 +793,8 @@ public class Recur implements Serializable {
                         } else if (getCount() >= 1
                                 && (dates.size() + invalidCandidates.size()) >= getCount()) {
                             break;
-                        } else if (!(getUntil() != null
-                                && candidate.after(getUntil()))) {
+                        } else if (!(until != null
+                                && candidate.after(until))) {
                             dates.add(candidate);
                         }
                     }
@@ -675,6 +828,7 @@ public class Recur implements Serializable {
      */
     public final Date getNextDate(final Date seed, final Date startDate) {
 
+        final Rules rules = getRules();
         final Calendar cal = getCalendarInstance(seed, true);
 
         // optimize the start time for selecting candidates
@@ -695,7 +849,7 @@ public class Recur implements Serializable {
         while (true) {
             final Date candidateSeed = Dates.getInstance(cal.getTime(), value);
 
-            if (getUntil() != null && candidate != null && candidate.after(getUntil())) {
+            if (until != null && candidate != null && candidate.after(until)) {
                 break;
             }
 
@@ -711,7 +865,7 @@ public class Recur implements Serializable {
                 }
             }
 
-            final DateList candidates = getCandidates(candidateSeed, value);
+            final DateList candidates = getCandidates(rules, candidateSeed, value);
             if (!candidates.isEmpty()) {
                 noCandidateIncrementCount = 0;
                 // sort candidates for identifying when UNTIL date is exceeded..
@@ -728,8 +882,8 @@ public class Recur implements Serializable {
                         } else if (getCount() > 0
                                 && invalidCandidateCount >= getCount()) {
                             break;
-                        } else if (!(getUntil() != null
-                                && candidate.after(getUntil()))) {
+                        } else if (!(until != null
+                                && candidate.after(until))) {
                             return candidate;
                         }
                     }
@@ -785,7 +939,7 @@ public class Recur implements Serializable {
      * @param value the type of date list to return
      * @return a DateList
      */
-    private DateList getCandidates(final Date date, final Value value) {
+    private DateList getCandidates(final Rules rules, final Date date, final Value value) {
         DateList dates = new DateList(value);
         if (date instanceof DateTime) {
             if (((DateTime) date).isUtc()) {
@@ -795,47 +949,47 @@ public class Recur implements Serializable {
             }
         }
         dates.add(date);
-        dates = getMonthVariants(dates);
+        dates = getMonthVariants(rules, dates);
         // debugging..
         if (log.isDebugEnabled()) {
             log.debug("Dates after BYMONTH processing: " + dates);
         }
-        dates = getWeekNoVariants(dates);
+        dates = getWeekNoVariants(rules, dates);
         // debugging..
         if (log.isDebugEnabled()) {
             log.debug("Dates after BYWEEKNO processing: " + dates);
         }
-        dates = getYearDayVariants(dates);
+        dates = getYearDayVariants(rules, dates);
         // debugging..
         if (log.isDebugEnabled()) {
             log.debug("Dates after BYYEARDAY processing: " + dates);
         }
-        dates = getMonthDayVariants(dates);
+        dates = getMonthDayVariants(rules, dates);
         // debugging..
         if (log.isDebugEnabled()) {
             log.debug("Dates after BYMONTHDAY processing: " + dates);
         }
-        dates = getDayVariants(dates);
+        dates = getDayVariants(rules, dates);
         // debugging..
         if (log.isDebugEnabled()) {
             log.debug("Dates after BYDAY processing: " + dates);
         }
-        dates = getHourVariants(dates);
+        dates = getHourVariants(rules, dates);
         // debugging..
         if (log.isDebugEnabled()) {
             log.debug("Dates after BYHOUR processing: " + dates);
         }
-        dates = getMinuteVariants(dates);
+        dates = getMinuteVariants(rules, dates);
         // debugging..
         if (log.isDebugEnabled()) {
             log.debug("Dates after BYMINUTE processing: " + dates);
         }
-        dates = getSecondVariants(dates);
+        dates = getSecondVariants(rules, dates);
         // debugging..
         if (log.isDebugEnabled()) {
             log.debug("Dates after BYSECOND processing: " + dates);
         }
-        dates = applySetPosRules(dates);
+        dates = applySetPosRules(rules, dates);
         // debugging..
         if (log.isDebugEnabled()) {
             log.debug("Dates after SETPOS processing: " + dates);
@@ -849,17 +1003,17 @@ public class Recur implements Serializable {
      *
      * @param dates
      */
-    private DateList applySetPosRules(final DateList dates) {
+    private DateList applySetPosRules(final Rules rules, final DateList dates) {
         // return if no SETPOS rules specified..
-        if (getSetPosList().isEmpty()) {
+        if (rules.setPos.isEmpty()) {
             return dates;
         }
         // sort the list before processing..
         Collections.sort(dates);
         final DateList setPosDates = getDateListInstance(dates);
         final int size = dates.size();
-        for (final Integer setPos : getSetPosList()) {
-            final int pos = setPos;
+        for (int i = 0; i < rules.setPos.size(); i++) {
+            final int pos = rules.setPos.get(i);
             if (pos > 0 && pos <= size) {
                 setPosDates.add(dates.get(pos - 1));
             } else if (pos < 0 && pos >= -size) {
@@ -876,16 +1030,27 @@ public class Recur implements Serializable {
      * @param dates
      * @return
      */
-    private DateList getMonthVariants(final DateList dates) {
-        if (getMonthList().isEmpty()) {
+    private DateList getMonthVariants(final Rules rules, final DateList dates) {
+        if (rules.months.isEmpty()) {
             return dates;
         }
         final DateList monthlyDates = getDateListInstance(dates);
+        if (isFrequencyWithin(MONTHLY)) {
+            // BYMONTH limits rather than expands at this frequency..
+            for (final Date date : dates) {
+                final Calendar cal = getCalendarInstance(date, true);
+                if (rules.months.contains(cal.get(Calendar.MONTH) + 1)) {
+                    monthlyDates.add(date);
+                }
+            }
+            return monthlyDates;
+        }
         for (final Date date : dates) {
             final Calendar cal = getCalendarInstance(date, true);
             final Calendar freqEnd = getCalendarInstance(date, true);
             increment(freqEnd);
-            for (final Integer month : getMonthList()) {
+            for (int i = 0; i < rules.months.size(); i++) {
+                final int month = rules.months.get(i);
                 // Java months are zero-based..
 //                cal.set(Calendar.MONTH, month.intValue() - 1);
                 cal.roll(Calendar.MONTH, (month - 1) - cal.get(Calendar.MONTH));
@@ -905,14 +1070,15 @@ public class Recur implements Serializable {
      * @param dates
      * @return
      */
-    private DateList getWeekNoVariants(final DateList dates) {
-        if (getWeekNoList().isEmpty()) {
+    private DateList getWeekNoVariants(final Rules rules, final DateList dates) {
+        if (rules.weekNos.isEmpty()) {
             return dates;
         }
         final DateList weekNoDates = getDateListInstance(dates);
         for (final Date date : dates) {
             final Calendar cal = getCalendarInstance(date, true);
-            for (final Integer weekNo : getWeekNoList()) {
+            for (int i = 0; i < rules.weekNos.size(); i++) {
+                final int weekNo = rules.weekNos.get(i);
                 cal.set(Calendar.WEEK_OF_YEAR, Dates.getAbsWeekNo(cal.getTime(), weekNo));
                 weekNoDates.add(Dates.getInstance(cal.getTime(), weekNoDates.getType()));
             }
@@ -927,15 +1093,29 @@ public class Recur implements Serializable {
      * @param dates
      * @return
      */
-    private DateList getYearDayVariants(final DateList dates) {
-        if (getYearDayList().isEmpty()) {
+    private DateList getYearDayVariants(final Rules rules, final DateList dates) {
+        if (rules.yearDays.isEmpty()) {
             return dates;
         }
         final DateList yearDayDates = getDateListInstance(dates);
         for (final Date date : dates) {
             final Calendar cal = getCalendarInstance(date, true);
-            for (final Integer yearDay : getYearDayList()) {
-                cal.set(Calendar.DAY_OF_YEAR, Dates.getAbsYearDay(cal.getTime(), yearDay));
+            final int daysInYear = cal.getActualMaximum(Calendar.DAY_OF_YEAR);
+            if (isFrequencyWithin(HOURLY)) {
+                // BYYEARDAY limits rather than expands at this frequency..
+                if (rules.yearDays.containsPosition(cal.get(Calendar.DAY_OF_YEAR), daysInYear)) {
+                    yearDayDates.add(date);
+                }
+                continue;
+            }
+            for (int i = 0; i < rules.yearDays.size(); i++) {
+                final int yearDay = rules.yearDays.get(i);
+                final int absYearDay = yearDay > 0 ? yearDay : daysInYear + yearDay + 1;
+                if (absYearDay < 1) {
+                    // no such day in this year..
+                    continue;
+                }
+                cal.set(Calendar.DAY_OF_YEAR, absYearDay);
                 yearDayDates.add(Dates.getInstance(cal.getTime(), yearDayDates.getType()));
             }
         }
@@ -949,23 +1129,32 @@ public class Recur implements Serializable {
      * @param dates
      * @return
      */
-    private DateList getMonthDayVariants(final DateList dates) {
-        if (getMonthDayList().isEmpty()) {
+    private DateList getMonthDayVariants(final Rules rules, final DateList dates) {
+        if (rules.monthDays.isEmpty()) {
             return dates;
         }
         final DateList monthDayDates = getDateListInstance(dates);
         for (final Date date : dates) {
             final Calendar cal = getCalendarInstance(date, false);
-            for (final Integer monthDay : getMonthDayList()) {
-                try {
-                    cal.set(Calendar.DAY_OF_MONTH, Dates.getAbsMonthDay(cal.getTime(), monthDay));
-                    monthDayDates.add(Dates.getInstance(cal.getTime(), monthDayDates.getType()));
-                } catch (IllegalArgumentException iae) {
+            final int daysInMonth = cal.getActualMaximum(Calendar.DAY_OF_MONTH);
+            if (isFrequencyWithin(DAILY)) {
+                // BYMONTHDAY limits rather than expands at this frequency..
+                if (rules.monthDays.containsPosition(cal.get(Calendar.DAY_OF_MONTH), daysInMonth)) {
+                    monthDayDates.add(date);
+                }
+                continue;
+            }
+            for (int i = 0; i < rules.monthDays.size(); i++) {
+                final int monthDay = rules.monthDays.get(i);
+                final int absMonthDay = monthDay > 0 ? monthDay : daysInMonth + monthDay + 1;
+                if (absMonthDay < 1 || absMonthDay > daysInMonth) {
                     if (log.isTraceEnabled()) {
-                        log.trace("Invalid day of month: " + Dates.getAbsMonthDay(cal
-                                .getTime(), monthDay));
+                        log.trace("Invalid day of month: " + monthDay);
                     }
+                    continue;
                 }
+                cal.set(Calendar.DAY_OF_MONTH, absMonthDay);
+                monthDayDates.add(Dates.getInstance(cal.getTime(), monthDayDates.getType()));
             }
         }
         return monthDayDates;
@@ -978,23 +1167,25 @@ public class Recur implements Serializable {
      * @param dates
      * @return
      */
-    private DateList getDayVariants(final DateList dates) {
-        if (getDayList().isEmpty()) {
+    private DateList getDayVariants(final Rules rules, final DateList dates) {
+        if (rules.days.isEmpty()) {
             return dates;
         }
         final DateList weekDayDates = getDateListInstance(dates);
+        // if BYYEARDAY or BYMONTHDAY is specified, or BYDAY limits the frequency, filter existing list..
+        final boolean filter = !rules.yearDays.isEmpty() || !rules.monthDays.isEmpty()
+                || isFrequencyWithin(HOURLY);
         for (final Date date : dates) {
-            for (final WeekDay weekDay : getDayList()) {
-                // if BYYEARDAY or BYMONTHDAY is specified filter existing
-                // list..
-                if (!getYearDayList().isEmpty() || !getMonthDayList().isEmpty()) {
-                    final Calendar cal = getCalendarInstance(date, true);
-                    if (weekDay.equals(WeekDay.getWeekDay(cal))) {
-                        weekDayDates.add(date);
-                    }
-                } else {
-                    weekDayDates.addAll(getAbsWeekDays(date, dates.getType(), weekDay));
+            if (filter) {
+                final Calendar cal = getCalendarInstance(date, true);
+                if (rules.days.containsDay(cal.get(Calendar.DAY_OF_WEEK))) {
+                    weekDayDates.add(date);
                 }
+                continue;
+            }
+            for (int i = 0; i < rules.days.size(); i++) {
+                weekDayDates.addAll(getAbsWeekDays(rules, date, dates.getType(),
+                        rules.days.getCalendarDay(i), rules.days.getOffset(i)));
             }
         }
         return weekDayDates;
@@ -1005,10 +1196,12 @@ public class Recur implements Serializable {
      * specified by this recurrence rule.
      *
      * @param date
-     * @param weekDay
+     * @param calDay the {@link Calendar} day of the week day
+     * @param offset the offset of the week day
      * @return
      */
-    private List<Date> getAbsWeekDays(final Date date, final Value type, final WeekDay weekDay) {
+    private List<Date> getAbsWeekDays(final Rules rules, final Date date, final Value type, final int calDay,
+                                      final int offset) {
         final Calendar cal = getCalendarInstance(date, true);
         final DateList days = new DateList(type);
         if (date instanceof DateTime) {
@@ -1018,7 +1211,6 @@ public class Recur implements Serializable {
                 days.setTimeZone(((DateTime) date).getTimeZone());
             }
         }
-        final int calDay = WeekDay.getCalendarDay(weekDay);
         if (calDay == -1) {
             // a matching weekday cannot be identified..
             return days;
@@ -1027,7 +1219,7 @@ public class Recur implements Serializable {
             if (cal.get(Calendar.DAY_OF_WEEK) == calDay) {
                 days.add(Dates.getInstance(cal.getTime(), type));
             }
-        } else if (WEEKLY.equals(getFrequency()) || !getWeekNoList().isEmpty()) {
+        } else if (WEEKLY.equals(getFrequency()) || !rules.weekNos.isEmpty()) {
             final int weekNo = cal.get(Calendar.WEEK_OF_YEAR);
             // construct a list of possible week days..
             cal.set(Calendar.DAY_OF_WEEK, cal.getFirstDayOfWeek());
@@ -1039,7 +1231,7 @@ public class Recur implements Serializable {
                 days.add(Dates.getInstance(cal.getTime(), type));
 //                cal.add(Calendar.DAY_OF_WEEK, Dates.DAYS_PER_WEEK);
             }
-        } else if (MONTHLY.equals(getFrequency()) || !getMonthList().isEmpty()) {
+        } else if (MONTHLY.equals(getFrequency()) || !rules.months.isEmpty()) {
             final int month = cal.get(Calendar.MONTH);
             // construct a list of possible month days..
             cal.set(Calendar.DAY_OF_MONTH, 1);
@@ -1062,7 +1254,7 @@ public class Recur implements Serializable {
                 cal.add(Calendar.DAY_OF_YEAR, Dates.DAYS_PER_WEEK);
             }
         }
-        return getOffsetDates(days, weekDay.getOffset());
+        return getOffsetDates(days, offset);
     }
 
     /**
@@ -1094,14 +1286,22 @@ public class Recur implements Serializable {
      * @param dates
      * @return
      */
-    private DateList getHourVariants(final DateList dates) {
-        if (getHourList().isEmpty()) {
+    private DateList getHourVariants(final Rules rules, final DateList dates) {
+        if (rules.hours.isEmpty()) {
             return dates;
         }
         final DateList hourlyDates = getDateListInstance(dates);
         for (final Date date : dates) {
             final Calendar cal = getCalendarInstance(date, true);
-            for (final Integer hour : getHourList()) {
+            if (isFrequencyWithin(HOURLY)) {
+                // BYHOUR limits rather than expands at this frequency..
+                if (rules.hours.contains(cal.get(Calendar.HOUR_OF_DAY))) {
+                    hourlyDates.add(date);
+                }
+                continue;
+            }
+            for (int i = 0; i < rules.hours.size(); i++) {
+                final int hour = rules.hours.get(i);
                 cal.set(Calendar.HOUR_OF_DAY, hour);
                 hourlyDates.add(Dates.getInstance(cal.getTime(), hourlyDates.getType()));
             }
@@ -1116,14 +1316,22 @@ public class Recur implements Serializable {
      * @param dates
      * @return
      */
-    private DateList getMinuteVariants(final DateList dates) {
-        if (getMinuteList().isEmpty()) {
+    private DateList getMinuteVariants(final Rules rules, final DateList dates) {
+        if (rules.minutes.isEmpty()) {
             return dates;
         }
         final DateList minutelyDates = getDateListInstance(dates);
         for (final Date date : dates) {
             final Calendar cal = getCalendarInstance(date, true);
-            for (final Integer minute : getMinuteList()) {
+            if (isFrequencyWithin(MINUTELY)) {
+                // BYMINUTE limits rather than expands at this frequency..
+                if (rules.minutes.contains(cal.get(Calendar.MINUTE))) {
+                    minutelyDates.add(date);
+                }
+                continue;
+            }
+            for (int i = 0; i < rules.minutes.size(); i++) {
+                final int minute = rules.minutes.get(i);
                 cal.set(Calendar.MINUTE, minute);
                 minutelyDates.add(Dates.getInstance(cal.getTime(), minutelyDates.getType()));
             }
@@ -1138,14 +1346,22 @@ public class Recur implements Serializable {
      * @param dates
      * @return
      */
-    private DateList getSecondVariants(final DateList dates) {
-        if (getSecondList().isEmpty()) {
+    private DateList getSecondVariants(final Rules rules, final DateList dates) {
+        if (rules.seconds.isEmpty()) {
             return dates;
         }
         final DateList secondlyDates = getDateListInstance(dates);
         for (final Date date : dates) {
             final Calendar cal = getCalendarInstance(date, true);
-            for (final Integer second : getSecondList()) {
+            if (isFrequencyWithin(SECONDLY)) {
+                // BYSECOND limits rather than expands at this frequency..
+                if (rules.seconds.contains(cal.get(Calendar.SECOND))) {
+                    secondlyDates.add(date);
+                }
+                continue;
+            }
+            for (int i = 0; i < rules.seconds.size(); i++) {
+                final int second = rules.seconds.get(i);
                 cal.set(Calendar.SECOND, second);
                 secondlyDates.add(Dates.getInstance(cal.getTime(), secondlyDates.getType()));
             }
@@ -1153,6 +1369,15 @@ public class Recur implements Serializable {
         return secondlyDates;
     }
 
+    /**
+     * @param frequency a frequency
+     * @return true if the frequency of this recurrence is the specified frequency or a finer one, such that a BY*
+     * rule part of the corresponding period limits rather than expands the candidates (see RFC 5545 3.3.10)
+     */
+    private boolean isFrequencyWithin(final String frequency) {
+        return FREQUENCIES.indexOf(getFrequency()) >= FREQUENCIES.indexOf(frequency);
+    }
+
     private void validateFrequency() {
         if (frequency == null) {
             throw new IllegalArgumentException(
@@ -1182,6 +1407,7 @@ public class Recur implements Serializable {
      * @param count The count to set.
      */
     public final void setCount(final int count) {
+        assertModifiable();
         this.count = count;
         this.until = null;
     }
@@ -1190,6 +1416,7 @@ public class Recur implements Serializable {
      * @param frequency The frequency to set.
      */
     public final void setFrequency(final String frequency) {
+        assertModifiable();
         this.frequency = frequency;
         validateFrequency();
     }
@@ -1198,6 +1425,7 @@ public class Recur implements Serializable {
      * @param interval The interval to set.
      */
     public final void setInterval(final int interval) {
+        assertModifiable();
         this.interval = interval;
     }
 
@@ -1205,6 +1433,7 @@ public class Recur implements Serializable {
      * @param until The until to set.
      */
     public final void setUntil(final Date until) {
+        assertModifiable();
         this.until = until;
         this.count = -1;
     }
@@ -1235,6 +1464,58 @@ public class Recur implements Serializable {
     private void readObject(final java.io.ObjectInputStream stream) throws IOException, ClassNotFoundException {
         stream.defaultReadObject();
         log = LoggerFactory.getLogger(Recur.class);
+        if (frozen) {
+            rules = new Rules(this);
+        }
+    }
+
+    /**
+     * @return the compiled rules of an interned instance, otherwise rules compiled from the current rule parts
+     */
+    private Rules getRules() {
+        return frozen ? rules : new Rules(this);
+    }
+
+    /**
+     * The BY* rule parts compiled for expansion, so candidates are generated from primitive lists rather than by
+     * iterating lists of boxed values. Interned recurrences compile their rules once, other instances at the
+     * start of each expansion since their lists may be modified between expansions.
+     */
+    private static final class Rules {
+
+        final CompactNumberList months;
+
+        final CompactNumberList weekNos;
+
+        final CompactNumberList yearDays;
+
+        final CompactNumberList monthDays;
+
+        final CompactWeekDayList days;
+
+        final CompactNumberList hours;
+
+        final CompactNumberList minutes;
+
+        final CompactNumberList seconds;
+
+        final CompactNumberList setPos;
+
+        Rules(final Recur recur) {
+            months = compact(recur.monthList);
+            weekNos = compact(recur.weekNoList);
+            yearDays = compact(recur.yearDayList);
+            monthDays = compact(recur.monthDayList);
+            days = recur.dayList == null ? CompactWeekDayList.EMPTY : recur.dayList.compact();
+            hours = compact(recur.hourList);
+            minutes = compact(recur.minuteList);
+            seconds = compact(recur.secondList);
+            setPos = compact(recur.setPosList);
+        }
+
+        private static CompactNumberList compact(final NumberList list) {
+            return list == null ? CompactNumberList.EMPTY : list.compact();
+        }
     }
 
     /**
@@ -146,14 +146,28 @@ public class TimeZoneRegistryImpl implements TimeZoneRegistry {
      * {@inheritDoc}
      */
     public final TimeZone getTimeZone(final String id) {
-        TimeZone timezone = (TimeZone) timezones.get(id);
+        return getTimeZone(id, true);
+    }
+
+    /**
+     * Returns the timezone definition included with the library for the specified identifier, ignoring any
+     * timezones registered with this instance.
+     * @param id a timezone identifier
+     * @return an included timezone matching the specified identifier, or null if there is no such definition
+     */
+    public final TimeZone getDefaultTimeZone(final String id) {
+        return getTimeZone(id, false);
+    }
+
+    private TimeZone getTimeZone(final String id, final boolean includeRegistered) {
+        TimeZone timezone = includeRegistered ? (TimeZone) timezones.get(id) : null;
         if (timezone == null) {
             timezone = (TimeZone) DEFAULT_TIMEZONES.get(id);
             if (timezone == null) {
                 // if timezone not found with identifier, try loading an alias..
                 final String alias = ALIASES.getProperty(id);
                 if (alias != null) {
-                    return getTimeZone(alias);
+                    return getTimeZone(alias, includeRegistered);
                 } else {
                     synchronized (DEFAULT_TIMEZONES) {
                         // check again as it may be loaded now..
@@ -170,7 +184,7 @@ public class TimeZoneRegistryImpl implements TimeZoneRegistry {
                                     // strip global part of id and match on default tz..
                                     Matcher matcher = TZ_ID_SUFFIX.matcher(id);
                                     if (matcher.find()) {
-                                        return getTimeZone(matcher.group());
+                                        return getTimeZone(matcher.group(), includeRegistered);
                                     }
                                 }
                             } catch (Exception e) {
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.property.RecurrenceId;
+import net.fortuna.ical4j.model.property.Uid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * $Id$
+ *
+ * Provides indexing of components on their UID, identifying the master component and any overridden instances
+ * (components with a RECURRENCE-ID) of each UID. Instances are obtained via {@link ComponentList#getUidIndex()},
+ * which maintains the index as components are added to the list.
+ *
+ * Components are indexed when added to a list, so the UID and RECURRENCE-ID of a component must not be changed
+ * after it is added.
+ * @param <T> the component type
+ */
+public final class UidIndex<T extends Component> {
+
+    private final Map<String, Entry<T>> entries = new LinkedHashMap<String, Entry<T>>();
+
+    private final ComponentSequenceComparator sequenceComparator = new ComponentSequenceComparator();
+
+    long version;
+
+    UidIndex(final List<T> components, final long version) {
+        this.version = version;
+        for (final T c : components) {
+            add(c);
+        }
+    }
+
+    void add(final T component) {
+        final Uid uid = (Uid) component.getProperty(Property.UID);
+        final String key = uid != null ? uid.getValue() : null;
+        Entry<T> entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry<T>();
+            entries.put(key, entry);
+        }
+        entry.components.add(component);
+
+        final RecurrenceId recurrenceId = (RecurrenceId) component.getProperty(Property.RECURRENCE_ID);
+        if (recurrenceId == null || recurrenceId.getDate() == null) {
+            if (entry.master == null) {
+                entry.master = component;
+            }
+        }
+        else {
+            // later revisions of an instance supersede earlier ones
+            final Long instance = recurrenceId.getDate().getTime();
+            final T existing = entry.overrides.get(instance);
+            if (existing == null || sequenceComparator.compare(component, existing) >= 0) {
+                entry.overrides.put(instance, component);
+            }
+        }
+    }
+
+    /**
+     * @return the UID values of indexed components in the order first added, including null where components have
+     * no UID
+     */
+    public Set<String> getUids() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * @param uid a UID value, or null for components without a UID
+     * @return all components with the specified UID in list order
+     */
+    public List<T> getComponents(final String uid) {
+        final Entry<T> entry = entries.get(uid);
+        if (entry == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(entry.components);
+    }
+
+    /**
+     * @param uid a UID value
+     * @return the first component with the specified UID and no RECURRENCE-ID, or null if there is none
+     */
+    public T getMaster(final String uid) {
+        final Entry<T> entry = entries.get(uid);
+        return entry != null ? entry.master : null;
+    }
+
+    /**
+     * @param uid a UID value
+     * @param recurrenceId the start of an instance of the recurrence set
+     * @return the component overriding the specified instance, or null if the instance is not overridden
+     */
+    public T getOverride(final String uid, final Date recurrenceId) {
+        final Entry<T> entry = entries.get(uid);
+        if (entry == null || entry.overrides.isEmpty()) {
+            return null;
+        }
+        return entry.overrides.get(recurrenceId.getTime());
+    }
+
+    /**
+     * Calculates the instances of the recurrence set of the specified UID within a period, substituting overridden
+     * instances.
+     * @param uid a UID value
+     * @param period the period within which instances start
+     * @return a map of the original period of each instance to the master component, or the component overriding
+     * the instance
+     * @see Component#calculateRecurrenceSet(Period)
+     */
+    public Map<Period, T> calculateOccurrences(final String uid, final Period period) {
+        final Entry<T> entry = entries.get(uid);
+        if (entry == null || entry.master == null) {
+            return Collections.emptyMap();
+        }
+
+        final Map<Period, T> occurrences = new LinkedHashMap<Period, T>();
+        for (final Period instance : entry.master.calculateRecurrenceSet(period)) {
+            final T override = entry.overrides.get(instance.getStart().getTime());
+            occurrences.put(instance, override != null ? override : entry.master);
+        }
+        return occurrences;
+    }
+
+    private static final class Entry<T extends Component> {
+
+        private final List<T> components = new ArrayList<T>();
+
+        private final Map<Long, T> overrides = new HashMap<Long, T>(4);
+
+        private T master;
+    }
+}
@@ -82,6 +82,16 @@ public class WeekDayList extends ArrayList<WeekDay> implements Serializable {
         }
     }
 
+    /**
+     * @return an unmodifiable snapshot of the list with precomputed calendar days, for repeated lookups
+     */
+    public final CompactWeekDayList compact() {
+        if (isEmpty()) {
+            return CompactWeekDayList.EMPTY;
+        }
+        return new CompactWeekDayList(toArray(new WeekDay[size()]));
+    }
+
     /**
      * {@inheritDoc}
      */
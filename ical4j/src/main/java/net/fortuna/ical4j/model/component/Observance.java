@@ -153,7 +153,7 @@ public abstract class Observance extends Component {
      * @return the latest applicable observance date or null if there is no applicable observance onset for the
      * specified date
      */
-    public final Date getLatestOnset(final Date date) {
+    public final synchronized Date getLatestOnset(final Date date) {
 
         if (initialOnset == null) {
             try {
@@ -258,6 +258,74 @@ public abstract class Observance extends Component {
         return onset;
     }
 
+    /**
+     * Calculates onsets of this observance for the onset timeline of a {@link VTimeZone}. The initial onset and any
+     * RDATE onsets are included only when <code>from</code> is null. RRULE onsets are included where the recurrence
+     * instance (before applying TZOFFSETFROM) falls within the range [from, to).
+     *
+     * @param from the start of the recurrence range, or null to start from DTSTART
+     * @param to   the end of the recurrence range (exclusive)
+     * @return onsets in UTC milliseconds in no particular order, or null if the initial onset cannot be determined
+     */
+    final long[] calculateOnsets(final Date from, final Date to) {
+        final DateTime initialOnsetUTC;
+        try {
+            initialOnsetUTC = calculateOnset(((DtStart) getRequiredProperty(Property.DTSTART)).getDate());
+        } catch (ParseException e) {
+            Logger log = LoggerFactory.getLogger(Observance.class);
+            log.error("Unexpected error calculating initial onset", e);
+            return null;
+        } catch (ConstraintViolationException e) {
+            Logger log = LoggerFactory.getLogger(Observance.class);
+            log.error("Unexpected error calculating initial onset", e);
+            return null;
+        }
+        final long initial = applyOffsetFrom(initialOnsetUTC).getTime();
+
+        final DateList onsets = new DateList();
+        onsets.setUtc(true);
+        if (from == null) {
+            onsets.add(new DateTime(initial));
+            // RDATEs before the initial onset never apply
+            final List<RDate> rdates = getProperties(Property.RDATE);
+            for (RDate rdate : rdates) {
+                for (final Date rdateDate : rdate.getDates()) {
+                    try {
+                        final DateTime rdateOnset = applyOffsetFrom(calculateOnset(rdateDate));
+                        if (rdateOnset.getTime() > initial) {
+                            onsets.add(rdateOnset);
+                        }
+                    } catch (ParseException e) {
+                        Logger log = LoggerFactory.getLogger(Observance.class);
+                        log.error("Unexpected error calculating onset", e);
+                    }
+                }
+            }
+        }
+
+        final List<RRule> rrules = getProperties(Property.RRULE);
+        for (RRule rrule : rrules) {
+            final DateList recurrenceDates = rrule.getRecur().getDates(initialOnsetUTC,
+                    from != null ? from : initialOnsetUTC, to, Value.DATE_TIME);
+            for (final Date recurDate : recurrenceDates) {
+                onsets.add(applyOffsetFrom((DateTime) recurDate));
+            }
+        }
+
+        final long[] result = new long[onsets.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = onsets.get(i).getTime();
+        }
+        return result;
+    }
+
+    /**
+     * @return true if onsets of this observance are generated by recurrence rules
+     */
+    final boolean isRecurring() {
+        return getProperty(Property.RRULE) != null;
+    }
+
     /**
      * Returns a cached onset for the specified date.
      *
@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model.component;
+
+import net.fortuna.ical4j.model.ComponentList;
+import net.fortuna.ical4j.model.Date;
+import net.fortuna.ical4j.model.parameter.Value;
+import net.fortuna.ical4j.util.Dates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable, merged view of the onsets of all observances of a {@link VTimeZone}, sorted by instant such that the
+ * applicable observance for a date is found with a single binary search. Recurring observances are expanded up to a
+ * limit ten years past the latest requested date, and a new timeline is derived when a later date is requested.
+ */
+final class OnsetTimeline {
+
+    /**
+     * Onsets are calculated from recurrence instances before TZOFFSETFROM is applied, so lookups close to the limit
+     * are not covered.
+     */
+    private static final long MARGIN = 24 * 60 * 60 * 1000L;
+
+    private static final int EXTENSION_YEARS = 10;
+
+    private final Observance[] observances;
+
+    private final long[] instants;
+
+    // index of the observance for each onset. Where onsets coincide, the lowest index is ordered last
+    private final int[] indexes;
+
+    // end of the recurrence range expanded, null where no observance recurs
+    private final Date limit;
+
+    private OnsetTimeline(Observance[] observances, long[] instants, int[] indexes, Date limit) {
+        this.observances = observances;
+        this.instants = instants;
+        this.indexes = indexes;
+        this.limit = limit;
+    }
+
+    /**
+     * @param observances the observances of a timezone
+     * @param date the latest date to be looked up
+     * @return a timeline covering the specified date
+     */
+    static OnsetTimeline build(ComponentList<Observance> observances, Date date) {
+        Observance[] snapshot = observances.toArray(new Observance[observances.size()]);
+        boolean recurring = false;
+        for (Observance observance : snapshot) {
+            recurring |= observance.isRecurring();
+        }
+        Date limit = recurring ? extendLimit(date) : null;
+
+        List<long[]> onsets = new ArrayList<long[]>();
+        for (int i = 0; i < snapshot.length; i++) {
+            long[] observanceOnsets = snapshot[i].calculateOnsets(null, limit);
+            if (observanceOnsets != null) {
+                for (long onset : observanceOnsets) {
+                    onsets.add(new long[] {onset, i});
+                }
+            }
+        }
+        return create(snapshot, onsets, limit);
+    }
+
+    /**
+     * @param date a date later than those covered by this timeline
+     * @return a timeline covering the specified date, including all onsets of this timeline
+     */
+    OnsetTimeline extend(Date date) {
+        Date newLimit = extendLimit(date.after(limit) ? date : limit);
+
+        List<long[]> onsets = new ArrayList<long[]>(instants.length * 2);
+        for (int i = 0; i < instants.length; i++) {
+            onsets.add(new long[] {instants[i], indexes[i]});
+        }
+        for (int i = 0; i < observances.length; i++) {
+            if (observances[i].isRecurring()) {
+                long[] observanceOnsets = observances[i].calculateOnsets(limit, newLimit);
+                if (observanceOnsets != null) {
+                    for (long onset : observanceOnsets) {
+                        onsets.add(new long[] {onset, i});
+                    }
+                }
+            }
+        }
+        return create(observances, onsets, newLimit);
+    }
+
+    private static Date extendLimit(Date date) {
+        final Calendar cal = Dates.getCalendarInstance(date);
+        cal.setTime(date);
+        cal.add(Calendar.YEAR, EXTENSION_YEARS);
+        return Dates.getInstance(cal.getTime(), Value.DATE_TIME);
+    }
+
+    private static OnsetTimeline create(Observance[] observances, List<long[]> onsets, Date limit) {
+        long[][] sorted = onsets.toArray(new long[onsets.size()][]);
+        Arrays.sort(sorted, new Comparator<long[]>() {
+            public int compare(long[] a, long[] b) {
+                if (a[0] != b[0]) {
+                    return a[0] < b[0] ? -1 : 1;
+                }
+                // the first observance wins when onsets coincide, so it is ordered last
+                return a[1] > b[1] ? -1 : (a[1] == b[1] ? 0 : 1);
+            }
+        });
+
+        long[] instants = new long[sorted.length];
+        int[] indexes = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            instants[i] = sorted[i][0];
+            indexes[i] = (int) sorted[i][1];
+        }
+        return new OnsetTimeline(observances, instants, indexes, limit);
+    }
+
+    /**
+     * @param observances the current observances of the timezone
+     * @return true if this timeline was built for the same observances
+     */
+    boolean isFor(ComponentList<Observance> observances) {
+        if (observances.size() != this.observances.length) {
+            return false;
+        }
+        for (int i = 0; i < this.observances.length; i++) {
+            if (observances.get(i) != this.observances[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param time an instant in UTC milliseconds
+     * @return true if all onsets up to the specified instant are included
+     */
+    boolean covers(long time) {
+        return limit == null || time < limit.getTime() - MARGIN;
+    }
+
+    /**
+     * @param time an instant covered by this timeline
+     * @return the observance with the latest onset not after the specified instant. Where no onset applies the
+     * last observance is returned, consistent with previous behaviour of {@link VTimeZone#getApplicableObservance}
+     */
+    Observance getObservance(long time) {
+        int index = Arrays.binarySearch(instants, time);
+        if (index >= 0) {
+            // move to the last of any coinciding onsets
+            while (index + 1 < instants.length && instants[index + 1] == time) {
+                index++;
+            }
+        } else {
+            index = -index - 2;
+        }
+
+        if (index < 0) {
+            return observances.length > 0 ? observances[observances.length - 1] : null;
+        }
+        return observances[indexes[index]];
+    }
+}
@@ -489,7 +489,31 @@ public class VEvent extends CalendarComponent {
      */
     public final VEvent getOccurrence(final Date date) throws IOException,
         URISyntaxException, ParseException {
-        
+        return getOccurrence(date, null);
+    }
+
+    /**
+     * Returns a single occurrence of a recurring event, using an overridden instance where one exists.
+     * @param date a date on which the occurence should occur
+     * @param overrides an index of components that may override instances of this event, such as
+     * {@link net.fortuna.ical4j.model.Calendar#getUidIndex()}, or null
+     * @return a copy of the overriding event, or a single non-recurring event instance for the specified date, or
+     * null if the event doesn't occur on the specified date
+     * @throws IOException where an error occurs reading data
+     * @throws URISyntaxException where an invalid URI is encountered
+     * @throws ParseException where an error occurs parsing data
+     */
+    public final VEvent getOccurrence(final Date date, final UidIndex<? extends Component> overrides)
+            throws IOException, URISyntaxException, ParseException {
+
+        final Uid uid = getUid();
+        if (overrides != null && uid != null) {
+            final Component override = overrides.getOverride(uid.getValue(), date);
+            if (override instanceof VEvent) {
+                return (VEvent) override.copy();
+            }
+        }
+
         final PeriodList consumedTime = getConsumedTime(date, date);
         for (final Period p : consumedTime) {
             if (p.getStart().equals(date)) {
@@ -690,6 +714,13 @@ public class VEvent extends CalendarComponent {
                 .append(getAlarms()).toHashCode();
     }
 
+    /**
+     * @return a fingerprint of the name, properties and alarms of this component
+     */
+    public long fingerprint() {
+        return fingerprint(getAlarms());
+    }
+
     /**
      * Overrides default copy method to add support for copying alarm sub-components.
      * @return a copy of the instance
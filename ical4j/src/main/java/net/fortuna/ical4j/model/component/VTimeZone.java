@@ -129,6 +129,9 @@ public class VTimeZone extends CalendarComponent {
     
     private ComponentList<Observance> observances;
 
+    // merged onsets of all observances, replaced as a whole when observances change or a later date is requested
+    private transient volatile OnsetTimeline onsetTimeline;
+
     /**
      * Default constructor.
      */
@@ -246,17 +249,15 @@ public class VTimeZone extends CalendarComponent {
      * observances
      */
     public final Observance getApplicableObservance(final Date date) {
-        Observance latestObservance = null;
-        Date latestOnset = null;
-        for (final Observance observance : getObservances()) {
-            final Date onset = observance.getLatestOnset(date);
-            if (latestOnset == null
-                    || (onset != null && onset.after(latestOnset))) {
-                latestOnset = onset;
-                latestObservance = observance;
-            }
+        OnsetTimeline timeline = onsetTimeline;
+        if (timeline == null || !timeline.isFor(observances)) {
+            timeline = OnsetTimeline.build(observances, date);
+            onsetTimeline = timeline;
+        } else if (!timeline.covers(date.getTime())) {
+            timeline = timeline.extend(date);
+            onsetTimeline = timeline;
         }
-        return latestObservance;
+        return timeline.getObservance(date.getTime());
     }
 
     /**
@@ -300,6 +301,13 @@ public class VTimeZone extends CalendarComponent {
                 .append(getObservances()).toHashCode();
     }
 
+    /**
+     * @return a fingerprint of the name, properties and observances of this component
+     */
+    public long fingerprint() {
+        return fingerprint(getObservances());
+    }
+
     /**
      * Overrides default copy method to add support for copying observance sub-components.
      * @return a copy of the instance
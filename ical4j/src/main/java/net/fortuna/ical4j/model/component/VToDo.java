@@ -462,6 +462,13 @@ public class VToDo extends CalendarComponent {
                 .append(getAlarms()).toHashCode();
     }
 
+    /**
+     * @return a fingerprint of the name, properties and alarms of this component
+     */
+    public long fingerprint() {
+        return fingerprint(getAlarms());
+    }
+
     /**
      * Overrides default copy method to add support for copying alarm sub-components.
      * @return a copy of the instance
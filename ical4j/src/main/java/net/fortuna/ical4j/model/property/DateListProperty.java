@@ -49,7 +49,7 @@ import java.text.ParseException;
  *
  * @author Ben Fortuna
  */
-public abstract class DateListProperty extends Property {
+public abstract class DateListProperty extends Property implements LazyValue {
 
     /**
      *
@@ -60,6 +60,11 @@ public abstract class DateListProperty extends Property {
 
     private TimeZone timeZone;
 
+    /**
+     * A value not yet parsed, see {@link #setLazyValue(String)}.
+     */
+    private volatile String lazyValue;
+
     /**
      * @param name the property name
      */
@@ -101,6 +106,9 @@ public abstract class DateListProperty extends Property {
      * @return Returns the dates.
      */
     public final DateList getDates() {
+        if (lazyValue != null) {
+            parseLazyValue();
+        }
         return dates;
     }
 
@@ -108,15 +116,45 @@ public abstract class DateListProperty extends Property {
      * {@inheritDoc}
      */
     public void setValue(final String aValue) throws ParseException {
+        lazyValue = null;
         dates = new DateList(aValue, (Value) getParameter(Parameter.VALUE),
                 timeZone);
     }
 
+    /**
+     * Sets the value without parsing it. The value is parsed with the VALUE parameter and timezone current at
+     * the time {@link #getDates()} is first called.
+     *
+     * @param aValue a string representation of a list of DATE, DATE-TIME or PERIOD values
+     */
+    public void setLazyValue(final String aValue) throws ParseException {
+        lazyValue = aValue;
+    }
+
+    private synchronized void parseLazyValue() {
+        final String value = lazyValue;
+        if (value == null) {
+            return;
+        }
+        try {
+            dates = new DateList(value, (Value) getParameter(Parameter.VALUE), timeZone);
+        } catch (ParseException | RuntimeException e) {
+            // the value is kept, such that it is still written as it was read..
+            throw e instanceof CalendarException ? (CalendarException) e : new CalendarException(e);
+        }
+        // the dates are published by the volatile write..
+        lazyValue = null;
+    }
+
     /**
      * {@inheritDoc}
      */
     public String getValue() {
-        return Strings.valueOf(dates);
+        final String value = lazyValue;
+        if (value != null) {
+            return value;
+        }
+        return Strings.valueOf(getDates());
     }
 
     /**
@@ -125,6 +163,9 @@ public abstract class DateListProperty extends Property {
      * @param timezone a timezone to associate with this property
      */
     public void setTimeZone(final TimeZone timezone) {
+        if (lazyValue != null && setLazyTimeZone(timezone)) {
+            return;
+        }
         if (dates == null) {
             throw new UnsupportedOperationException(
                     "TimeZone is not applicable to current value");
@@ -145,6 +186,29 @@ public abstract class DateListProperty extends Property {
         }
     }
 
+    /**
+     * Applies a timezone to a value that has not been parsed yet.
+     *
+     * @return false if the value has been parsed in the meantime
+     */
+    private synchronized boolean setLazyTimeZone(final TimeZone timezone) {
+        if (lazyValue == null) {
+            return false;
+        }
+        final Value type = (Value) getParameter(Parameter.VALUE);
+        this.timeZone = timezone;
+        if (timezone != null) {
+            if (type != null && !Value.DATE_TIME.equals(type)) {
+                throw new UnsupportedOperationException(
+                        "TimeZone is not applicable to current value");
+            }
+            getParameters().replace(new TzId(timezone.getID()));
+        } else {
+            getParameters().remove(getParameter(Parameter.TZID));
+        }
+        return true;
+    }
+
     /**
      * @return the timezone
      */
@@ -160,6 +224,7 @@ public abstract class DateListProperty extends Property {
      * @param utc the UTC value
      */
     public final void setUtc(final boolean utc) {
+        final DateList dates = getDates();
         if (dates == null || !Value.DATE_TIME.equals(dates.getType())) {
             throw new UnsupportedOperationException(
                     "TimeZone is not applicable to current value");
@@ -52,7 +52,7 @@ import java.text.ParseException;
  *
  * @author Ben Fortuna
  */
-public abstract class DateProperty extends Property {
+public abstract class DateProperty extends Property implements LazyValue {
 
     private static final long serialVersionUID = 3160883132732961321L;
 
@@ -60,6 +60,11 @@ public abstract class DateProperty extends Property {
 
     private TimeZone timeZone;
 
+    /**
+     * A value not yet parsed, see {@link #setLazyValue(String)}.
+     */
+    private volatile String lazyValue;
+
     /**
      * @param name       the property name
      * @param parameters a list of initial parameters
@@ -90,6 +95,9 @@ public abstract class DateProperty extends Property {
      * @return Returns the date.
      */
     public final Date getDate() {
+        if (lazyValue != null) {
+            parseLazyValue();
+        }
         return date;
     }
 
@@ -100,6 +108,7 @@ public abstract class DateProperty extends Property {
      * @param date The date to set.
      */
     public final void setDate(final Date date) {
+        this.lazyValue = null;
         this.date = date;
         if (date instanceof DateTime) {
             if (Value.DATE.equals(getParameter(Parameter.VALUE))) {
@@ -128,6 +137,7 @@ public abstract class DateProperty extends Property {
      *                        representation
      */
     public void setValue(final String value) throws ParseException {
+        this.lazyValue = null;
         // value can be either a date-time or a date..
         if (Value.DATE.equals(getParameter(Parameter.VALUE))) {
             // ensure timezone is null for VALUE=DATE properties..
@@ -138,10 +148,60 @@ public abstract class DateProperty extends Property {
         }
     }
 
+    /**
+     * Sets the value without parsing it. The value is parsed with the VALUE parameter and timezone current at
+     * the time {@link #getDate()} is first called.
+     *
+     * @param value a string representation of a DATE or DATE-TIME value
+     * @throws ParseException where the value is empty for a DATE property, other errors are reported when the
+     * date is accessed
+     */
+    public void setLazyValue(final String value) throws ParseException {
+        if (value == null || value.isEmpty()) {
+            // the current value is unchanged, as with setValue()..
+            if (Value.DATE.equals(getParameter(Parameter.VALUE))) {
+                setValue(value);
+            }
+            return;
+        }
+        synchronized (this) {
+            this.lazyValue = null;
+            this.date = null;
+            if (Value.DATE.equals(getParameter(Parameter.VALUE))) {
+                // ensure timezone is null for VALUE=DATE properties..
+                updateTimeZone(null);
+            }
+            this.lazyValue = value;
+        }
+    }
+
+    private synchronized void parseLazyValue() {
+        final String value = lazyValue;
+        if (value == null) {
+            return;
+        }
+        try {
+            if (Value.DATE.equals(getParameter(Parameter.VALUE))) {
+                this.date = new Date(value);
+            } else {
+                this.date = new DateTime(value, timeZone);
+            }
+        } catch (ParseException | RuntimeException e) {
+            // the value is kept, such that it is still written as it was read..
+            throw e instanceof CalendarException ? (CalendarException) e : new CalendarException(e);
+        }
+        // the date is published by the volatile write..
+        this.lazyValue = null;
+    }
+
     /**
      * {@inheritDoc}
      */
     public String getValue() {
+        final String value = lazyValue;
+        if (value != null) {
+            return value;
+        }
         return Strings.valueOf(getDate());
     }
 
@@ -178,6 +238,12 @@ public abstract class DateProperty extends Property {
      * @param timezone
      */
     private void updateTimeZone(final TimeZone timezone) {
+        if (lazyValue != null) {
+            // the timezone is applied when the value is parsed..
+            updateLazyTimeZone(timezone);
+            return;
+        }
+
         this.timeZone = timezone;
         if (timezone != null) {
             if (getDate() != null && !(getDate() instanceof DateTime)) {
@@ -195,6 +261,24 @@ public abstract class DateProperty extends Property {
         }
     }
 
+    private synchronized void updateLazyTimeZone(final TimeZone timezone) {
+        if (lazyValue == null) {
+            updateTimeZone(timezone);
+            return;
+        }
+
+        this.timeZone = timezone;
+        if (timezone != null) {
+            if (Value.DATE.equals(getParameter(Parameter.VALUE))) {
+                throw new UnsupportedOperationException(
+                        "TimeZone is not applicable to current value");
+            }
+            getParameters().replace(new TzId(timezone.getID()));
+        } else {
+            getParameters().remove(getParameter(Parameter.TZID));
+        }
+    }
+
     /**
      * Resets the VTIMEZONE associated with the property. If utc is true, any TZID parameters are removed and the Java
      * timezone is updated to UTC time. If utc is false, TZID parameters are removed and the Java timezone is set to the
@@ -242,6 +242,17 @@ public class RDate extends DateListProperty {
         }
     }
 
+    /**
+     * Periods are parsed immediately, date lists are parsed when first accessed.
+     */
+    public final void setLazyValue(final String aValue) throws ParseException {
+        if (Value.PERIOD.equals(getParameter(Parameter.VALUE))) {
+            setValue(aValue);
+        } else {
+            super.setLazyValue(aValue);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
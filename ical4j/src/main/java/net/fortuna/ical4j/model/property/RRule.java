@@ -47,12 +47,17 @@ import java.text.ParseException;
  *
  * @author benf
  */
-public class RRule extends Property {
+public class RRule extends Property implements LazyValue {
 
     private static final long serialVersionUID = -9188265089143001164L;
 
     private Recur recur;
 
+    /**
+     * A value not yet parsed, see {@link #setLazyValue(String)}.
+     */
+    private volatile String lazyValue;
+
     /**
      * Default constructor.
      */
@@ -103,6 +108,9 @@ public class RRule extends Property {
      * @return Returns the recur.
      */
     public final Recur getRecur() {
+        if (lazyValue != null) {
+            parseLazyValue();
+        }
         return recur;
     }
 
@@ -110,14 +118,50 @@ public class RRule extends Property {
      * {@inheritDoc}
      */
     public final void setValue(final String aValue) throws ParseException {
+        lazyValue = null;
         recur = new Recur(aValue);
     }
 
     /**
-     * {@inheritDoc}
+     * Sets the value without parsing it, the recurrence is parsed when {@link #getRecur()} is first called.
+     * Lazily parsed recurrences are shared with other rules of the same value (see {@link Recur#intern(String)}),
+     * so they cannot be modified.
+     * @param aValue a string representation of a recurrence
+     */
+    public final void setLazyValue(final String aValue) {
+        lazyValue = aValue;
+    }
+
+    private synchronized void parseLazyValue() {
+        final String value = lazyValue;
+        if (value == null) {
+            return;
+        }
+        try {
+            recur = Recur.intern(value);
+        } catch (ParseException | RuntimeException e) {
+            // the value is kept, such that it is still written as it was read..
+            throw e instanceof CalendarException ? (CalendarException) e : new CalendarException(e);
+        }
+        // the recurrence is published by the volatile write..
+        lazyValue = null;
+    }
+
+    /**
+     * Returns the value in the same normalised form whether or not it was set lazily, such that equality and
+     * output do not depend on whether the recurrence has been accessed. A lazy value that cannot be parsed is
+     * returned as it was set.
      */
     public final String getValue() {
-        return getRecur().toString();
+        final String value = lazyValue;
+        if (value != null) {
+            try {
+                parseLazyValue();
+            } catch (CalendarException e) {
+                return value;
+            }
+        }
+        return recur.toString();
     }
 
     @Override
@@ -251,6 +251,13 @@ public class Trigger extends UtcProperty {
         }
     }
 
+    /**
+     * A trigger may be a duration, so the value is parsed immediately.
+     */
+    public final void setLazyValue(final String aValue) {
+        setValue(aValue);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -7,12 +7,24 @@
  */
 package net.fortuna.ical4j.transform.rfc5545;
 
+import net.fortuna.ical4j.model.Calendar;
 import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.ComponentList;
 import net.fortuna.ical4j.model.Property;
+import net.fortuna.ical4j.model.component.CalendarComponent;
+import net.fortuna.ical4j.util.Configurator;
+import net.fortuna.ical4j.util.Workers;
 
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Manages the rules that can be applied to ICS elements. New rules can be simply added by creating new implementations
@@ -29,6 +41,22 @@ public class RuleManager {
     private static final Set<Rfc5545PropertyRule<? extends Property>> PROPERTY_RULES = new LinkedHashSet<Rfc5545PropertyRule<? extends Property>>();
     private static final Set<Rfc5545ComponentRule<? extends Component>> COMPONENT_RULES = new LinkedHashSet<Rfc5545ComponentRule<? extends Component>>();
 
+    /**
+     * The minimum number of components in a calendar for the rules to be applied to the components in parallel.
+     */
+    public static final String KEY_PARALLEL_THRESHOLD = "net.fortuna.ical4j.transform.parallelthreshold";
+
+    private static final int PARALLEL_THRESHOLD = Configurator.getIntProperty(KEY_PARALLEL_THRESHOLD).orElse(64);
+
+    // supported rules resolved once per concrete type, as rules are loaded statically..
+    private static final ConcurrentMap<Class<?>, List<Rfc5545PropertyRule<Property>>> PROPERTY_RULES_BY_TYPE =
+            new ConcurrentHashMap<Class<?>, List<Rfc5545PropertyRule<Property>>>();
+    private static final ConcurrentMap<Class<?>, List<Rfc5545ComponentRule<Component>>> COMPONENT_RULES_BY_TYPE =
+            new ConcurrentHashMap<Class<?>, List<Rfc5545ComponentRule<Component>>>();
+
+    private static final ConcurrentMap<Class<?>, java.lang.reflect.Method[]> COMPONENT_LIST_GETTERS =
+            new ConcurrentHashMap<Class<?>, java.lang.reflect.Method[]>();
+
     static {
         for (Rfc5545PropertyRule<?> rule : ServiceLoader.load(Rfc5545PropertyRule.class)) {
             if (rule.getSupportedType() == null) {
@@ -45,42 +73,135 @@ public class RuleManager {
     }
 
     public static void applyTo(Property element) {
-        for (Rfc5545PropertyRule<Property> rule : getSupportedRulesFor(element)) {
-            rule.applyTo(element);
+        final List<Rfc5545PropertyRule<Property>> rules = getSupportedRulesFor(element);
+        for (int i = 0; i < rules.size(); i++) {
+            rules.get(i).applyTo(element);
         }
     }
 
     public static void applyTo(Component element) {
-        for (Rfc5545ComponentRule<Component> rule : getSupportedRulesFor(element)) {
-            rule.applyTo(element);
+        final List<Rfc5545ComponentRule<Component>> rules = getSupportedRulesFor(element);
+        for (int i = 0; i < rules.size(); i++) {
+            rules.get(i).applyTo(element);
+        }
+    }
+
+    /**
+     * Applies the rules to the calendar properties, and to each component, its properties and the components and
+     * properties nested in it. Calendars with at least {@link #KEY_PARALLEL_THRESHOLD} components have their
+     * components processed in parallel.
+     * @param calendar the calendar to conform
+     * @throws IllegalAccessException where nested components cannot be accessed
+     * @throws InvocationTargetException where nested components cannot be accessed
+     */
+    public static void applyTo(Calendar calendar) throws IllegalAccessException, InvocationTargetException {
+        applyToProperties(calendar.getProperties());
+
+        final ComponentList<CalendarComponent> components = calendar.getComponents();
+        if (components.size() < PARALLEL_THRESHOLD) {
+            applyToComponents(components, 0, components.size());
+            return;
+        }
+
+        try {
+            Workers.invokeAll(components.size(), new Workers.RangeTask<Void>() {
+                @Override
+                public Void call(int from, int to) throws Exception {
+                    applyToComponents(components, from, to);
+                    return null;
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalAccessException) {
+                throw (IllegalAccessException) e.getCause();
+            } else if (e.getCause() instanceof InvocationTargetException) {
+                throw (InvocationTargetException) e.getCause();
+            }
+            throw Workers.unchecked(e);
         }
     }
 
     @SuppressWarnings("unchecked")
-    private static Set<Rfc5545PropertyRule<Property>> getSupportedRulesFor(Property element) {
+    private static void applyToComponents(ComponentList<CalendarComponent> components, int from, int to)
+            throws IllegalAccessException, InvocationTargetException {
+
+        for (int i = from; i < to; i++) {
+            final Component component = components.get(i);
+            applyTo(component);
+            applyToProperties(component.getProperties());
+
+            for (java.lang.reflect.Method getter : getComponentListGetters(component.getClass())) {
+                for (Component c : (List<Component>) getter.invoke(component)) {
+                    applyTo(c);
+                    applyToProperties(c.getProperties());
+                }
+            }
+        }
+    }
+
+    private static void applyToProperties(List<? extends Property> properties) {
+        for (Property property : properties) {
+            applyTo(property);
+        }
+    }
+
+    private static List<Rfc5545PropertyRule<Property>> getSupportedRulesFor(Property element) {
         if (element == null) {
             throw new NullPointerException();
         }
-        Set<Rfc5545PropertyRule<Property>> rules = new LinkedHashSet<Rfc5545PropertyRule<Property>>(1);
-        for (Rfc5545Rule<? extends Property> rule : PROPERTY_RULES) {
-            if (rule.getSupportedType().isInstance(element)) {
-                rules.add((Rfc5545PropertyRule<Property>) rule);
-            }
+        List<Rfc5545PropertyRule<Property>> rules = PROPERTY_RULES_BY_TYPE.get(element.getClass());
+        if (rules == null) {
+            rules = resolveRulesFor(element.getClass(), PROPERTY_RULES);
+            PROPERTY_RULES_BY_TYPE.putIfAbsent(element.getClass(), rules);
         }
         return rules;
     }
 
-    @SuppressWarnings("unchecked")
-    private static Set<Rfc5545ComponentRule<Component>> getSupportedRulesFor(Component element) {
+    private static List<Rfc5545ComponentRule<Component>> getSupportedRulesFor(Component element) {
         if (element == null) {
             throw new NullPointerException();
         }
-        Set<Rfc5545ComponentRule<Component>> rules = new LinkedHashSet<Rfc5545ComponentRule<Component>>(1);
-        for (Rfc5545Rule<?> rule : COMPONENT_RULES) {
-            if (rule.getSupportedType().isInstance(element)) {
-                rules.add((Rfc5545ComponentRule<Component>) rule);
-            }
+        List<Rfc5545ComponentRule<Component>> rules = COMPONENT_RULES_BY_TYPE.get(element.getClass());
+        if (rules == null) {
+            rules = resolveRulesFor(element.getClass(), COMPONENT_RULES);
+            COMPONENT_RULES_BY_TYPE.putIfAbsent(element.getClass(), rules);
         }
         return rules;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return the rules supporting the specified type, in the order they were loaded
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> List<R> resolveRulesFor(Class<?> type, Set<? extends Rfc5545Rule<?>> allRules) {
+        List<R> rules = new ArrayList<R>(1);
+        for (Rfc5545Rule<?> rule : allRules) {
+            if (rule.getSupportedType().isAssignableFrom(type)) {
+                rules.add((R) rule);
+            }
+        }
+        return rules.isEmpty() ? Collections.<R>emptyList() : Collections.unmodifiableList(rules);
+    }
+
+    /**
+     * @return the getters declared by the component type returning nested component lists
+     */
+    private static java.lang.reflect.Method[] getComponentListGetters(Class<?> type) {
+        java.lang.reflect.Method[] getters = COMPONENT_LIST_GETTERS.get(type);
+        if (getters == null) {
+            List<java.lang.reflect.Method> methods = new ArrayList<java.lang.reflect.Method>();
+            for (java.lang.reflect.Method m : type.getDeclaredMethods()) {
+                if (ComponentList.class.isAssignableFrom(m.getReturnType()) && m.getName().startsWith("get")
+                        && m.getParameterTypes().length == 0) {
+                    methods.add(m);
+                }
+            }
+            getters = methods.toArray(new java.lang.reflect.Method[methods.size()]);
+            COMPONENT_LIST_GETTERS.putIfAbsent(type, getters);
+        }
+        return getters;
+    }
+}
@@ -0,0 +1,620 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.util;
+
+import net.fortuna.ical4j.model.Calendar;
+import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.ComponentList;
+import net.fortuna.ical4j.model.DateTime;
+import net.fortuna.ical4j.model.Dur;
+import net.fortuna.ical4j.model.Parameter;
+import net.fortuna.ical4j.model.Period;
+import net.fortuna.ical4j.model.PeriodList;
+import net.fortuna.ical4j.model.Property;
+import net.fortuna.ical4j.model.component.VAlarm;
+import net.fortuna.ical4j.model.component.VEvent;
+import net.fortuna.ical4j.model.component.VToDo;
+import net.fortuna.ical4j.model.parameter.Related;
+import net.fortuna.ical4j.model.property.DateProperty;
+import net.fortuna.ical4j.model.property.Duration;
+import net.fortuna.ical4j.model.property.Repeat;
+import net.fortuna.ical4j.model.property.Trigger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Answers which alarms of a set of events and to-dos fire next.
+ * <p>
+ * Each component's occurrences are expanded lazily, one window at a time, through
+ * {@link Component#calculateRecurrenceSet(Period)}. Every occurrence resolves its alarms' triggers (relative to the
+ * start or end of the occurrence, or absolute) including any <code>REPEAT</code>/<code>DURATION</code> repetitions.
+ * Components are kept in a binary min-heap ordered by their next trigger, so adding, updating or removing a component
+ * costs O(log n) and {@link #nextAlarms(Date, int)} returns the next <em>k</em> alarms in O(k log k) once the
+ * triggers have been expanded.
+ * </p>
+ * <p>
+ * Occurrences are expanded up to the following number of days past the time of the first query (default 3660):
+ * </p>
+ * <pre>
+ * net.fortuna.ical4j.alarm.horizon=&lt;days&gt;
+ * </pre>
+ * <p>
+ * Components are tracked by identity. A component changed after it was added must be passed to
+ * {@link #update(Component)}. All methods are synchronized.
+ * </p>
+ */
+public class AlarmScheduler {
+
+    /**
+     * The system property used to specify how many days of occurrences are expanded.
+     */
+    public static final String KEY_HORIZON = "net.fortuna.ical4j.alarm.horizon";
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private static final long HORIZON = Configurator.getIntProperty(KEY_HORIZON).orElse(3660) * DAY;
+
+    private static final long MIN_WINDOW = 7 * DAY;
+
+    private static final long MAX_WINDOW = 366 * DAY;
+
+    private static final Comparator<AlarmInstance> TRIGGER_ORDER = new Comparator<AlarmInstance>() {
+        public int compare(AlarmInstance a, AlarmInstance b) {
+            return a.compareTo(b);
+        }
+    };
+
+    /**
+     * An alarm firing for an occurrence of a component.
+     */
+    public static class AlarmInstance {
+
+        private final Component component;
+
+        private final VAlarm alarm;
+
+        private final Period occurrence;
+
+        private final long triggerTime;
+
+        private final int repetition;
+
+        private final long sequence;
+
+        AlarmInstance(Component component, VAlarm alarm, Period occurrence, long triggerTime, int repetition,
+                      long sequence) {
+            this.component = component;
+            this.alarm = alarm;
+            this.occurrence = occurrence;
+            this.triggerTime = triggerTime;
+            this.repetition = repetition;
+            this.sequence = sequence;
+        }
+
+        /**
+         * @return the event or to-do the alarm belongs to
+         */
+        public Component getComponent() {
+            return component;
+        }
+
+        /**
+         * @return the alarm that fires
+         */
+        public VAlarm getAlarm() {
+            return alarm;
+        }
+
+        /**
+         * @return the occurrence the alarm fires for, or null for an absolute trigger
+         */
+        public Period getOccurrence() {
+            return occurrence;
+        }
+
+        /**
+         * @return the UTC time the alarm fires
+         */
+        public DateTime getTriggerTime() {
+            DateTime time = new DateTime(triggerTime);
+            time.setUtc(true);
+            return time;
+        }
+
+        /**
+         * @return 0 for the initial trigger, or the index of the repetition specified by <code>REPEAT</code>
+         */
+        public int getRepetition() {
+            return repetition;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public final String toString() {
+            return getTriggerTime() + " " + alarm.getTrigger() + " (" + repetition + ") " + occurrence;
+        }
+
+        int compareTo(AlarmInstance other) {
+            if (triggerTime != other.triggerTime) {
+                return triggerTime < other.triggerTime ? -1 : 1;
+            }
+            return sequence < other.sequence ? -1 : (sequence == other.sequence ? 0 : 1);
+        }
+    }
+
+    private final Map<Component, Source> sources = new IdentityHashMap<Component, Source>();
+
+    private Source[] heap = new Source[16];
+
+    private int size;
+
+    // the time of the last query, alarms before it have been discarded
+    private long watermark = Long.MIN_VALUE;
+
+    private long sequence;
+
+    /**
+     * Adds the events and to-dos of a calendar.
+     * @param calendar a calendar
+     */
+    public synchronized void addAll(final Calendar calendar) {
+        ComponentList<VEvent> events = calendar.getComponents(Component.VEVENT);
+        for (VEvent event : events) {
+            add(event);
+        }
+        ComponentList<VToDo> todos = calendar.getComponents(Component.VTODO);
+        for (VToDo todo : todos) {
+            add(todo);
+        }
+    }
+
+    /**
+     * Adds the alarms of a component, replacing any previously added for the same component.
+     * @param component an event or to-do
+     */
+    public synchronized void add(final Component component) {
+        if (sources.containsKey(component)) {
+            update(component);
+            return;
+        }
+
+        List<VAlarm> alarms = getAlarms(component);
+        if (alarms.isEmpty()) {
+            return;
+        }
+        Source source = new Source(component, alarms);
+        sources.put(component, source);
+        if (watermark != Long.MIN_VALUE) {
+            source.reset(watermark);
+            offer(source);
+        }
+    }
+
+    /**
+     * Re-expands the alarms of a component after it has changed.
+     * @param component a component previously added
+     */
+    public synchronized void update(final Component component) {
+        remove(component);
+        add(component);
+    }
+
+    /**
+     * @param component a component previously added
+     * @return true if the component was scheduled
+     */
+    public synchronized boolean remove(final Component component) {
+        Source source = sources.remove(component);
+        if (source == null) {
+            return false;
+        }
+        if (source.heapIndex >= 0) {
+            removeAt(source.heapIndex);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all components.
+     */
+    public synchronized void clear() {
+        sources.clear();
+        for (int i = 0; i < size; i++) {
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * @param now the earliest trigger time of interest
+     * @return the next alarm to fire at or after now, or null if there is none
+     */
+    public synchronized AlarmInstance nextAlarm(final Date now) {
+        List<AlarmInstance> alarms = nextAlarms(now, 1);
+        return alarms.isEmpty() ? null : alarms.get(0);
+    }
+
+    /**
+     * Returns the alarms that fire next. Alarms before <code>now</code> are discarded, so a query with an earlier time
+     * than the previous one expands all components again.
+     * @param now the earliest trigger time of interest
+     * @param n the maximum number of alarms to return
+     * @return up to n alarms in trigger order
+     */
+    public synchronized List<AlarmInstance> nextAlarms(final Date now, final int n) {
+        long time = now.getTime();
+        if (watermark == Long.MIN_VALUE || time < watermark) {
+            rebuild(time);
+        } else {
+            // discard triggers that have passed
+            while (size > 0 && heap[0].headTime() < time) {
+                heap[0].skipBefore(time);
+                siftDown(0);
+            }
+        }
+        watermark = time;
+
+        if (n <= 0 || size == 0 || heap[0].peek(0) == null) {
+            return Collections.emptyList();
+        }
+
+        // k-way merge over the heap: a node's children are only considered once the node has been taken
+        List<AlarmInstance> result = new ArrayList<AlarmInstance>(n);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<Candidate>();
+        candidates.add(new Candidate(heap[0], 0, 0));
+        while (result.size() < n && !candidates.isEmpty()) {
+            Candidate candidate = candidates.poll();
+            result.add(candidate.instance);
+
+            AlarmInstance next = candidate.source.peek(candidate.offset + 1);
+            if (next != null) {
+                candidates.add(new Candidate(candidate.source, candidate.offset + 1, -1));
+            }
+            if (candidate.node >= 0) {
+                for (int child = 2 * candidate.node + 1; child <= 2 * candidate.node + 2 && child < size; child++) {
+                    if (heap[child].peek(0) != null) {
+                        candidates.add(new Candidate(heap[child], 0, child));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void rebuild(long time) {
+        for (int i = 0; i < size; i++) {
+            heap[i] = null;
+        }
+        size = 0;
+        for (Source source : sources.values()) {
+            source.reset(time);
+            offer(source);
+        }
+    }
+
+    private static List<VAlarm> getAlarms(Component component) {
+        if (component instanceof VEvent) {
+            return ((VEvent) component).getAlarms();
+        } else if (component instanceof VToDo) {
+            return ((VToDo) component).getAlarms();
+        }
+        throw new IllegalArgumentException("Alarms are only supported for events and to-dos");
+    }
+
+    private void offer(Source source) {
+        if (size == heap.length) {
+            Source[] grown = new Source[size * 2];
+            System.arraycopy(heap, 0, grown, 0, size);
+            heap = grown;
+        }
+        heap[size] = source;
+        source.heapIndex = size;
+        siftUp(size++);
+    }
+
+    private void removeAt(int index) {
+        heap[index].heapIndex = -1;
+        Source last = heap[--size];
+        heap[size] = null;
+        if (index < size) {
+            heap[index] = last;
+            last.heapIndex = index;
+            siftDown(index);
+            siftUp(last.heapIndex);
+        }
+    }
+
+    private void siftUp(int index) {
+        Source source = heap[index];
+        long time = source.headTime();
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].headTime() <= time) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].heapIndex = index;
+            index = parent;
+        }
+        heap[index] = source;
+        source.heapIndex = index;
+    }
+
+    private void siftDown(int index) {
+        Source source = heap[index];
+        long time = source.headTime();
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].headTime() < heap[child].headTime()) {
+                child++;
+            }
+            if (time <= heap[child].headTime()) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
+        }
+        heap[index] = source;
+        source.heapIndex = index;
+    }
+
+    /**
+     * A pending trigger during a merge, either the head of a heap node or a later trigger of a source already taken.
+     */
+    private static class Candidate implements Comparable<Candidate> {
+
+        private final Source source;
+
+        private final int offset;
+
+        private final int node;
+
+        private final AlarmInstance instance;
+
+        Candidate(Source source, int offset, int node) {
+            this.source = source;
+            this.offset = offset;
+            this.node = node;
+            this.instance = source.peek(offset);
+        }
+
+        public int compareTo(Candidate other) {
+            return instance.compareTo(other.instance);
+        }
+    }
+
+    /**
+     * The triggers of a single component, expanded a window of occurrences at a time.
+     */
+    private class Source {
+
+        private final Component component;
+
+        private final List<VAlarm> alarms;
+
+        // whether occurrences other than DTSTART exist, otherwise everything is expanded at once
+        private final boolean recurring;
+
+        // earliest trigger relative to the start of its occurrence
+        private long minOffset;
+
+        // latest trigger relative to the start of its occurrence
+        private long maxOffset;
+
+        private final List<AlarmInstance> instances = new ArrayList<AlarmInstance>();
+
+        // instances before this index are sorted and final
+        private int released;
+
+        // instances before this index have passed
+        private int position;
+
+        private long expandedTo;
+
+        private long horizon;
+
+        private long window;
+
+        private boolean exhausted;
+
+        private int heapIndex = -1;
+
+        Source(Component component, List<VAlarm> alarms) {
+            this.component = component;
+            this.alarms = new ArrayList<VAlarm>(alarms);
+            this.recurring = component.getProperty(Property.RRULE) != null
+                    || component.getProperty(Property.RDATE) != null;
+        }
+
+        void reset(long now) {
+            computeOffsets(now);
+            instances.clear();
+            released = 0;
+            position = 0;
+            expandedTo = now - maxOffset;
+            horizon = now + HORIZON;
+            window = MIN_WINDOW;
+            exhausted = false;
+
+            // absolute triggers don't depend on occurrences
+            for (VAlarm alarm : alarms) {
+                Trigger trigger = alarm.getTrigger();
+                if (trigger != null && trigger.getDateTime() != null) {
+                    addTriggers(alarm, null, trigger.getDateTime());
+                }
+            }
+            skipBefore(now);
+        }
+
+        private void computeOffsets(long now) {
+            Date reference = new Date(now);
+            long duration = 0;
+            Dur componentDuration = getComponentDuration();
+            if (componentDuration != null) {
+                duration = Math.max(0, componentDuration.getTime(reference).getTime() - now);
+            }
+
+            minOffset = 0;
+            maxOffset = 0;
+            for (VAlarm alarm : alarms) {
+                Trigger trigger = alarm.getTrigger();
+                if (trigger == null || trigger.getDuration() == null) {
+                    continue;
+                }
+                long offset = trigger.getDuration().getTime(reference).getTime() - now;
+                // an occurrence never ends before it starts, so the start bounds the earliest trigger
+                minOffset = Math.min(minOffset, offset);
+                if (Related.END.equals(trigger.getParameter(Parameter.RELATED))) {
+                    offset += duration;
+                }
+
+                Repeat repeat = alarm.getRepeat();
+                Duration interval = alarm.getDuration();
+                if (repeat != null && interval != null) {
+                    offset += repeat.getCount() * (interval.getDuration().getTime(reference).getTime() - now);
+                }
+                maxOffset = Math.max(maxOffset, offset);
+            }
+            // allow for daylight saving transitions between the reference and actual occurrences
+            minOffset -= DAY;
+            maxOffset += DAY;
+        }
+
+        private Dur getComponentDuration() {
+            DateProperty start = (DateProperty) component.getProperty(Property.DTSTART);
+            DateProperty end = (DateProperty) component.getProperty(Property.DTEND);
+            if (end == null) {
+                end = (DateProperty) component.getProperty(Property.DUE);
+            }
+            Duration duration = (Duration) component.getProperty(Property.DURATION);
+            if (duration != null) {
+                return duration.getDuration();
+            } else if (start != null && end != null) {
+                return new Dur(start.getDate(), end.getDate());
+            }
+            return null;
+        }
+
+        long headTime() {
+            AlarmInstance head = peek(0);
+            return head != null ? head.triggerTime : Long.MAX_VALUE;
+        }
+
+        /**
+         * @return the trigger at the specified offset from the next one, or null if there are no more
+         */
+        AlarmInstance peek(int offset) {
+            int index = position + offset;
+            while (index >= released && !exhausted) {
+                expand();
+            }
+            return index < released ? instances.get(index) : null;
+        }
+
+        void skipBefore(long time) {
+            AlarmInstance head;
+            while ((head = peek(0)) != null && head.triggerTime < time) {
+                position++;
+            }
+            // drop passed triggers now and then
+            if (position > 64) {
+                instances.subList(0, position).clear();
+                released -= position;
+                position = 0;
+            }
+        }
+
+        private void expand() {
+            long from = expandedTo;
+            long to = recurring ? Math.min(from + window, horizon) : horizon;
+
+            int found = instances.size();
+            PeriodList occurrences = component.calculateRecurrenceSet(
+                    new Period(new DateTime(from), new DateTime(to)));
+            for (Period occurrence : occurrences) {
+                long start = occurrence.getStart().getTime();
+                // occurrences overlapping the window start were added by the previous window
+                if (start < from || start >= to) {
+                    continue;
+                }
+                for (VAlarm alarm : alarms) {
+                    Trigger trigger = alarm.getTrigger();
+                    if (trigger == null || trigger.getDuration() == null) {
+                        continue;
+                    }
+                    Date base = Related.END.equals(trigger.getParameter(Parameter.RELATED))
+                            ? occurrence.getEnd() : occurrence.getStart();
+                    addTriggers(alarm, occurrence, trigger.getDuration().getTime(base));
+                }
+            }
+
+            expandedTo = to;
+            exhausted = to >= horizon;
+            if (instances.size() == found) {
+                window = Math.min(window * 2, MAX_WINDOW);
+            }
+
+            // later occurrences can't trigger before the end of this window plus the earliest offset
+            Collections.sort(instances.subList(released, instances.size()), TRIGGER_ORDER);
+            long safe = exhausted ? Long.MAX_VALUE : to + minOffset;
+            while (released < instances.size() && instances.get(released).triggerTime < safe) {
+                released++;
+            }
+        }
+
+        private void addTriggers(VAlarm alarm, Period occurrence, Date first) {
+            instances.add(new AlarmInstance(component, alarm, occurrence, first.getTime(), 0, sequence++));
+
+            Repeat repeat = alarm.getRepeat();
+            Duration interval = alarm.getDuration();
+            if (repeat != null && interval != null) {
+                Date time = first;
+                for (int i = 1; i <= repeat.getCount(); i++) {
+                    time = interval.getDuration().getTime(time);
+                    instances.add(new AlarmInstance(component, alarm, occurrence, time.getTime(), i, sequence++));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.util;
+
+import net.fortuna.ical4j.data.CalendarBuilder;
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.model.Calendar;
+import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.Property;
+import net.fortuna.ical4j.model.component.CalendarComponent;
+import net.fortuna.ical4j.model.component.VTimeZone;
+import net.fortuna.ical4j.model.property.LastModified;
+import net.fortuna.ical4j.model.property.RecurrenceId;
+import net.fortuna.ical4j.model.property.Sequence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * $Id$
+ *
+ * Compares two revisions of a calendar, such as successive downloads of a subscribed feed, and reports the
+ * components that were added, changed and removed. Components are matched on their name, UID and RECURRENCE-ID (or
+ * TZID for timezones), so the comparison is linear in the number of components.
+ *
+ * A matched component is unchanged where both revisions have equal SEQUENCE and LAST-MODIFIED properties, or
+ * otherwise where both revisions have equal content fingerprints (see {@link Component#fingerprint()}). Note that
+ * components without a LAST-MODIFIED property are reported as changed where only the DTSTAMP differs. Components
+ * without a UID are matched on content, such that any change is reported as a removal and an addition. Where a
+ * calendar has more than one component with the same key, the latest revision is compared.
+ *
+ * Calendar properties are not compared.
+ */
+public class CalendarDiff {
+
+    private final List<CalendarComponent> added = new ArrayList<CalendarComponent>();
+
+    private final List<CalendarComponent> changed = new ArrayList<CalendarComponent>();
+
+    private final List<CalendarComponent> removed = new ArrayList<CalendarComponent>();
+
+    /**
+     * @param previous the previous revision of a calendar
+     * @param current the current revision of the calendar
+     */
+    public CalendarDiff(final Calendar previous, final Calendar current) {
+        final Map<Key, CalendarComponent> previousComponents = index(previous);
+        final Map<Key, CalendarComponent> currentComponents = index(current);
+
+        for (final Map.Entry<Key, CalendarComponent> entry : currentComponents.entrySet()) {
+            final CalendarComponent before = previousComponents.remove(entry.getKey());
+            if (before == null) {
+                added.add(entry.getValue());
+            }
+            else if (!isUnchanged(before, entry.getValue())) {
+                changed.add(entry.getValue());
+            }
+        }
+        removed.addAll(previousComponents.values());
+    }
+
+    /**
+     * Parses the current revision of a calendar from the specified stream and compares it with the previous
+     * revision. This is a convenience for the constructor and does not stream: the current revision is built in full
+     * before it is compared, such that both revisions are held in memory.
+     * @param previous the previous revision of a calendar
+     * @param in a stream of the current revision of the calendar
+     * @param builder the builder used to parse the current revision, or null to use a default builder
+     * @return the differences between the two revisions
+     * @throws IOException where an error occurs reading calendar data
+     * @throws ParserException where calendar data is invalid
+     */
+    public static CalendarDiff parseAndDiff(final Calendar previous, final InputStream in,
+                                            final CalendarBuilder builder)
+            throws IOException, ParserException {
+
+        final CalendarBuilder b = builder != null ? builder : new CalendarBuilder();
+        return new CalendarDiff(previous, b.build(in));
+    }
+
+    /**
+     * @return components of the current revision not in the previous revision, in calendar order
+     */
+    public final List<CalendarComponent> getAdded() {
+        return Collections.unmodifiableList(added);
+    }
+
+    /**
+     * @return components of the current revision that differ from the previous revision, in calendar order
+     */
+    public final List<CalendarComponent> getChanged() {
+        return Collections.unmodifiableList(changed);
+    }
+
+    /**
+     * @return components of the previous revision not in the current revision, in calendar order
+     */
+    public final List<CalendarComponent> getRemoved() {
+        return Collections.unmodifiableList(removed);
+    }
+
+    /**
+     * @return true if no components were added, changed or removed
+     */
+    public final boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    private static Map<Key, CalendarComponent> index(final Calendar calendar) {
+        final Map<Key, CalendarComponent> components = new LinkedHashMap<Key, CalendarComponent>(
+                calendar.getComponents().size() * 4 / 3 + 1);
+        for (final CalendarComponent c : calendar.getComponents()) {
+            final Key key = new Key(c);
+            final CalendarComponent existing = components.get(key);
+            if (existing == null || isLaterRevision(c, existing)) {
+                components.put(key, c);
+            }
+        }
+        return components;
+    }
+
+    private static boolean isUnchanged(final Component previous, final Component current) {
+        final Property lastModified = previous.getProperty(Property.LAST_MODIFIED);
+        if (lastModified != null && lastModified.equals(current.getProperty(Property.LAST_MODIFIED))
+                && getSequence(previous) == getSequence(current)) {
+            return true;
+        }
+        return previous.fingerprint() == current.fingerprint() && previous.equals(current);
+    }
+
+    private static boolean isLaterRevision(final Component component, final Component existing) {
+        final int sequence = getSequence(component);
+        final int existingSequence = getSequence(existing);
+        if (sequence != existingSequence) {
+            return sequence > existingSequence;
+        }
+        final LastModified lastModified = (LastModified) component.getProperty(Property.LAST_MODIFIED);
+        final LastModified existingLastModified = (LastModified) existing.getProperty(Property.LAST_MODIFIED);
+        if (lastModified == null || existingLastModified == null) {
+            return existingLastModified == null;
+        }
+        return !lastModified.getDateTime().before(existingLastModified.getDateTime());
+    }
+
+    private static int getSequence(final Component component) {
+        final Sequence sequence = (Sequence) component.getProperty(Property.SEQUENCE);
+        return sequence != null ? sequence.getSequenceNo() : 0;
+    }
+
+    /**
+     * Identifies a component across revisions of a calendar.
+     */
+    private static final class Key {
+
+        private final String name;
+
+        private final String id;
+
+        private final long instance;
+
+        // components without an identifier are matched on content, and are held to compare where fingerprints match
+        private final Component content;
+
+        private final int hashCode;
+
+        Key(final Component component) {
+            name = component.getName();
+            final Property uid = component.getProperty(Property.UID);
+            if (uid != null) {
+                id = uid.getValue();
+                final RecurrenceId recurrenceId = (RecurrenceId) component.getProperty(Property.RECURRENCE_ID);
+                instance = recurrenceId != null && recurrenceId.getDate() != null
+                        ? recurrenceId.getDate().getTime() : Long.MIN_VALUE;
+                content = null;
+            }
+            else if (component instanceof VTimeZone && component.getProperty(Property.TZID) != null) {
+                id = component.getProperty(Property.TZID).getValue();
+                instance = Long.MIN_VALUE;
+                content = null;
+            }
+            else {
+                id = null;
+                instance = component.fingerprint();
+                content = component;
+            }
+            int result = name != null ? name.hashCode() : 0;
+            result = 31 * result + (id != null ? id.hashCode() : 0);
+            hashCode = 31 * result + (int) (instance ^ (instance >>> 32));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return instance == other.instance && Objects.equals(name, other.name)
+                    && Objects.equals(id, other.id) && Objects.equals(content, other.content);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.util;
+
+import net.fortuna.ical4j.data.CalendarBuilder;
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.model.Calendar;
+import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.Property;
+import net.fortuna.ical4j.model.component.CalendarComponent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * $Id$
+ *
+ * Merges any number of calendars into one instance. All properties and components of the first calendar are
+ * included, and properties and components of subsequent calendars are included unless an equal property or
+ * component has already been merged. Equality is resolved with hashed lookups, so merging is linear in the total
+ * number of properties and components.
+ *
+ * Calendars may be merged as they are parsed via {@link #merge(InputStream)}, such that only the merged result and
+ * one input are held in memory at a time. Merged properties and components must not be modified until merging is
+ * complete.
+ */
+public class CalendarMerger {
+
+    private CalendarBuilder builder;
+
+    private final Calendar result = new Calendar();
+
+    private final Set<Property> properties = new HashSet<Property>();
+
+    private final Set<Component> components = new HashSet<Component>();
+
+    private boolean first = true;
+
+    /**
+     * Default constructor.
+     */
+    public CalendarMerger() {
+    }
+
+    /**
+     * @param builder the builder used to parse calendars merged from streams
+     */
+    public CalendarMerger(final CalendarBuilder builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Merges the properties and components of the specified calendar.
+     * @param calendar a calendar to merge
+     * @return this merger
+     */
+    public final CalendarMerger merge(final Calendar calendar) {
+        for (final Property p : calendar.getProperties()) {
+            if (properties.add(p) || first) {
+                result.getProperties().add(p);
+            }
+        }
+        for (final CalendarComponent c : calendar.getComponents()) {
+            if (components.add(c) || first) {
+                result.getComponents().add(c);
+            }
+        }
+        first = false;
+        return this;
+    }
+
+    /**
+     * Parses a calendar from the specified stream and merges its properties and components.
+     * @param in a stream of calendar data
+     * @return this merger
+     * @throws IOException where an error occurs reading calendar data
+     * @throws ParserException where calendar data is invalid
+     */
+    public final CalendarMerger merge(final InputStream in) throws IOException, ParserException {
+        if (builder == null) {
+            builder = new CalendarBuilder();
+        }
+        return merge(builder.build(in));
+    }
+
+    /**
+     * @return a calendar containing all merged properties and components
+     */
+    public final Calendar getResult() {
+        return result;
+    }
+}
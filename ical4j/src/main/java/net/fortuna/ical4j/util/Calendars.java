@@ -44,8 +44,11 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.URL;
 import java.nio.charset.Charset;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 
 /**
  * $Id$
@@ -97,20 +100,22 @@ public final class Calendars {
      * @return a Calendar instance containing all properties and components from both of the specified calendars
      */
     public static Calendar merge(final Calendar c1, final Calendar c2) {
-        final Calendar result = new Calendar();
-        result.getProperties().addAll(c1.getProperties());
-        for (final Property p : c2.getProperties()) {
-            if (!result.getProperties().contains(p)) {
-                result.getProperties().add(p);
-            }
-        }
-        result.getComponents().addAll(c1.getComponents());
-        for (final CalendarComponent c : c2.getComponents()) {
-            if (!result.getComponents().contains(c)) {
-                result.getComponents().add(c);
-            }
+        return merge(new Calendar[] {c1, c2});
+    }
+
+    /**
+     * Merge all properties and components from the specified calendars into one instance. Properties and components
+     * equal to those of a preceding calendar are omitted.
+     * @param calendars the calendars to merge
+     * @return a Calendar instance containing all properties and components from the specified calendars
+     * @see CalendarMerger
+     */
+    public static Calendar merge(final Calendar... calendars) {
+        final CalendarMerger merger = new CalendarMerger();
+        for (final Calendar calendar : calendars) {
+            merger.merge(calendar);
         }
-        return result;
+        return merger.getResult();
     }
 
     /**
@@ -142,36 +147,39 @@ public final class Calendars {
 		final IndexedComponentList<VTimeZone> timezones = new IndexedComponentList<VTimeZone>(
         		timezoneList, Property.TZID);
         
-        final Map<Uid, Calendar> calendars = new HashMap<Uid, Calendar>();
-        for (final CalendarComponent c : calendar.getComponents()) {
-            if (c instanceof VTimeZone) {
-                continue;
-            }
-            
-            final Uid uid = (Uid) c.getProperty(Property.UID);
-            
-            Calendar uidCal = calendars.get(uid);
-            if (uidCal == null) {
-                uidCal = new Calendar(calendar.getProperties(), new ComponentList<CalendarComponent>());
-                // remove METHOD property for split calendars..
-                for (final Property mp : uidCal.getProperties(Property.METHOD)) {
-                    uidCal.getProperties().remove(mp);
+        final UidIndex<CalendarComponent> uidIndex = calendar.getUidIndex();
+        final List<Calendar> calendars = new ArrayList<Calendar>(uidIndex.getUids().size());
+        for (final String uid : uidIndex.getUids()) {
+            Calendar uidCal = null;
+            // timezones are resolved to the same instance for a TZID, so identity is sufficient
+            final Set<VTimeZone> uidTimezones = Collections.newSetFromMap(new IdentityHashMap<VTimeZone, Boolean>());
+            for (final CalendarComponent c : uidIndex.getComponents(uid)) {
+                if (c instanceof VTimeZone) {
+                    continue;
                 }
-                calendars.put(uid, uidCal);
-            }
-            
-            for (final Property p : c.getProperties()) {
-                final TzId tzid = (TzId) p.getParameter(Parameter.TZID);
-                if (tzid != null) {
-                    final VTimeZone timezone = timezones.getComponent(tzid.getValue());
-                    if (!uidCal.getComponents().contains(timezone)) {
-                        uidCal.getComponents().add(timezone);
+
+                if (uidCal == null) {
+                    uidCal = new Calendar(calendar.getProperties(), new ComponentList<CalendarComponent>());
+                    // remove METHOD property for split calendars..
+                    for (final Property mp : uidCal.getProperties(Property.METHOD)) {
+                        uidCal.getProperties().remove(mp);
+                    }
+                    calendars.add(uidCal);
+                }
+
+                for (final Property p : c.getProperties()) {
+                    final TzId tzid = (TzId) p.getParameter(Parameter.TZID);
+                    if (tzid != null) {
+                        final VTimeZone timezone = timezones.getComponent(tzid.getValue());
+                        if (uidTimezones.add(timezone)) {
+                            uidCal.getComponents().add(timezone);
+                        }
                     }
                 }
+                uidCal.getComponents().add(c);
             }
-            uidCal.getComponents().add(c);
         }
-        return calendars.values().toArray(new Calendar[calendars.values().size()]);
+        return calendars.toArray(new Calendar[calendars.size()]);
     }
     
     /**
@@ -41,6 +41,10 @@ import net.fortuna.ical4j.model.property.Status;
 import net.fortuna.ical4j.model.property.Transp;
 import net.fortuna.ical4j.model.property.Version;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * $Id$
  *
@@ -52,6 +56,11 @@ import net.fortuna.ical4j.model.property.Version;
  */
 public final class Constants {
 
+    // names of properties with constant instances, such that other properties are not compared with each constant
+    private static final Set<String> CONSTANT_PROPERTY_NAMES = new HashSet<String>(Arrays.asList(Property.ACTION,
+            Property.CALSCALE, Property.CLASS, Property.METHOD, Property.PRIORITY, Property.STATUS, Property.TRANSP,
+            Property.VERSION));
+
     /**
      * Constructor made private to enforce static nature.
      */
@@ -67,6 +76,9 @@ public final class Constants {
      * constant exists
      */
     public static Property forProperty(final Property property) {
+        if (!CONSTANT_PROPERTY_NAMES.contains(property.getName())) {
+            return property;
+        }
         Property retVal = property;
         if (Action.AUDIO.equals(property)) {
             retVal = Action.AUDIO;
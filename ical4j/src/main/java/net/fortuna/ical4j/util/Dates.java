@@ -283,8 +283,10 @@ public final class Dates {
      * @return a round time value
      */
     public static long round(final long time, final int precision, final TimeZone tz) {
-        if ((precision == PRECISION_SECOND) && ((time % Dates.MILLIS_PER_SECOND) == 0)) {
-            return time;
+        if (precision == PRECISION_SECOND) {
+            // timezone offsets are whole seconds, so the millisecond field does not depend on the timezone..
+            final long millis = time % Dates.MILLIS_PER_SECOND;
+            return millis >= 0 ? time - millis : time - millis - Dates.MILLIS_PER_SECOND;
         }
         final Calendar cal = Calendar.getInstance(tz);
         cal.setTimeInMillis(time);
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Shared daemon threads for processing large calendars in parallel. A fixed thread pool is used rather than a
+ * fork/join pool as the latter is not available on all supported platforms.
+ */
+public final class Workers {
+
+    /**
+     * The number of worker threads.
+     */
+    public static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * A task processing a contiguous range of elements.
+     * @param <T> the result type of the task
+     */
+    public interface RangeTask<T> {
+
+        /**
+         * @param from the index of the first element to process
+         * @param to the index after the last element to process
+         * @return the result for the range
+         * @throws Exception where the range cannot be processed
+         */
+        T call(int from, int to) throws Exception;
+    }
+
+    /**
+     * Constructor made private to enforce static nature.
+     */
+    private Workers() {
+    }
+
+    /**
+     * Splits the range [0, size) into one contiguous chunk per worker thread and processes the chunks in parallel.
+     * @param size the number of elements to process
+     * @param task the task applied to each chunk
+     * @param <T> the result type of the task
+     * @return the results of the chunks in range order
+     * @throws InterruptedException if the calling thread is interrupted while waiting, in which case the remaining
+     * chunks are cancelled
+     * @throws ExecutionException if any chunk fails, after all chunks have completed
+     */
+    public static <T> List<T> invokeAll(final int size, final RangeTask<T> task)
+            throws InterruptedException, ExecutionException {
+
+        final int chunkSize = (size + THREADS - 1) / THREADS;
+        final List<Callable<T>> chunks = new ArrayList<Callable<T>>(THREADS);
+        for (int start = 0; start < size; start += chunkSize) {
+            final int from = start;
+            final int to = Math.min(start + chunkSize, size);
+            chunks.add(new Callable<T>() {
+                @Override
+                public T call() throws Exception {
+                    return task.call(from, to);
+                }
+            });
+        }
+
+        final List<T> results = new ArrayList<T>(chunks.size());
+        for (final Future<T> future : Holder.EXECUTOR.invokeAll(chunks)) {
+            results.add(future.get());
+        }
+        return results;
+    }
+
+    /**
+     * @param e an exception thrown by a parallel task
+     * @return the unchecked cause of the exception, wrapped in a {@link RuntimeException} if checked
+     */
+    public static RuntimeException unchecked(final ExecutionException e) {
+        if (e.getCause() instanceof Error) {
+            throw (Error) e.getCause();
+        } else if (e.getCause() instanceof RuntimeException) {
+            return (RuntimeException) e.getCause();
+        }
+        return new RuntimeException(e.getCause());
+    }
+
+    /**
+     * Creates the pool on first use.
+     */
+    private static final class Holder {
+
+        static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                final Thread thread = new Thread(r, "ical4j-worker");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
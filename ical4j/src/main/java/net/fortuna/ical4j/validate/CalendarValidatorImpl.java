@@ -2,22 +2,116 @@ package net.fortuna.ical4j.validate;
 
 import net.fortuna.ical4j.model.Calendar;
 import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.ComponentList;
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.CalendarComponent;
 import net.fortuna.ical4j.model.property.*;
 import net.fortuna.ical4j.util.CompatibilityHints;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.collections4.Predicate;
+import net.fortuna.ical4j.util.Configurator;
+import net.fortuna.ical4j.util.Workers;
+import net.fortuna.ical4j.validate.CardinalityRules.Cardinality;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Created by fortuna on 13/09/15.
+ *
+ * The cardinality rules for the calendar and for each METHOD are compiled once into tables, so a calendar is
+ * validated with a single pass over its properties and components. The ITIP validation of the components of large
+ * calendars is performed in parallel.
  */
 public class CalendarValidatorImpl implements Validator<Calendar> {
 
+    /**
+     * The minimum number of components in a calendar for ITIP validation of the components to be performed in
+     * parallel.
+     */
+    public static final String KEY_PARALLEL_THRESHOLD = "net.fortuna.ical4j.validate.parallelthreshold";
+
+    private static final int PARALLEL_THRESHOLD = Configurator.getIntProperty(KEY_PARALLEL_THRESHOLD).orElse(64);
+
+    // 'prodid' and 'version' are both REQUIRED, but MUST NOT occur more than once,
+    // 'calscale' and 'method' are optional, but MUST NOT occur more than once..
+    private static final CardinalityRules CALENDAR_RULES = CardinalityRules.forProperties()
+            .one(Property.PRODID, Property.VERSION)
+            .oneOrLess(Property.CALSCALE, Property.METHOD)
+            .build();
+
+    private static final Map<Method, MethodRules> METHOD_RULES = new HashMap<Method, MethodRules>();
+    static {
+        METHOD_RULES.put(Method.PUBLISH, new MethodRules()
+                .when(Component.VEVENT, CardinalityRules.forComponents()
+                        .none(Component.VFREEBUSY, Component.VJOURNAL)
+                        .unlessRelaxed(Cardinality.NONE, Component.VTODO))
+                .when(Component.VFREEBUSY, CardinalityRules.forComponents()
+                        .none(Component.VTODO, Component.VJOURNAL, Component.VTIMEZONE, Component.VALARM))
+                .when(Component.VTODO, CardinalityRules.forComponents()
+                        .none(Component.VJOURNAL)));
+
+        METHOD_RULES.put(Method.REQUEST, new MethodRules()
+                .when(Component.VEVENT, CardinalityRules.forComponents()
+                        .none(Component.VFREEBUSY, Component.VJOURNAL, Component.VTODO))
+                .when(Component.VFREEBUSY, CardinalityRules.forComponents()
+                        .none(Component.VTODO, Component.VJOURNAL, Component.VTIMEZONE, Component.VALARM))
+                .when(Component.VTODO, CardinalityRules.forComponents()
+                        .none(Component.VJOURNAL)));
+
+        METHOD_RULES.put(Method.REPLY, new MethodRules()
+                .when(Component.VEVENT, CardinalityRules.forComponents()
+                        .oneOrLess(Component.VTIMEZONE)
+                        .none(Component.VALARM, Component.VFREEBUSY, Component.VJOURNAL, Component.VTODO))
+                .when(Component.VFREEBUSY, CardinalityRules.forComponents()
+                        .none(Component.VTODO, Component.VJOURNAL, Component.VTIMEZONE, Component.VALARM))
+                .when(Component.VTODO, CardinalityRules.forComponents()
+                        .oneOrLess(Component.VTIMEZONE)
+                        .none(Component.VALARM, Component.VJOURNAL)));
+
+        METHOD_RULES.put(Method.ADD, new MethodRules()
+                .when(Component.VEVENT, CardinalityRules.forComponents()
+                        .none(Component.VFREEBUSY, Component.VJOURNAL, Component.VTODO))
+                .when(Component.VTODO, CardinalityRules.forComponents()
+                        .none(Component.VFREEBUSY, Component.VJOURNAL))
+                .when(Component.VJOURNAL, CardinalityRules.forComponents()
+                        .oneOrLess(Component.VTIMEZONE)
+                        .none(Component.VFREEBUSY)));
+
+        METHOD_RULES.put(Method.CANCEL, new MethodRules()
+                .when(Component.VEVENT, CardinalityRules.forComponents()
+                        .none(Component.VALARM, Component.VFREEBUSY, Component.VJOURNAL, Component.VTODO))
+                .when(Component.VTODO, CardinalityRules.forComponents()
+                        .oneOrLess(Component.VTIMEZONE)
+                        .none(Component.VALARM, Component.VFREEBUSY, Component.VJOURNAL))
+                .when(Component.VJOURNAL, CardinalityRules.forComponents()
+                        .none(Component.VALARM, Component.VFREEBUSY)));
+
+        METHOD_RULES.put(Method.REFRESH, new MethodRules()
+                .when(Component.VEVENT, CardinalityRules.forComponents()
+                        .none(Component.VALARM, Component.VFREEBUSY, Component.VJOURNAL, Component.VTODO))
+                .when(Component.VTODO, CardinalityRules.forComponents()
+                        .none(Component.VALARM, Component.VFREEBUSY, Component.VJOURNAL, Component.VTIMEZONE)));
+
+        METHOD_RULES.put(Method.COUNTER, new MethodRules()
+                .when(Component.VEVENT, CardinalityRules.forComponents()
+                        .none(Component.VFREEBUSY, Component.VJOURNAL, Component.VTODO))
+                .when(Component.VTODO, CardinalityRules.forComponents()
+                        .oneOrLess(Component.VTIMEZONE)
+                        .none(Component.VFREEBUSY, Component.VJOURNAL)));
+
+        METHOD_RULES.put(Method.DECLINE_COUNTER, new MethodRules()
+                .when(Component.VEVENT, CardinalityRules.forComponents()
+                        .none(Component.VFREEBUSY, Component.VJOURNAL, Component.VTODO, Component.VTIMEZONE,
+                                Component.VALARM))
+                .when(Component.VTODO, CardinalityRules.forComponents()
+                        .none(Component.VALARM, Component.VFREEBUSY, Component.VJOURNAL)));
+    }
+
     protected final List<Class<? extends Property>> calendarProperties = new ArrayList<Class<? extends Property>>();
 
     public CalendarValidatorImpl() {
@@ -26,208 +120,166 @@ public class CalendarValidatorImpl implements Validator<Calendar> {
 
     @Override
     public void validate(Calendar target) throws ValidationException {
-        // 'prodid' and 'version' are both REQUIRED,
-        // but MUST NOT occur more than once
-        PropertyValidator.getInstance().assertOne(Property.PRODID, target.getProperties());
-        PropertyValidator.getInstance().assertOne(Property.VERSION, target.getProperties());
+        validate(target, null);
+    }
+
+    /**
+     * Validates the calendar and all of its components without stopping at the first violation. Each component
+     * contributes at most one violation, the first reported by its ITIP validator.
+     * @param target the calendar to validate
+     * @return the violations found, in the order they would be reported by {@link #validate(Calendar)}
+     */
+    public List<ValidationException> validateAll(Calendar target) {
+        final List<ValidationException> violations = new ArrayList<ValidationException>();
+        validate(target, violations);
+        return violations;
+    }
+
+    /**
+     * @param violations a list to collect violations, or null to throw the first violation
+     */
+    private void validate(Calendar target, List<ValidationException> violations) {
+        CALENDAR_RULES.validate(target.getProperties(), violations);
 
         if (!CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_VALIDATION)) {
             // require VERSION:2.0 for RFC2445..
-            if (!Version.VERSION_2_0.equals(target.getProperty(Property.VERSION))) {
-                throw new ValidationException("Unsupported Version: " + target.getProperty(Property.VERSION).getValue());
+            final Property version = target.getProperty(Property.VERSION);
+            if (version != null && !Version.VERSION_2_0.equals(version)) {
+                report(new ValidationException("Unsupported Version: " + version.getValue()), violations);
             }
         }
 
-        // 'calscale' and 'method' are optional,
-        // but MUST NOT occur more than once
-        PropertyValidator.getInstance().assertOneOrLess(Property.CALSCALE,
-                target.getProperties());
-        PropertyValidator.getInstance().assertOneOrLess(Property.METHOD,
-                target.getProperties());
-
         // must contain at least one component
         if (target.getComponents().isEmpty()) {
-            throw new ValidationException(
-                    "Calendar must contain at least one component");
+            report(new ValidationException("Calendar must contain at least one component"), violations);
         }
 
         // validate properties..
         for (final Property property : target.getProperties()) {
-            boolean isCalendarProperty = CollectionUtils.find(calendarProperties, new Predicate<Class<? extends Property>>() {
-                @Override
-                public boolean evaluate(Class<? extends Property> object) {
-                    return object.isInstance(property);
-                }
-            }) != null;
-
-            if (!(property instanceof XProperty) && !isCalendarProperty) {
-                throw new ValidationException("Invalid property: " + property.getName());
+            if (!(property instanceof XProperty) && !isCalendarProperty(property)) {
+                report(new ValidationException("Invalid property: " + property.getName()), violations);
             }
         }
 
-//        if (!CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_VALIDATION)) {
         // validate method..
         final Method method = (Method) target.getProperty(Property.METHOD);
-        if (Method.PUBLISH.equals(method)) {
-            if (target.getComponent(Component.VEVENT) != null) {
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-
-                if (!CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_VALIDATION)) {
-                    ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-                }
+        final MethodRules methodRules = method != null ? METHOD_RULES.get(method) : null;
+        if (methodRules != null) {
+            final Set<String> componentNames = new HashSet<String>();
+            for (final Component component : target.getComponents()) {
+                componentNames.add(component.getName());
             }
-            else if (target.getComponent(Component.VFREEBUSY) != null) {
-                ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-                ComponentValidator.assertNone(Component.VTIMEZONE, target.getComponents());
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
+            final CardinalityRules rules = methodRules.get(componentNames);
+            if (rules != null) {
+                rules.validate(target.getComponents(), violations);
             }
-            else if (target.getComponent(Component.VTODO) != null) {
-//                    ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-//                    ComponentValidator.assertNone(Component.VEVENT, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-            }
-//                else if (target.getComponent(Component.VJOURNAL) != null) {
-//                    ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-//                    ComponentValidator.assertNone(Component.VEVENT, target.getComponents());
-//                    ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-//                }
         }
-        else if (Method.REQUEST.equals(target.getProperty(Property.METHOD))) {
-            if (target.getComponent(Component.VEVENT) != null) {
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-                ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-            }
-            else if (target.getComponent(Component.VFREEBUSY) != null) {
-                ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-                ComponentValidator.assertNone(Component.VTIMEZONE, target.getComponents());
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
-            }
-            else if (target.getComponent(Component.VTODO) != null) {
-//                  ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VEVENT, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-            }
+
+        // perform ITIP validation on components..
+        if (method != null) {
+            validateComponents(target.getComponents(), method, violations);
         }
-        else if (Method.REPLY.equals(target.getProperty(Property.METHOD))) {
-            if (target.getComponent(Component.VEVENT) != null) {
-                ComponentValidator.assertOneOrLess(Component.VTIMEZONE, target.getComponents());
-
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-                ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-            }
-            else if (target.getComponent(Component.VFREEBUSY) != null) {
-                ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-                ComponentValidator.assertNone(Component.VTIMEZONE, target.getComponents());
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
-            }
-            else if (target.getComponent(Component.VTODO) != null) {
-                ComponentValidator.assertOneOrLess(Component.VTIMEZONE, target.getComponents());
+    }
 
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VEVENT, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
+    private boolean isCalendarProperty(final Property property) {
+        for (final Class<? extends Property> propertyClass : calendarProperties) {
+            if (propertyClass.isInstance(property)) {
+                return true;
             }
         }
-        else if (Method.ADD.equals(target.getProperty(Property.METHOD))) {
-            if (target.getComponent(Component.VEVENT) != null) {
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-                ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-            }
-            else if (target.getComponent(Component.VTODO) != null) {
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VEVENT, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-            }
-            else if (target.getComponent(Component.VJOURNAL) != null) {
-                ComponentValidator.assertOneOrLess(Component.VTIMEZONE, target.getComponents());
+        return false;
+    }
 
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VEVENT, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VTODO, target.getComponents());
+    private static void validateComponents(final ComponentList<CalendarComponent> components, final Method method,
+                                           final List<ValidationException> violations) {
+
+        if (components.size() < PARALLEL_THRESHOLD) {
+            if (violations == null) {
+                for (final CalendarComponent component : components) {
+                    component.validate(method);
+                }
+            } else {
+                validateComponents(components, 0, components.size(), method, violations, false);
             }
+            return;
         }
-        else if (Method.CANCEL.equals(target.getProperty(Property.METHOD))) {
-            if (target.getComponent(Component.VEVENT) != null) {
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-                ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-            }
-            else if (target.getComponent(Component.VTODO) != null) {
-                ComponentValidator.assertOneOrLess(Component.VTIMEZONE, target.getComponents());
 
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VEVENT, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-            }
-            else if (target.getComponent(Component.VJOURNAL) != null) {
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VEVENT, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-            }
+        final boolean failFast = violations == null;
+        final List<List<ValidationException>> results;
+        try {
+            results = Workers.invokeAll(components.size(), new Workers.RangeTask<List<ValidationException>>() {
+                @Override
+                public List<ValidationException> call(int from, int to) {
+                    final List<ValidationException> chunkViolations = new ArrayList<ValidationException>();
+                    validateComponents(components, from, to, method, chunkViolations, failFast);
+                    return chunkViolations;
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ValidationException("Validation interrupted");
+        } catch (ExecutionException e) {
+            throw Workers.unchecked(e);
         }
-        else if (Method.REFRESH.equals(target.getProperty(Property.METHOD))) {
-            if (target.getComponent(Component.VEVENT) != null) {
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-                ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-            }
-            else if (target.getComponent(Component.VTODO) != null) {
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VEVENT, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-                ComponentValidator.assertNone(Component.VTIMEZONE, target.getComponents());
+
+        for (final List<ValidationException> chunkViolations : results) {
+            if (!failFast) {
+                violations.addAll(chunkViolations);
+            } else if (!chunkViolations.isEmpty()) {
+                throw chunkViolations.get(0);
             }
         }
-        else if (Method.COUNTER.equals(target.getProperty(Property.METHOD))) {
-            if (target.getComponent(Component.VEVENT) != null) {
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-                ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-            }
-            else if (target.getComponent(Component.VTODO) != null) {
-                ComponentValidator.assertOneOrLess(Component.VTIMEZONE, target.getComponents());
+    }
 
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VEVENT, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
+    /**
+     * @param failFast stop at the first violation in the range
+     */
+    private static void validateComponents(final ComponentList<CalendarComponent> components, final int from,
+                                           final int to, final Method method,
+                                           final List<ValidationException> violations, final boolean failFast) {
+
+        for (int i = from; i < to; i++) {
+            try {
+                components.get(i).validate(method);
+            } catch (ValidationException e) {
+                violations.add(e);
+                if (failFast) {
+                    return;
+                }
             }
         }
-        else if (Method.DECLINE_COUNTER.equals(target.getProperty(Property.METHOD))) {
-            if (target.getComponent(Component.VEVENT) != null) {
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-                ComponentValidator.assertNone(Component.VTODO, target.getComponents());
-                ComponentValidator.assertNone(Component.VTIMEZONE, target.getComponents());
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
-            }
-            else if (target.getComponent(Component.VTODO) != null) {
-                ComponentValidator.assertNone(Component.VALARM, target.getComponents());
-                ComponentValidator.assertNone(Component.VFREEBUSY, target.getComponents());
-//                  ComponentValidator.assertNone(Component.VEVENT, target.getComponents());
-                ComponentValidator.assertNone(Component.VJOURNAL, target.getComponents());
-            }
+    }
+
+    private static void report(final ValidationException violation, final List<ValidationException> violations) {
+        if (violations == null) {
+            throw violation;
         }
-//        }
+        violations.add(violation);
+    }
 
-        // perform ITIP validation on components..
-        if (method != null) {
-            for (CalendarComponent component : target.getComponents()) {
-                component.validate(method);
+    /**
+     * The component rules of a METHOD, selected by the first of the listed component types present in the
+     * calendar.
+     */
+    private static final class MethodRules {
+
+        private final List<String> componentNames = new ArrayList<String>();
+
+        private final List<CardinalityRules> rules = new ArrayList<CardinalityRules>();
+
+        MethodRules when(final String componentName, final CardinalityRules.Builder builder) {
+            componentNames.add(componentName);
+            rules.add(builder.build());
+            return this;
+        }
+
+        CardinalityRules get(final Set<String> presentNames) {
+            for (int i = 0; i < componentNames.size(); i++) {
+                if (presentNames.contains(componentNames.get(i))) {
+                    return rules.get(i);
+                }
             }
+            return null;
         }
     }
 }
@@ -0,0 +1,338 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.validate;
+
+import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.ComponentList;
+import net.fortuna.ical4j.model.Property;
+import net.fortuna.ical4j.model.PropertyList;
+import net.fortuna.ical4j.util.CompatibilityHints;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A compiled table of cardinality rules for the properties or sub-components of a component. The occurrences of
+ * every name referenced by the table are counted in a single pass over the list, and the rules are then evaluated
+ * against the counts, rather than scanning the list once per rule.
+ *
+ * <pre>
+ * private static final CardinalityRules RULES = CardinalityRules.forProperties()
+ *         .one(Property.DTSTAMP, Property.UID)
+ *         .oneOrLess(Property.SEQUENCE)
+ *         .build();
+ * </pre>
+ *
+ * Rules are evaluated in the order they were added, so the first violation reported matches the order of the
+ * equivalent {@link PropertyValidator} or {@link ComponentValidator} assertions.
+ */
+public final class CardinalityRules implements Serializable {
+
+    private static final long serialVersionUID = -2916208417436225745L;
+
+    /**
+     * The number of occurrences permitted by a rule.
+     */
+    public enum Cardinality {
+        /**
+         * Exactly one occurrence.
+         */
+        ONE,
+
+        /**
+         * Zero or one occurrences.
+         */
+        ONE_OR_LESS,
+
+        /**
+         * At least one occurrence.
+         */
+        ONE_OR_MORE,
+
+        /**
+         * No occurrences.
+         */
+        NONE;
+
+        boolean accepts(final int count) {
+            switch (this) {
+                case ONE:
+                    return count == 1;
+                case ONE_OR_LESS:
+                    return count <= 1;
+                case ONE_OR_MORE:
+                    return count >= 1;
+                default:
+                    return count == 0;
+            }
+        }
+    }
+
+    private final boolean properties;
+
+    // distinct names referenced by the rules, keyed by name to an index into the counts..
+    private final Map<String, Integer> indexes;
+
+    private final String[] names;
+
+    private final int[] nameIndexes;
+
+    private final Cardinality[] cardinalities;
+
+    private final boolean[] relaxable;
+
+    private CardinalityRules(final Builder builder) {
+        this.properties = builder.properties;
+        this.indexes = new HashMap<String, Integer>();
+        final int size = builder.names.size();
+        this.names = builder.names.toArray(new String[size]);
+        this.nameIndexes = new int[size];
+        this.cardinalities = builder.cardinalities.toArray(new Cardinality[size]);
+        this.relaxable = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            Integer index = indexes.get(names[i]);
+            if (index == null) {
+                index = indexes.size();
+                indexes.put(names[i], index);
+            }
+            nameIndexes[i] = index;
+            relaxable[i] = builder.relaxable.get(i);
+        }
+    }
+
+    /**
+     * @return a builder for rules applied to property lists
+     */
+    public static Builder forProperties() {
+        return new Builder(true);
+    }
+
+    /**
+     * @return a builder for rules applied to component lists
+     */
+    public static Builder forComponents() {
+        return new Builder(false);
+    }
+
+    /**
+     * @param properties a list of properties to validate
+     * @throws ValidationException for the first rule not satisfied by the list
+     */
+    public void assertValid(final PropertyList<?> properties) throws ValidationException {
+        validate(count(properties), null);
+    }
+
+    /**
+     * @param components a list of components to validate
+     * @throws ValidationException for the first rule not satisfied by the list
+     */
+    public void assertValid(final ComponentList<?> components) throws ValidationException {
+        validate(count(components), null);
+    }
+
+    /**
+     * @param properties a list of properties to validate
+     * @param violations a list to add a violation to for each rule not satisfied by the properties
+     * @return true if all rules are satisfied
+     */
+    public boolean validate(final PropertyList<?> properties, final List<ValidationException> violations) {
+        return validate(count(properties), violations);
+    }
+
+    /**
+     * @param components a list of components to validate
+     * @param violations a list to add a violation to for each rule not satisfied by the components
+     * @return true if all rules are satisfied
+     */
+    public boolean validate(final ComponentList<?> components, final List<ValidationException> violations) {
+        return validate(count(components), violations);
+    }
+
+    private int[] count(final PropertyList<?> list) {
+        if (!properties) {
+            throw new IllegalStateException("Rules do not apply to properties");
+        }
+        final int[] counts = new int[indexes.size()];
+        for (final Property property : list) {
+            Integer index = indexes.get(property.getName());
+            if (index == null) {
+                // property names are case-insensitive..
+                index = indexes.get(property.getName().toUpperCase(Locale.US));
+            }
+            if (index != null) {
+                counts[index]++;
+            }
+        }
+        return counts;
+    }
+
+    private int[] count(final ComponentList<?> list) {
+        if (properties) {
+            throw new IllegalStateException("Rules do not apply to components");
+        }
+        final int[] counts = new int[indexes.size()];
+        for (final Component component : list) {
+            final Integer index = indexes.get(component.getName());
+            if (index != null) {
+                counts[index]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @param counts the occurrences of each name
+     * @param violations a list to collect violations, or null to throw the first violation
+     */
+    private boolean validate(final int[] counts, final List<ValidationException> violations) {
+        boolean valid = true;
+        boolean relaxed = false;
+        boolean relaxedChecked = false;
+        for (int i = 0; i < names.length; i++) {
+            if (cardinalities[i].accepts(counts[nameIndexes[i]])) {
+                continue;
+            }
+            if (relaxable[i]) {
+                if (!relaxedChecked) {
+                    relaxed = CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_VALIDATION);
+                    relaxedChecked = true;
+                }
+                if (relaxed) {
+                    continue;
+                }
+            }
+            final ValidationException violation = new ValidationException(getMessage(cardinalities[i]),
+                    new Object[] {names[i]});
+            if (violations == null) {
+                throw violation;
+            }
+            violations.add(violation);
+            valid = false;
+        }
+        return valid;
+    }
+
+    private String getMessage(final Cardinality cardinality) {
+        switch (cardinality) {
+            case ONE:
+                return properties ? PropertyValidator.ASSERT_ONE_MESSAGE : ComponentValidator.ASSERT_ONE_MESSAGE;
+            case ONE_OR_LESS:
+                return properties ? PropertyValidator.ASSERT_ONE_OR_LESS_MESSAGE
+                        : ComponentValidator.ASSERT_ONE_OR_LESS_MESSAGE;
+            case ONE_OR_MORE:
+                return properties ? PropertyValidator.ASSERT_ONE_OR_MORE_MESSAGE
+                        : ComponentValidator.ASSERT_ONE_OR_MORE_MESSAGE;
+            default:
+                return properties ? PropertyValidator.ASSERT_NONE_MESSAGE : ComponentValidator.ASSERT_NONE_MESSAGE;
+        }
+    }
+
+    /**
+     * Collects rules in evaluation order.
+     */
+    public static final class Builder {
+
+        private final boolean properties;
+
+        private final List<String> names = new ArrayList<String>();
+
+        private final List<Cardinality> cardinalities = new ArrayList<Cardinality>();
+
+        private final List<Boolean> relaxable = new ArrayList<Boolean>();
+
+        private Builder(final boolean properties) {
+            this.properties = properties;
+        }
+
+        /**
+         * @param names names that must occur exactly once
+         * @return this builder
+         */
+        public Builder one(final String... names) {
+            return add(Cardinality.ONE, false, names);
+        }
+
+        /**
+         * @param names names that must not occur more than once
+         * @return this builder
+         */
+        public Builder oneOrLess(final String... names) {
+            return add(Cardinality.ONE_OR_LESS, false, names);
+        }
+
+        /**
+         * @param names names that must occur at least once
+         * @return this builder
+         */
+        public Builder oneOrMore(final String... names) {
+            return add(Cardinality.ONE_OR_MORE, false, names);
+        }
+
+        /**
+         * @param names names that must not occur
+         * @return this builder
+         */
+        public Builder none(final String... names) {
+            return add(Cardinality.NONE, false, names);
+        }
+
+        /**
+         * Adds rules that are only enforced when {@link CompatibilityHints#KEY_RELAXED_VALIDATION} is disabled.
+         * @param cardinality the permitted occurrences
+         * @param names the names the rule applies to
+         * @return this builder
+         */
+        public Builder unlessRelaxed(final Cardinality cardinality, final String... names) {
+            return add(cardinality, true, names);
+        }
+
+        private Builder add(final Cardinality cardinality, final boolean relaxed, final String... names) {
+            for (final String name : names) {
+                this.names.add(properties ? name.toUpperCase(Locale.US) : name);
+                this.cardinalities.add(cardinality);
+                this.relaxable.add(relaxed);
+            }
+            return this;
+        }
+
+        /**
+         * @return the compiled rules
+         */
+        public CardinalityRules build() {
+            return new CardinalityRules(this);
+        }
+    }
+}
@@ -39,9 +39,13 @@ import net.fortuna.ical4j.model.ComponentList;
  */
 public final class ComponentValidator {
 
-    private static final String ASSERT_NONE_MESSAGE = "Component [{0}] is not applicable";
+    static final String ASSERT_NONE_MESSAGE = "Component [{0}] is not applicable";
 
-    private static final String ASSERT_ONE_OR_LESS_MESSAGE = "Component [{0}] must only be specified once";
+    static final String ASSERT_ONE_OR_LESS_MESSAGE = "Component [{0}] must only be specified once";
+
+    static final String ASSERT_ONE_MESSAGE = "Component [{0}] must be specified once";
+
+    static final String ASSERT_ONE_OR_MORE_MESSAGE = "Component [{0}] must be specified at least once";
     
     /**
      * Constructor made private to enforce static nature.
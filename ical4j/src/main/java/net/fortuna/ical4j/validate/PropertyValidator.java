@@ -42,13 +42,13 @@ import net.fortuna.ical4j.model.PropertyList;
  */
 public final class PropertyValidator {
 
-    private static final String ASSERT_NONE_MESSAGE = "Property [{0}] is not applicable";
+    static final String ASSERT_NONE_MESSAGE = "Property [{0}] is not applicable";
 
-    private static final String ASSERT_ONE_OR_LESS_MESSAGE = "Property [{0}] must only be specified once";
+    static final String ASSERT_ONE_OR_LESS_MESSAGE = "Property [{0}] must only be specified once";
 
-    private static final String ASSERT_ONE_MESSAGE = "Property [{0}] must be specified once";
+    static final String ASSERT_ONE_MESSAGE = "Property [{0}] must be specified once";
 
-    private static final String ASSERT_ONE_OR_MORE_MESSAGE = "Property [{0}] must be specified at least once";
+    static final String ASSERT_ONE_OR_MORE_MESSAGE = "Property [{0}] must be specified at least once";
 
     private static PropertyValidator instance = new PropertyValidator();
 
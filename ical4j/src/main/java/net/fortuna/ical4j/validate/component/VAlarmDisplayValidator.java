@@ -2,7 +2,7 @@ package net.fortuna.ical4j.validate.component;
 
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VAlarm;
-import net.fortuna.ical4j.validate.PropertyValidator;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
 
@@ -13,6 +13,10 @@ public class VAlarmDisplayValidator implements Validator<VAlarm> {
 
     private static final long serialVersionUID = 1L;
 
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .one(Property.DESCRIPTION)
+            .build();
+
     /**
      * {@inheritDoc}
      */
@@ -20,6 +24,6 @@ public class VAlarmDisplayValidator implements Validator<VAlarm> {
         /*
          * ; the following are all REQUIRED, ; but MUST NOT occur more than once action / description / trigger /
          */
-        PropertyValidator.getInstance().assertOne(Property.DESCRIPTION, target.getProperties());
+        RULES.assertValid(target.getProperties());
     }
 }
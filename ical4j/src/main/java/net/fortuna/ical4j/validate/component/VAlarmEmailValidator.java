@@ -2,13 +2,9 @@ package net.fortuna.ical4j.validate.component;
 
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VAlarm;
-import net.fortuna.ical4j.validate.PropertyValidator;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
-import org.apache.commons.collections4.Closure;
-import org.apache.commons.collections4.CollectionUtils;
-
-import java.util.Arrays;
 
 /**
  * Created by fortuna on 12/09/15.
@@ -17,6 +13,11 @@ public class VAlarmEmailValidator implements Validator<VAlarm> {
 
     private static final long serialVersionUID = 1L;
 
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .one(Property.DESCRIPTION, Property.SUMMARY)
+            .oneOrMore(Property.ATTENDEE)
+            .build();
+
     /**
      * {@inheritDoc}
      */
@@ -32,13 +33,6 @@ public class VAlarmEmailValidator implements Validator<VAlarm> {
          * ; the following are optional,
          * ; and MAY occur more than once attach / x-prop
          */
-        CollectionUtils.forAllDo(Arrays.asList(Property.DESCRIPTION, Property.SUMMARY), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOne(input, target.getProperties());
-            }
-        });
-
-        PropertyValidator.getInstance().assertOneOrMore(Property.ATTENDEE, target.getProperties());
+        RULES.assertValid(target.getProperties());
     }
 }
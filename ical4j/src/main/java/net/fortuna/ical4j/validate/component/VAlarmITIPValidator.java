@@ -2,13 +2,9 @@ package net.fortuna.ical4j.validate.component;
 
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VAlarm;
-import net.fortuna.ical4j.validate.PropertyValidator;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
-import org.apache.commons.collections4.Closure;
-import org.apache.commons.collections4.CollectionUtils;
-
-import java.util.Arrays;
 
 /**
  * Common validation for all iTIP methods.
@@ -31,23 +27,15 @@ public class VAlarmITIPValidator implements Validator<VAlarm> {
 
     private static final long serialVersionUID = 1L;
 
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .one(Property.ACTION, Property.TRIGGER)
+            .oneOrLess(Property.DESCRIPTION, Property.DURATION, Property.REPEAT, Property.SUMMARY)
+            .build();
+
     /**
      * {@inheritDoc}
      */
     public void validate(final VAlarm target) throws ValidationException {
-        CollectionUtils.forAllDo(Arrays.asList(Property.ACTION, Property.TRIGGER), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOne(input, target.getProperties());
-            }
-        });
-
-        CollectionUtils.forAllDo(Arrays.asList(Property.DESCRIPTION, Property.DURATION, Property.REPEAT, Property.SUMMARY),
-                new Closure<String>() {
-                    @Override
-                    public void execute(String input) {
-                        PropertyValidator.getInstance().assertOneOrLess(input, target.getProperties());
-                    }
-                });
+        RULES.assertValid(target.getProperties());
     }
 }
@@ -2,7 +2,7 @@ package net.fortuna.ical4j.validate.component;
 
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VAlarm;
-import net.fortuna.ical4j.validate.PropertyValidator;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
 
@@ -13,6 +13,11 @@ public class VAlarmProcedureValidator implements Validator<VAlarm> {
 
     private static final long serialVersionUID = 1L;
 
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .one(Property.ATTACH)
+            .oneOrLess(Property.DESCRIPTION)
+            .build();
+
     /**
      * {@inheritDoc}
      */
@@ -27,8 +32,6 @@ public class VAlarmProcedureValidator implements Validator<VAlarm> {
          * ; and MUST NOT occur more than once description /
          * ; the following is optional, ; and MAY occur more than once x-prop
          */
-        PropertyValidator.getInstance().assertOne(Property.ATTACH, target.getProperties());
-
-        PropertyValidator.getInstance().assertOneOrLess(Property.DESCRIPTION, target.getProperties());
+        RULES.assertValid(target.getProperties());
     }
 }
@@ -4,13 +4,9 @@ import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VAlarm;
 import net.fortuna.ical4j.model.component.VEvent;
 import net.fortuna.ical4j.model.property.Method;
-import net.fortuna.ical4j.validate.PropertyValidator;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
-import org.apache.commons.collections4.Closure;
-import org.apache.commons.collections4.CollectionUtils;
-
-import java.util.Arrays;
 
 /**
  * METHOD:ADD Validator.
@@ -70,30 +66,17 @@ public class VEventAddValidator implements Validator<VEvent> {
 
     private static final long serialVersionUID = 1L;
 
-    public void validate(final VEvent target) throws ValidationException {
-        CollectionUtils.forAllDo(Arrays.asList(Property.DTSTAMP, Property.DTSTART, Property.ORGANIZER, Property.SEQUENCE,
-                Property.SUMMARY, Property.UID), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOne(input, target.getProperties());
-            }
-        });
-
-        CollectionUtils.forAllDo(Arrays.asList(Property.CATEGORIES, Property.CLASS, Property.CREATED, Property.DESCRIPTION,
-                Property.DTEND, Property.DURATION, Property.GEO, Property.LAST_MODIFIED, Property.LOCATION, Property.PRIORITY,
-                Property.RESOURCES, Property.STATUS, Property.TRANSP, Property.URL), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOneOrLess(input, target.getProperties());
-            }
-        });
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .one(Property.DTSTAMP, Property.DTSTART, Property.ORGANIZER, Property.SEQUENCE, Property.SUMMARY,
+                    Property.UID)
+            .oneOrLess(Property.CATEGORIES, Property.CLASS, Property.CREATED, Property.DESCRIPTION, Property.DTEND,
+                    Property.DURATION, Property.GEO, Property.LAST_MODIFIED, Property.LOCATION, Property.PRIORITY,
+                    Property.RESOURCES, Property.STATUS, Property.TRANSP, Property.URL)
+            .none(Property.RECURRENCE_ID, Property.REQUEST_STATUS)
+            .build();
 
-        CollectionUtils.forAllDo(Arrays.asList(Property.RECURRENCE_ID, Property.REQUEST_STATUS), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertNone(input, target.getProperties());
-            }
-        });
+    public void validate(final VEvent target) throws ValidationException {
+        RULES.assertValid(target.getProperties());
 
         for (final VAlarm alarm : target.getAlarms()) {
             alarm.validate(Method.ADD);
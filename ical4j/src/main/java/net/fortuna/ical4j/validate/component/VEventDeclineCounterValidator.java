@@ -3,14 +3,10 @@ package net.fortuna.ical4j.validate.component;
 import net.fortuna.ical4j.model.Component;
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VEvent;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ComponentValidator;
-import net.fortuna.ical4j.validate.PropertyValidator;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
-import org.apache.commons.collections4.Closure;
-import org.apache.commons.collections4.CollectionUtils;
-
-import java.util.Arrays;
 
 /**
  * METHOD:DECLINECOUNTER Validator.
@@ -71,31 +67,18 @@ public class VEventDeclineCounterValidator implements Validator<VEvent> {
 
     private static final long serialVersionUID = 1L;
 
-    public void validate(final VEvent target) throws ValidationException {
-        CollectionUtils.forAllDo(Arrays.asList(Property.DTSTAMP, Property.ORGANIZER, Property.UID), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOne(input, target.getProperties());
-            }
-        });
-
-        CollectionUtils.forAllDo(Arrays.asList(Property.RECURRENCE_ID, Property.SEQUENCE), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOneOrLess(input, target.getProperties());
-            }
-        });
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .one(Property.DTSTAMP, Property.ORGANIZER, Property.UID)
+            .oneOrLess(Property.RECURRENCE_ID, Property.SEQUENCE)
+            .none(Property.ATTACH, Property.ATTENDEE, Property.CATEGORIES, Property.CLASS, Property.CONTACT,
+                    Property.CREATED, Property.DESCRIPTION, Property.DTEND, Property.DTSTART, Property.DURATION,
+                    Property.EXDATE, Property.EXRULE, Property.GEO, Property.LAST_MODIFIED, Property.LOCATION,
+                    Property.PRIORITY, Property.RDATE, Property.RELATED_TO, Property.RESOURCES, Property.RRULE,
+                    Property.STATUS, Property.SUMMARY, Property.TRANSP, Property.URL)
+            .build();
 
-        CollectionUtils.forAllDo(Arrays.asList(Property.ATTACH, Property.ATTENDEE, Property.CATEGORIES, Property.CLASS,
-                Property.CONTACT, Property.CREATED, Property.DESCRIPTION, Property.DTEND, Property.DTSTART, Property.DURATION,
-                Property.EXDATE, Property.EXRULE, Property.GEO, Property.LAST_MODIFIED, Property.LOCATION, Property.PRIORITY,
-                Property.RDATE, Property.RELATED_TO, Property.RESOURCES, Property.RRULE, Property.STATUS, Property.SUMMARY,
-                Property.TRANSP, Property.URL), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertNone(input, target.getProperties());
-            }
-        });
+    public void validate(final VEvent target) throws ValidationException {
+        RULES.assertValid(target.getProperties());
 
         ComponentValidator.assertNone(Component.VALARM, target.getAlarms());
     }
@@ -4,14 +4,10 @@ import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VAlarm;
 import net.fortuna.ical4j.model.component.VEvent;
 import net.fortuna.ical4j.model.property.Method;
-import net.fortuna.ical4j.util.CompatibilityHints;
-import net.fortuna.ical4j.validate.PropertyValidator;
+import net.fortuna.ical4j.validate.CardinalityRules;
+import net.fortuna.ical4j.validate.CardinalityRules.Cardinality;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
-import org.apache.commons.collections4.Closure;
-import org.apache.commons.collections4.CollectionUtils;
-
-import java.util.Arrays;
 
 /**
  * METHOD:PUBLISH Validator.
@@ -73,40 +69,20 @@ public class VEventPublishValidator implements Validator<VEvent> {
 
     private static final long serialVersionUID = 1L;
 
-    public void validate(final VEvent target) throws ValidationException {
-        CollectionUtils.forAllDo(Arrays.asList(Property.DTSTAMP, Property.DTSTART), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOne(input, target.getProperties());
-            }
-        });
-
-        if (!CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_VALIDATION)) {
-            CollectionUtils.forAllDo(Arrays.asList(Property.ORGANIZER, Property.SUMMARY), new Closure<String>() {
-                @Override
-                public void execute(String input) {
-                    PropertyValidator.getInstance().assertOne(input, target.getProperties());
-                }
-            });
-        }
-
-        PropertyValidator.getInstance().assertOne(Property.UID, target.getProperties());
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .one(Property.DTSTAMP, Property.DTSTART)
+            .unlessRelaxed(Cardinality.ONE, Property.ORGANIZER, Property.SUMMARY)
+            .one(Property.UID)
+            .oneOrLess(Property.RECURRENCE_ID, Property.SEQUENCE, Property.CATEGORIES, Property.CLASS, Property.CREATED,
+                    Property.DESCRIPTION, Property.DTEND, Property.DURATION, Property.GEO, Property.LAST_MODIFIED,
+                    Property.LOCATION, Property.PRIORITY, Property.RESOURCES, Property.STATUS, Property.TRANSP,
+                    Property.URL)
+            .unlessRelaxed(Cardinality.NONE, Property.ATTENDEE)
+            .none(Property.REQUEST_STATUS)
+            .build();
 
-        CollectionUtils.forAllDo(Arrays.asList(Property.RECURRENCE_ID, Property.SEQUENCE, Property.CATEGORIES, Property.CLASS,
-                Property.CREATED, Property.DESCRIPTION, Property.DTEND, Property.DURATION, Property.GEO, Property.LAST_MODIFIED,
-                Property.LOCATION, Property.PRIORITY, Property.RESOURCES, Property.STATUS, Property.TRANSP, Property.URL),
-                new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOneOrLess(input, target.getProperties());
-            }
-        });
-
-        if (!CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_VALIDATION)) {
-            PropertyValidator.getInstance().assertNone(Property.ATTENDEE, target.getProperties());
-        }
-
-        PropertyValidator.getInstance().assertNone(Property.REQUEST_STATUS, target.getProperties());
+    public void validate(final VEvent target) throws ValidationException {
+        RULES.assertValid(target.getProperties());
 
         for (final VAlarm alarm : target.getAlarms()) {
             alarm.validate(Method.PUBLISH);
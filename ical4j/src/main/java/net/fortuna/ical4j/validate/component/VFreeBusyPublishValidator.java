@@ -2,13 +2,9 @@ package net.fortuna.ical4j.validate.component;
 
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VFreeBusy;
-import net.fortuna.ical4j.validate.PropertyValidator;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
-import org.apache.commons.collections4.Closure;
-import org.apache.commons.collections4.CollectionUtils;
-
-import java.util.Arrays;
 
 /**
  * <pre>
@@ -49,25 +45,14 @@ public class VFreeBusyPublishValidator implements Validator<VFreeBusy> {
 
     private static final long serialVersionUID = 1L;
 
-    public void validate(final VFreeBusy target) throws ValidationException {
-        PropertyValidator.getInstance().assertOneOrMore(Property.FREEBUSY, target.getProperties());
-
-        CollectionUtils.forAllDo(Arrays.asList(Property.DTSTAMP, Property.DTSTART, Property.DTEND, Property.ORGANIZER,
-                Property.UID), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOne(input, target.getProperties());
-            }
-        });
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .oneOrMore(Property.FREEBUSY)
+            .one(Property.DTSTAMP, Property.DTSTART, Property.DTEND, Property.ORGANIZER, Property.UID)
+            .oneOrLess(Property.URL)
+            .none(Property.ATTENDEE, Property.DURATION, Property.REQUEST_STATUS)
+            .build();
 
-        PropertyValidator.getInstance().assertOneOrLess(Property.URL, target.getProperties());
-
-        CollectionUtils.forAllDo(Arrays.asList(Property.ATTENDEE, Property.DURATION, Property.REQUEST_STATUS),
-                new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertNone(input, target.getProperties());
-            }
-        });
+    public void validate(final VFreeBusy target) throws ValidationException {
+        RULES.assertValid(target.getProperties());
     }
 }
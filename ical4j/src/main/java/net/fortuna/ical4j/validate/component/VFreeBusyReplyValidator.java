@@ -2,13 +2,9 @@ package net.fortuna.ical4j.validate.component;
 
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VFreeBusy;
-import net.fortuna.ical4j.validate.PropertyValidator;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
-import org.apache.commons.collections4.Closure;
-import org.apache.commons.collections4.CollectionUtils;
-
-import java.util.Arrays;
 
 /**
  * <pre>
@@ -49,25 +45,15 @@ public class VFreeBusyReplyValidator implements Validator<VFreeBusy> {
 
     private static final long serialVersionUID = 1L;
 
-    public void validate(final VFreeBusy target) throws ValidationException {
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .one(Property.ATTENDEE, Property.DTSTAMP, Property.DTEND, Property.DTSTART, Property.ORGANIZER,
+                    Property.UID)
+            .oneOrLess(Property.URL)
+            .none(Property.DURATION, Property.SEQUENCE)
+            .build();
 
+    public void validate(final VFreeBusy target) throws ValidationException {
         // FREEBUSY is 1+ in RFC2446 but 0+ in Calsify
-
-        CollectionUtils.forAllDo(Arrays.asList(Property.ATTENDEE, Property.DTSTAMP, Property.DTEND, Property.DTSTART,
-                Property.ORGANIZER, Property.UID), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOne(input, target.getProperties());
-            }
-        });
-
-        PropertyValidator.getInstance().assertOneOrLess(Property.URL, target.getProperties());
-
-        CollectionUtils.forAllDo(Arrays.asList(Property.DURATION, Property.SEQUENCE), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertNone(input, target.getProperties());
-            }
-        });
+        RULES.assertValid(target.getProperties());
     }
 }
@@ -2,13 +2,9 @@ package net.fortuna.ical4j.validate.component;
 
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VFreeBusy;
-import net.fortuna.ical4j.validate.PropertyValidator;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
-import org.apache.commons.collections4.Closure;
-import org.apache.commons.collections4.CollectionUtils;
-
-import java.util.Arrays;
 
 /**
  * METHOD:REQUEST Validator.
@@ -47,23 +43,13 @@ public class VFreeBusyRequestValidator implements Validator<VFreeBusy> {
 
     private static final long serialVersionUID = 1L;
 
-    public void validate(final VFreeBusy target) throws ValidationException {
-        PropertyValidator.getInstance().assertOneOrMore(Property.ATTENDEE, target.getProperties());
-
-        CollectionUtils.forAllDo(Arrays.asList(Property.DTEND, Property.DTSTAMP, Property.DTSTART, Property.ORGANIZER,
-                Property.UID), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOne(input, target.getProperties());
-            }
-        });
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .oneOrMore(Property.ATTENDEE)
+            .one(Property.DTEND, Property.DTSTAMP, Property.DTSTART, Property.ORGANIZER, Property.UID)
+            .none(Property.FREEBUSY, Property.DURATION, Property.REQUEST_STATUS, Property.URL)
+            .build();
 
-        CollectionUtils.forAllDo(Arrays.asList(Property.FREEBUSY, Property.DURATION, Property.REQUEST_STATUS,
-                Property.URL), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertNone(input, target.getProperties());
-            }
-        });
+    public void validate(final VFreeBusy target) throws ValidationException {
+        RULES.assertValid(target.getProperties());
     }
 }
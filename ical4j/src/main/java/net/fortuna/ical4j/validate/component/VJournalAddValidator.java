@@ -2,13 +2,9 @@ package net.fortuna.ical4j.validate.component;
 
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VJournal;
-import net.fortuna.ical4j.validate.PropertyValidator;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
-import org.apache.commons.collections4.Closure;
-import org.apache.commons.collections4.CollectionUtils;
-
-import java.util.Arrays;
 
 /**
  * <pre>
@@ -58,24 +54,15 @@ public class VJournalAddValidator implements Validator<VJournal> {
 
     private static final long serialVersionUID = 1L;
 
-    public void validate(final VJournal target) throws ValidationException {
-        CollectionUtils.forAllDo(Arrays.asList(Property.DESCRIPTION, Property.DTSTAMP, Property.DTSTART, Property.ORGANIZER,
-                Property.SEQUENCE, Property.UID), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOne(input, target.getProperties());
-            }
-        });
-
-        CollectionUtils.forAllDo(Arrays.asList(Property.CATEGORIES, Property.CLASS, Property.CREATED, Property.LAST_MODIFIED,
-                Property.STATUS, Property.SUMMARY, Property.URL), new Closure<String>() {
-            @Override
-            public void execute(String input) {
-                PropertyValidator.getInstance().assertOneOrLess(input, target.getProperties());
-            }
-        });
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .one(Property.DESCRIPTION, Property.DTSTAMP, Property.DTSTART, Property.ORGANIZER, Property.SEQUENCE,
+                    Property.UID)
+            .oneOrLess(Property.CATEGORIES, Property.CLASS, Property.CREATED, Property.LAST_MODIFIED, Property.STATUS,
+                    Property.SUMMARY, Property.URL)
+            .none(Property.ATTENDEE, Property.RECURRENCE_ID)
+            .build();
 
-        PropertyValidator.getInstance().assertNone(Property.ATTENDEE, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.RECURRENCE_ID, target.getProperties());
+    public void validate(final VJournal target) throws ValidationException {
+        RULES.assertValid(target.getProperties());
     }
 }
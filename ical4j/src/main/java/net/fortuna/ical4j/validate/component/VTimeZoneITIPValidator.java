@@ -3,7 +3,7 @@ package net.fortuna.ical4j.validate.component;
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.Observance;
 import net.fortuna.ical4j.model.component.VTimeZone;
-import net.fortuna.ical4j.validate.PropertyValidator;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
 
@@ -46,16 +46,17 @@ public class VTimeZoneITIPValidator implements Validator<VTimeZone> {
 
     private static final long serialVersionUID = 1L;
 
+    private static final CardinalityRules OBSERVANCE_RULES = CardinalityRules.forProperties()
+            .one(Property.DTSTART, Property.TZOFFSETFROM, Property.TZOFFSETTO)
+            .oneOrLess(Property.TZNAME)
+            .build();
+
     /**
      * {@inheritDoc}
      */
     public void validate(VTimeZone target) throws ValidationException {
         for (final Observance observance : target.getObservances()) {
-            PropertyValidator.getInstance().assertOne(Property.DTSTART, observance.getProperties());
-            PropertyValidator.getInstance().assertOne(Property.TZOFFSETFROM, observance.getProperties());
-            PropertyValidator.getInstance().assertOne(Property.TZOFFSETTO, observance.getProperties());
-
-            PropertyValidator.getInstance().assertOneOrLess(Property.TZNAME, observance.getProperties());
+            OBSERVANCE_RULES.assertValid(observance.getProperties());
         }
     }
 }
@@ -3,8 +3,8 @@ package net.fortuna.ical4j.validate.component;
 import net.fortuna.ical4j.model.Component;
 import net.fortuna.ical4j.model.Property;
 import net.fortuna.ical4j.model.component.VToDo;
+import net.fortuna.ical4j.validate.CardinalityRules;
 import net.fortuna.ical4j.validate.ComponentValidator;
-import net.fortuna.ical4j.validate.PropertyValidator;
 import net.fortuna.ical4j.validate.ValidationException;
 import net.fortuna.ical4j.validate.Validator;
 
@@ -63,38 +63,19 @@ public class VToDoRefreshValidator implements Validator<VToDo> {
 
     private static final long serialVersionUID = 1L;
 
-    public void validate(VToDo target) throws ValidationException {
-        PropertyValidator.getInstance().assertOne(Property.ATTENDEE, target.getProperties());
-        PropertyValidator.getInstance().assertOne(Property.DTSTAMP, target.getProperties());
-        PropertyValidator.getInstance().assertOne(Property.UID, target.getProperties());
-
-        PropertyValidator.getInstance().assertOneOrLess(Property.RECURRENCE_ID, target.getProperties());
+    private static final CardinalityRules RULES = CardinalityRules.forProperties()
+            .one(Property.ATTENDEE, Property.DTSTAMP, Property.UID)
+            .oneOrLess(Property.RECURRENCE_ID)
+            .none(Property.ATTACH, Property.CATEGORIES, Property.CLASS, Property.CONTACT, Property.CREATED,
+                    Property.DESCRIPTION, Property.DTSTART, Property.DUE, Property.DURATION, Property.EXDATE,
+                    Property.EXRULE, Property.GEO, Property.LAST_MODIFIED, Property.LOCATION, Property.ORGANIZER,
+                    Property.PERCENT_COMPLETE, Property.PRIORITY, Property.RDATE, Property.RELATED_TO,
+                    Property.REQUEST_STATUS, Property.RESOURCES, Property.RRULE, Property.SEQUENCE, Property.STATUS,
+                    Property.URL)
+            .build();
 
-        PropertyValidator.getInstance().assertNone(Property.ATTACH, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.CATEGORIES, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.CLASS, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.CONTACT, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.CREATED, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.DESCRIPTION, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.DTSTART, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.DUE, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.DURATION, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.EXDATE, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.EXRULE, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.GEO, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.LAST_MODIFIED, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.LOCATION, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.ORGANIZER, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.PERCENT_COMPLETE, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.PRIORITY, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.RDATE, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.RELATED_TO, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.REQUEST_STATUS, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.RESOURCES, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.RRULE, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.SEQUENCE, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.STATUS, target.getProperties());
-        PropertyValidator.getInstance().assertNone(Property.URL, target.getProperties());
+    public void validate(VToDo target) throws ValidationException {
+        RULES.assertValid(target.getProperties());
 
         ComponentValidator.assertNone(Component.VALARM, target.getAlarms());
     }
@@ -0,0 +1,351 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.data;
+
+import net.fortuna.ical4j.model.Calendar;
+import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.Date;
+import net.fortuna.ical4j.model.DateTime;
+import net.fortuna.ical4j.model.Property;
+import net.fortuna.ical4j.model.TimeZone;
+import net.fortuna.ical4j.model.TimeZoneRegistry;
+import net.fortuna.ical4j.model.component.VEvent;
+import net.fortuna.ical4j.model.component.VTimeZone;
+import net.fortuna.ical4j.model.property.DtStart;
+import net.fortuna.ical4j.model.property.ExDate;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class CalendarSnapshotCodecTest {
+
+    private static final String CUSTOM_TIMEZONE = "BEGIN:VCALENDAR\r\n"
+            + "VERSION:2.0\r\n"
+            + "PRODID:-//Example//Feed//EN\r\n"
+            + "BEGIN:VTIMEZONE\r\n"
+            + "TZID:Example/Office\r\n"
+            + "BEGIN:STANDARD\r\n"
+            + "DTSTART:19701025T030000\r\n"
+            + "RRULE:FREQ=YEARLY;BYMONTH=10;BYDAY=-1SU\r\n"
+            + "TZOFFSETFROM:+0200\r\n"
+            + "TZOFFSETTO:+0100\r\n"
+            + "TZNAME:OST\r\n"
+            + "END:STANDARD\r\n"
+            + "BEGIN:DAYLIGHT\r\n"
+            + "DTSTART:19700329T020000\r\n"
+            + "RRULE:FREQ=YEARLY;BYMONTH=3;BYDAY=-1SU\r\n"
+            + "TZOFFSETFROM:+0100\r\n"
+            + "TZOFFSETTO:+0200\r\n"
+            + "TZNAME:ODT\r\n"
+            + "END:DAYLIGHT\r\n"
+            + "END:VTIMEZONE\r\n"
+            + "BEGIN:VEVENT\r\n"
+            + "UID:standup@example.com\r\n"
+            + "DTSTAMP:20180520T080000Z\r\n"
+            + "DTSTART;TZID=Example/Office:20180521T090000\r\n"
+            + "DTEND;TZID=Example/Office:20180521T091500\r\n"
+            + "RRULE:FREQ=WEEKLY;BYDAY=MO,WE,FR\r\n"
+            + "SUMMARY:Stand-up\r\n"
+            + "BEGIN:VALARM\r\n"
+            + "ACTION:DISPLAY\r\n"
+            + "DESCRIPTION:Stand-up\r\n"
+            + "TRIGGER:-PT5M\r\n"
+            + "END:VALARM\r\n"
+            + "END:VEVENT\r\n"
+            + "END:VCALENDAR\r\n";
+
+    private static final String VALUES = "BEGIN:VCALENDAR\r\n"
+            + "VERSION:2.0\r\n"
+            + "PRODID:-//Example//Feed//EN\r\n"
+            + "BEGIN:VEVENT\r\n"
+            + "UID:utc@example.com\r\n"
+            + "DTSTAMP:20180520T080000Z\r\n"
+            + "DTSTART:20180521T090000Z\r\n"
+            + "DTEND:20180521T100000Z\r\n"
+            + "RRULE:FREQ=DAILY;COUNT=5\r\n"
+            + "EXDATE:20180522T090000Z,20180523T090000Z\r\n"
+            + "RDATE;VALUE=PERIOD:20180530T090000Z/20180530T100000Z,20180531T090000Z/PT1H\r\n"
+            + "SUMMARY:Review\\, plan\\; and \\\\ ship\r\n"
+            + "DESCRIPTION:First line\\nSecond line\r\n"
+            + "ORGANIZER;CN=\"Doe, Jane\":mailto:jane@example.com\r\n"
+            + "ATTENDEE;CN=\"Roe; Rich: Esq.\";ROLE=REQ-PARTICIPANT:mailto:rich@example.com\r\n"
+            + "END:VEVENT\r\n"
+            + "BEGIN:VEVENT\r\n"
+            + "UID:floating@example.com\r\n"
+            + "DTSTAMP:20180520T080000Z\r\n"
+            + "DTSTART:20180521T090000\r\n"
+            + "DURATION:PT30M\r\n"
+            + "EXDATE:20180522T090000\r\n"
+            + "SUMMARY:Floating\r\n"
+            + "END:VEVENT\r\n"
+            + "BEGIN:VEVENT\r\n"
+            + "UID:date@example.com\r\n"
+            + "DTSTAMP:20180520T080000Z\r\n"
+            + "DTSTART;VALUE=DATE:20180521\r\n"
+            + "DTEND;VALUE=DATE:20180522\r\n"
+            + "EXDATE;VALUE=DATE:20180528,20180604\r\n"
+            + "RRULE:FREQ=WEEKLY;UNTIL=20180630\r\n"
+            + "SUMMARY:All day\r\n"
+            + "END:VEVENT\r\n"
+            + "END:VCALENDAR\r\n";
+
+    /**
+     * A timezone defined by the calendar itself is registered when the calendar is built, and must still be written
+     * in full so that the snapshot can be read with a registry that has never seen it.
+     */
+    @Test
+    public void testCustomTimeZoneRoundTrip() throws Exception {
+        final TimeZoneRegistry registry = new MapTimeZoneRegistry();
+        final Calendar calendar = new CalendarBuilder(registry).build(new StringReader(CUSTOM_TIMEZONE));
+        assertNotNull(registry.getTimeZone("Example/Office"));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new CalendarSnapshotCodec(registry).write(calendar, out);
+
+        final TimeZoneRegistry readRegistry = new MapTimeZoneRegistry();
+        final Calendar restored = new CalendarSnapshotCodec(readRegistry)
+                .read(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(output(calendar), output(restored));
+        assertEquals(calendar, restored);
+
+        final VTimeZone vTimeZone = (VTimeZone) restored.getComponent(Component.VTIMEZONE);
+        assertEquals(2, vTimeZone.getObservances().size());
+        assertNotNull(readRegistry.getTimeZone("Example/Office"));
+
+        final VEvent event = (VEvent) calendar.getComponent(Component.VEVENT);
+        final VEvent restoredEvent = (VEvent) restored.getComponent(Component.VEVENT);
+        assertEquals(1, restoredEvent.getAlarms().size());
+        assertEquals(event.getStartDate().getDate().getTime(), restoredEvent.getStartDate().getDate().getTime());
+        assertEquals("Example/Office", restoredEvent.getStartDate().getTimeZone().getID());
+    }
+
+    /**
+     * A timezone identical to the included definition is written as a reference to its TZID, and restored from the
+     * definition.
+     */
+    @Test
+    public void testIncludedTimeZoneRoundTrip() throws Exception {
+        final TimeZoneRegistry registry = new MapTimeZoneRegistry();
+        final Calendar calendar = new CalendarBuilder(registry).build(new StringReader(CUSTOM_TIMEZONE));
+        final VTimeZone included = (VTimeZone) calendar.getComponent(Component.VTIMEZONE);
+        final CalendarSnapshotCodec codec = new IncludedTimeZoneCodec(registry, new TimeZone((VTimeZone) included.copy()));
+
+        final byte[] snapshot = write(codec, calendar);
+        assertFalse(new String(snapshot, "UTF-8").contains("TZOFFSETFROM"));
+        assertTrue(snapshot.length < write(new CalendarSnapshotCodec(registry), calendar).length);
+
+        final TimeZoneRegistry readRegistry = new MapTimeZoneRegistry();
+        final Calendar restored = new IncludedTimeZoneCodec(readRegistry, new TimeZone((VTimeZone) included.copy()))
+                .read(new ByteArrayInputStream(snapshot));
+        assertEquals(output(calendar), output(restored));
+        assertEquals(calendar, restored);
+        assertNotNull(readRegistry.getTimeZone("Example/Office"));
+
+        final VEvent restoredEvent = (VEvent) restored.getComponent(Component.VEVENT);
+        assertEquals("Example/Office", restoredEvent.getStartDate().getTimeZone().getID());
+    }
+
+    /**
+     * UTC, floating and DATE values, period and date lists, escaped text and quoted parameters are restored as
+     * they were parsed.
+     */
+    @Test
+    public void testValuesRoundTrip() throws Exception {
+        final TimeZoneRegistry registry = new MapTimeZoneRegistry();
+        final Calendar calendar = new CalendarBuilder(registry).build(new StringReader(VALUES));
+        final Calendar restored = roundTrip(calendar, registry);
+
+        assertEquals(output(calendar), output(restored));
+        assertEquals(calendar, restored);
+
+        final VEvent utc = getEvent(restored, "utc@example.com");
+        assertTrue(((DateTime) utc.getStartDate().getDate()).isUtc());
+        assertEquals("Review, plan; and \\ ship", utc.getSummary().getValue());
+        assertEquals("First line\nSecond line", utc.getDescription().getValue());
+        assertEquals("Doe, Jane", utc.getOrganizer().getParameter("CN").getValue());
+        assertEquals(2, ((ExDate) utc.getProperty(Property.EXDATE)).getDates().size());
+
+        final DtStart floating = getEvent(restored, "floating@example.com").getStartDate();
+        assertFalse(((DateTime) floating.getDate()).isUtc());
+        assertEquals(null, floating.getTimeZone());
+        assertEquals(getEvent(calendar, "floating@example.com").getStartDate().getDate(), floating.getDate());
+
+        final DtStart date = getEvent(restored, "date@example.com").getStartDate();
+        assertFalse(date.getDate() instanceof DateTime);
+        assertEquals(new Date("20180521"), date.getDate());
+    }
+
+    /**
+     * A calendar built with lazy values is written with the same values as one built eagerly.
+     */
+    @Test
+    public void testLazyValuesRoundTrip() throws Exception {
+        final TimeZoneRegistry registry = new MapTimeZoneRegistry();
+        final Calendar calendar = new CalendarBuilder(registry).build(new StringReader(VALUES));
+        final CalendarBuilder lazyBuilder = new CalendarBuilder(registry);
+        lazyBuilder.setLazyValues(true);
+        final Calendar lazy = lazyBuilder.build(new StringReader(VALUES));
+
+        final Calendar restored = roundTrip(lazy, registry);
+        assertEquals(output(calendar), output(restored));
+        assertEquals(calendar, restored);
+        assertTrue(Arrays.equals(write(new CalendarSnapshotCodec(registry), calendar),
+                write(new CalendarSnapshotCodec(registry), lazy)));
+    }
+
+    /**
+     * Every truncation of a snapshot, and a string length beyond the end of the stream, fail with an IOException.
+     */
+    @Test
+    public void testCorruptSnapshot() throws Exception {
+        final TimeZoneRegistry registry = new MapTimeZoneRegistry();
+        final byte[] snapshot = write(new CalendarSnapshotCodec(registry),
+                new CalendarBuilder(registry).build(new StringReader(CUSTOM_TIMEZONE)));
+
+        for (int length = 0; length < snapshot.length; length++) {
+            assertInvalid(Arrays.copyOf(snapshot, length));
+        }
+        for (int i = 5; i < snapshot.length; i++) {
+            final byte[] corrupt = snapshot.clone();
+            corrupt[i] = (byte) ~corrupt[i];
+            try {
+                new CalendarSnapshotCodec(new MapTimeZoneRegistry()).read(new ByteArrayInputStream(corrupt));
+            } catch (IOException e) {
+                // expected for most positions, others corrupt only a value..
+            }
+        }
+
+        // a snapshot with no properties and a first string claiming ~1GB..
+        final byte[] header = Arrays.copyOf(snapshot, 5);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(header);
+        out.write(new byte[] {2, 2, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x07, 'A'});
+        assertInvalid(out.toByteArray());
+    }
+
+    private static void assertInvalid(final byte[] snapshot) {
+        try {
+            new CalendarSnapshotCodec(new MapTimeZoneRegistry()).read(new ByteArrayInputStream(snapshot));
+            fail("Expected IOException for " + snapshot.length + " bytes");
+        } catch (IOException e) {
+            // expected..
+        }
+    }
+
+    private static Calendar roundTrip(final Calendar calendar, final TimeZoneRegistry registry) throws Exception {
+        final byte[] snapshot = write(new CalendarSnapshotCodec(registry), calendar);
+        return new CalendarSnapshotCodec(registry).read(new ByteArrayInputStream(snapshot));
+    }
+
+    private static byte[] write(final CalendarSnapshotCodec codec, final Calendar calendar) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(calendar, out);
+        return out.toByteArray();
+    }
+
+    private static VEvent getEvent(final Calendar calendar, final String uid) {
+        for (final Object component : calendar.getComponents(Component.VEVENT)) {
+            final VEvent event = (VEvent) component;
+            if (uid.equals(event.getUid().getValue())) {
+                return event;
+            }
+        }
+        throw new AssertionError("No event " + uid);
+    }
+
+    private static String output(final Calendar calendar) throws Exception {
+        final StringWriter out = new StringWriter();
+        new CalendarOutputter(false).output(calendar, out);
+        return out.toString();
+    }
+
+    /**
+     * A codec with a single included timezone definition, in place of the definitions loaded from assets.
+     */
+    private static class IncludedTimeZoneCodec extends CalendarSnapshotCodec {
+
+        private final TimeZone included;
+
+        IncludedTimeZoneCodec(final TimeZoneRegistry registry, final TimeZone included) {
+            super(registry);
+            this.included = included;
+        }
+
+        @Override
+        protected TimeZone getDefaultTimeZone(final String id) {
+            return included.getID().equals(id) ? included : null;
+        }
+    }
+
+    /**
+     * A registry without included definitions, holding only the timezones registered with it.
+     */
+    private static class MapTimeZoneRegistry implements TimeZoneRegistry {
+
+        private final Map<String, TimeZone> timezones = new HashMap<String, TimeZone>();
+
+        public void register(final TimeZone timezone) {
+            timezones.put(timezone.getID(), timezone);
+        }
+
+        public void register(final TimeZone timezone, final boolean update) {
+            register(timezone);
+        }
+
+        public void clear() {
+            timezones.clear();
+        }
+
+        public TimeZone getTimeZone(final String id) {
+            return timezones.get(id);
+        }
+    }
+}
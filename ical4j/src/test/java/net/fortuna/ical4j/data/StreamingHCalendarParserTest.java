@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.data;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Verifies that {@link StreamingHCalendarParser} reports the same content as {@link HCalendarParser}. The sample
+ * documents avoid the documented differences between the two parsers (the position of the "method" property, class
+ * names matched within other tokens and empty property elements).
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class StreamingHCalendarParserTest {
+
+    private static final String XHTML = "<html xmlns=\"http://www.w3.org/1999/xhtml\">";
+
+    @Test
+    public void testSingleEvent() throws Exception {
+        assertEquivalent(XHTML + "<body><div class=\"vevent\">"
+                + "<abbr class=\"dtstart\" title=\"2018-05-21T09:00:00Z\">May 21, 9am</abbr>"
+                + "<abbr class=\"dtend\" title=\"2018-05-21T10:30:00Z\">10:30am</abbr>"
+                + "<span class=\"summary\">Weekly sync</span>"
+                + "<span class=\"uid\">sync-1@example.com</span>"
+                + "</div></body></html>");
+    }
+
+    @Test
+    public void testAllProperties() throws Exception {
+        assertEquivalent(XHTML + "<body><div class=\"vcalendar\">"
+                + "<span class=\"method\">PUBLISH</span>"
+                + "<div class=\"vevent\">"
+                + "<h2 class=\"summary\" title=\"Release party\">Party!</h2>"
+                + "<abbr class=\"dtstart\" title=\"2018-06-01\">June 1</abbr>"
+                + "<abbr class=\"duration\" title=\"P1D\">all day</abbr>"
+                + "<span class=\"uid\">party@example.com</span>"
+                + "<abbr class=\"dtstamp\" title=\"2018-05-20T08:00:00Z\">May 20</abbr>"
+                + "<span class=\"category\">Social</span>, <span class=\"category\">Team</span>"
+                + "<span class=\"location\" xml:lang=\"en\">Roof   terrace</span>"
+                + "<a class=\"url\" href=\"http://example.com/party\">details</a>"
+                + "<p class=\"description\" xml:lang=\"en\">Bring\n  a friend</p>"
+                + "<abbr class=\"last-modified\" title=\"2018-05-20T08:30:00Z\">May 20</abbr>"
+                + "<span class=\"status\">CONFIRMED</span>"
+                + "<span class=\"class\">PUBLIC</span>"
+                + "<a class=\"attendee\" href=\"mailto:ann@example.com\">Ann</a>"
+                + "<a class=\"attendee\" href=\"mailto:bob@example.com\">Bob</a>"
+                + "<span class=\"contact\">Carol</span>"
+                + "<a class=\"organizer\" href=\"mailto:dave@example.com\">Dave</a>"
+                + "<span class=\"sequence\">2</span>"
+                + "<img class=\"attach\" src=\"http://example.com/party.png\" alt=\"poster\"/>"
+                + "</div></div></body></html>");
+    }
+
+    @Test
+    public void testMultipleEvents() throws Exception {
+        StringBuilder b = new StringBuilder(XHTML).append("<body><ul>");
+        for (int i = 0; i < 20; i++) {
+            b.append("<li class=\"vevent\">")
+                    .append("<span class=\"summary\">Event ").append(i).append("</span>")
+                    .append("<abbr class=\"dtstart\" title=\"2018-05-").append(10 + i).append("\">day</abbr>")
+                    .append("<img class=\"location\" src=\"map.png\" alt=\"Room ").append(i).append("\"/>")
+                    .append("<span class=\"uid\">event-").append(i).append("</span>")
+                    .append("</li>");
+        }
+        b.append("</ul></body></html>");
+        assertEquivalent(b.toString());
+    }
+
+    @Test
+    public void testNoEvents() throws Exception {
+        assertEquivalent(XHTML + "<body><p>Nothing scheduled</p></body></html>");
+    }
+
+    private static void assertEquivalent(String document) throws Exception {
+        RecordingHandler expected = new RecordingHandler();
+        new HCalendarParser().parse(new StringReader(document), expected);
+        RecordingHandler actual = new RecordingHandler();
+        new StreamingHCalendarParser().parse(new StringReader(document), actual);
+
+        assertTrue(expected.events.contains("startCalendar"));
+        assertEquals(expected.events, actual.events);
+    }
+
+    /**
+     * Records each callback as a line of text.
+     */
+    private static class RecordingHandler implements ContentHandler {
+
+        private final List<String> events = new ArrayList<String>();
+
+        public void startCalendar() {
+            events.add("startCalendar");
+        }
+
+        public void endCalendar() {
+            events.add("endCalendar");
+        }
+
+        public void startComponent(String name) {
+            events.add("startComponent " + name);
+        }
+
+        public void endComponent(String name) {
+            events.add("endComponent " + name);
+        }
+
+        public void startProperty(String name) {
+            events.add("startProperty " + name);
+        }
+
+        public void propertyValue(String value) {
+            events.add("propertyValue " + value);
+        }
+
+        public void endProperty(String name) {
+            events.add("endProperty " + name);
+        }
+
+        public void parameter(String name, String value) {
+            events.add("parameter " + name + "=" + value);
+        }
+    }
+}
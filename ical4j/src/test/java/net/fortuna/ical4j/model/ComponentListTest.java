@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.component.VEvent;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Lists returned by {@link ComponentList#getComponents(String)} are read-only through every mutator.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class ComponentListTest {
+
+    @Test
+    public void testUnindexedComponentsAreReadOnly() {
+        assertReadOnly(3);
+    }
+
+    @Test
+    public void testIndexedComponentsAreReadOnly() {
+        assertReadOnly(12);
+    }
+
+    @Test
+    public void testComponentsAreNotAffectedByLaterChanges() {
+        final ComponentList<Component> list = newList(12);
+        final ComponentList<VEvent> events = list.getComponents(Component.VEVENT);
+        list.add(new VEvent());
+        assertEquals(12, events.size());
+        assertEquals(13, list.getComponents(Component.VEVENT).size());
+    }
+
+    private static void assertReadOnly(final int size) {
+        final ComponentList<Component> list = newList(size);
+        final ComponentList<VEvent> events = list.getComponents(Component.VEVENT);
+        final VEvent event = events.get(0);
+
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.add(new VEvent());
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.add(0, new VEvent());
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.addAll(Collections.singletonList(new VEvent()));
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.addAll(0, Collections.singletonList(new VEvent()));
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.set(0, new VEvent());
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.remove(0);
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.remove(event);
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.removeAll(Collections.singletonList(event));
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.retainAll(Collections.emptyList());
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.clear();
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.removeIf(new Predicate<VEvent>() {
+                    public boolean test(final VEvent e) {
+                        return true;
+                    }
+                });
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.replaceAll(new UnaryOperator<VEvent>() {
+                    public VEvent apply(final VEvent e) {
+                        return new VEvent();
+                    }
+                });
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.sort(new Comparator<VEvent>() {
+                    public int compare(final VEvent e1, final VEvent e2) {
+                        return 0;
+                    }
+                });
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                final Iterator<VEvent> i = events.iterator();
+                i.next();
+                i.remove();
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                final ListIterator<VEvent> i = events.listIterator();
+                i.next();
+                i.set(new VEvent());
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.listIterator(1).add(new VEvent());
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.subList(0, 1).set(0, new VEvent());
+            }
+        });
+        assertUnsupported(new Runnable() {
+            public void run() {
+                events.subList(0, 1).clear();
+            }
+        });
+
+        assertEquals(size, events.size());
+        assertSame(event, events.get(0));
+        final List<VEvent> all = events.subList(0, size);
+        assertEquals(size, all.size());
+        int count = 0;
+        for (final VEvent e : events) {
+            assertSame(list.get(count++), e);
+        }
+        assertEquals(size, count);
+    }
+
+    private static ComponentList<Component> newList(final int size) {
+        final ComponentList<Component> list = new ComponentList<Component>();
+        for (int i = 0; i < size; i++) {
+            list.add(new VEvent());
+        }
+        return list;
+    }
+
+    private static void assertUnsupported(final Runnable mutator) {
+        try {
+            mutator.run();
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException e) {
+            // expected..
+        }
+    }
+}
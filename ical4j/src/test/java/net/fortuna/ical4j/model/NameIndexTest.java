@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.component.VEvent;
+import net.fortuna.ical4j.model.parameter.XParameter;
+import net.fortuna.ical4j.model.property.XProperty;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Lookups by name match the same content whether or not the list is large enough to be indexed.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class NameIndexTest {
+
+    @Test
+    public void testProperties() {
+        for (int size = 1; size <= NameIndex.MIN_SIZE * 2; size++) {
+            final PropertyList<Property> properties = new PropertyList<Property>();
+            for (int i = 0; i < size; i++) {
+                properties.add(new XProperty("X-P" + (i % 3), String.valueOf(i)));
+            }
+            assertEquals("0", properties.getProperty("x-p0").getValue());
+            assertEquals((size + 2) / 3, properties.getProperties("X-P0").size());
+            assertNull(properties.getProperty("X-NONE"));
+            assertNull(properties.getProperty(null));
+            assertTrue(properties.getProperties(null).isEmpty());
+        }
+    }
+
+    @Test
+    public void testParameters() {
+        for (int size = 1; size <= NameIndex.MIN_SIZE * 2; size++) {
+            final ParameterList parameters = new ParameterList();
+            for (int i = 0; i < size; i++) {
+                parameters.add(new XParameter("X-P" + i, String.valueOf(i)));
+            }
+            assertNotNull(parameters.getParameter("x-p0"));
+            assertNull(parameters.getParameter(null));
+            assertTrue(parameters.getParameters(null).isEmpty());
+        }
+    }
+
+    @Test
+    public void testComponents() {
+        final ComponentList<Component> components = new ComponentList<Component>();
+        for (int size = 1; size <= NameIndex.MIN_SIZE * 2; size++) {
+            components.add(new VEvent());
+            assertNotNull(components.getComponent(Component.VEVENT));
+            assertNull(components.getComponent(null));
+            assertTrue(components.getComponents(null).isEmpty());
+        }
+    }
+}
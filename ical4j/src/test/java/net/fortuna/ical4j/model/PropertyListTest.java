@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.component.VEvent;
+import net.fortuna.ical4j.model.property.RRule;
+import net.fortuna.ical4j.model.property.Summary;
+import net.fortuna.ical4j.model.property.Uid;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Hashes of property lists follow their content, including values modified in place.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class PropertyListTest {
+
+    @Test
+    public void testHashCodeFollowsValueModifiedInPlace() throws Exception {
+        final VEvent event = newEvent("before");
+        final int hashCode = event.hashCode();
+        final Summary summary = (Summary) event.getProperty(Property.SUMMARY);
+        summary.setValue("after");
+
+        final VEvent other = newEvent("after");
+        assertEquals(other, event);
+        assertEquals(other.hashCode(), event.hashCode());
+        assertFalse(hashCode == event.hashCode());
+    }
+
+    @Test
+    public void testHashCodeFollowsLazyValue() throws Exception {
+        final VEvent event = newEvent("summary");
+        event.getProperties().add(new RRule("FREQ=WEEKLY;BYDAY=MO"));
+        final VEvent lazy = newEvent("summary");
+        final RRule rule = new RRule();
+        rule.setLazyValue("BYDAY=MO;FREQ=WEEKLY");
+        lazy.getProperties().add(rule);
+
+        final int hashCode = lazy.hashCode();
+        assertEquals(event, lazy);
+        assertEquals(event.hashCode(), lazy.hashCode());
+        assertEquals(hashCode, lazy.hashCode());
+        assertEquals(event.fingerprint(), lazy.fingerprint());
+    }
+
+    private static VEvent newEvent(final String summary) {
+        final VEvent event = new VEvent(false);
+        event.getProperties().add(new Uid("uid"));
+        event.getProperties().add(new Summary(summary));
+        return event;
+    }
+}
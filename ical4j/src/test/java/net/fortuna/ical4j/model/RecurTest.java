@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.parameter.Value;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * BY* rule parts expand the candidates of coarser frequencies and limit those of the same or finer frequencies.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class RecurTest {
+
+    private static final String SEED = "20240105T100000Z";
+
+    @Test
+    public void testMonthsExpandYearly() throws Exception {
+        assertDates("FREQ=YEARLY;BYMONTH=1,3;BYDAY=MO;COUNT=6",
+                "20240108T100000Z,20240115T100000Z,20240122T100000Z,20240129T100000Z,20240304T100000Z,"
+                        + "20240311T100000Z");
+    }
+
+    @Test
+    public void testMonthDaysExpandMonthly() throws Exception {
+        assertDates("FREQ=MONTHLY;BYMONTHDAY=-1,15;COUNT=5",
+                "20240115T100000Z,20240131T100000Z,20240215T100000Z,20240229T100000Z,20240315T100000Z");
+    }
+
+    @Test
+    public void testMonthsLimitWeekly() throws Exception {
+        assertDates("FREQ=WEEKLY;BYMONTH=2;COUNT=3", "20240202T100000Z,20240209T100000Z,20240216T100000Z");
+    }
+
+    @Test
+    public void testMonthDaysLimitDaily() throws Exception {
+        assertDates("FREQ=DAILY;BYMONTHDAY=-1;COUNT=3", "20240131T100000Z,20240229T100000Z,20240331T100000Z");
+    }
+
+    @Test
+    public void testDaysLimitHourly() throws Exception {
+        assertDates("FREQ=HOURLY;BYDAY=SA;COUNT=3", "20240106T000000Z,20240106T010000Z,20240106T020000Z");
+    }
+
+    @Test
+    public void testHoursLimitHourly() throws Exception {
+        assertDates("FREQ=HOURLY;BYHOUR=9,17;COUNT=4",
+                "20240105T170000Z,20240106T090000Z,20240106T170000Z,20240107T090000Z");
+    }
+
+    @Test
+    public void testMinutesLimitMinutely() throws Exception {
+        assertDates("FREQ=MINUTELY;BYMINUTE=0,30;COUNT=3", "20240105T100000Z,20240105T103000Z,20240105T110000Z");
+    }
+
+    @Test
+    public void testSecondsLimitSecondly() throws Exception {
+        assertDates("FREQ=SECONDLY;BYSECOND=0,30;COUNT=3", "20240105T100000Z,20240105T100030Z,20240105T100100Z");
+    }
+
+    private static void assertDates(final String rule, final String expected) throws Exception {
+        final DateTime seed = new DateTime(SEED);
+        final DateTime end = new DateTime("20270105T100000Z");
+        assertEquals(expected, new Recur(rule).getDates(seed, new Period(seed, end), Value.DATE_TIME).toString());
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model.property;
+
+import net.fortuna.ical4j.model.CalendarException;
+import net.fortuna.ical4j.model.ParameterList;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Lazily set values: failures to parse are reported as {@link CalendarException} and leave the value as it was set,
+ * and RRULE values read the same whether or not they have been parsed.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE)
+public class LazyValueTest {
+
+    @Test
+    public void testInvalidDateIsKept() throws Exception {
+        final DtStart dtStart = new DtStart();
+        dtStart.setLazyValue("2018-05-21");
+        assertInvalid(new Runnable() {
+            public void run() {
+                dtStart.getDate();
+            }
+        });
+        assertInvalid(new Runnable() {
+            public void run() {
+                dtStart.getDate();
+            }
+        });
+        assertEquals("2018-05-21", dtStart.getValue());
+    }
+
+    @Test
+    public void testInvalidDateListIsKept() throws Exception {
+        final ExDate exDate = new ExDate();
+        exDate.setLazyValue("20180521T090000,bad");
+        assertInvalid(new Runnable() {
+            public void run() {
+                exDate.getDates();
+            }
+        });
+        assertEquals("20180521T090000,bad", exDate.getValue());
+    }
+
+    @Test
+    public void testInvalidRuleIsKept() throws Exception {
+        final RRule rule = new RRule();
+        rule.setLazyValue("FREQ=WEEKLY;BYDAY");
+        assertInvalid(new Runnable() {
+            public void run() {
+                rule.getRecur();
+            }
+        });
+        assertEquals("FREQ=WEEKLY;BYDAY", rule.getValue());
+
+        rule.setLazyValue("FREQ=SOMETIMES");
+        assertInvalid(new Runnable() {
+            public void run() {
+                rule.getRecur();
+            }
+        });
+        assertEquals("FREQ=SOMETIMES", rule.getValue());
+    }
+
+    @Test
+    public void testRuleValueIsNormalised() throws Exception {
+        final RRule eager = new RRule(new ParameterList(), "BYDAY=MO;FREQ=WEEKLY");
+        final RRule lazy = new RRule();
+        lazy.setLazyValue("BYDAY=MO;FREQ=WEEKLY");
+
+        final String value = lazy.getValue();
+        assertEquals(eager.getValue(), value);
+        assertEquals(eager, lazy);
+        assertEquals(eager.hashCode(), lazy.hashCode());
+        lazy.getRecur();
+        assertEquals(value, lazy.getValue());
+    }
+
+    private static void assertInvalid(final Runnable access) {
+        try {
+            access.run();
+            fail("Expected CalendarException");
+        } catch (CalendarException e) {
+            // expected..
+        }
+    }
+}
@@ -16,15 +16,12 @@ import java.util.concurrent.ConcurrentHashMap;
 public class Reflect {
     //缓存ClassName对应的Class
     private static ConcurrentHashMap<String, Class> classCache;
-    //缓存属性值
-    private static ConcurrentHashMap<String, Field> fieldCache;
-    //缓存方法
-    private static ConcurrentHashMap<String, Method> methodCache;
+    //按Class缓存属性和方法, 查找失败的结果也会缓存
+    private static ConcurrentHashMap<Class<?>, Members> memberCache;
 
     static {
         classCache = new ConcurrentHashMap<>();
-        fieldCache = new ConcurrentHashMap<>();
-        methodCache = new ConcurrentHashMap<>();
+        memberCache = new ConcurrentHashMap<>();
     }
 
     // ---------------------------------------------------------------------
@@ -116,7 +113,7 @@ public class Reflect {
 
     public Reflect set(String name, Object value) throws ReflectException {
         try {
-            Field field = field0(name);
+            Field field = cachedField(name);
             if ((field.getModifiers() & Modifier.FINAL) == Modifier.FINAL) {
                 Field modifiersField = Field.class.getDeclaredField("modifiers");
                 modifiersField.setAccessible(true);
@@ -136,16 +133,7 @@ public class Reflect {
 
     public Reflect field(String name) throws ReflectException {
         try {
-            String fieldKey = type().getName() + "&" + name;
-            Field field = null;
-            if (fieldCache != null) {
-                field = fieldCache.get(fieldKey);
-            }
-
-            if (field == null) {
-                field = field0(name);
-                fieldCache.put(fieldKey, field);
-            }
+            Field field = cachedField(name);
             return on(field.get(object));
         }
         catch (Exception e) {
@@ -153,6 +141,28 @@ public class Reflect {
         }
     }
 
+    /**
+     * 从缓存获取属性, 属性不存在时同样缓存查找结果, 不再重复遍历类继承关系
+     */
+    private Field cachedField(String name) throws ReflectException {
+        Members members = members(type());
+        Object field = members.fields.get(name);
+        if (field == null) {
+            try {
+                field = field0(name);
+            } catch (ReflectException e) {
+                members.fields.put(name, NO_MEMBER);
+                throw e;
+            }
+            members.fields.put(name, field);
+        }
+
+        if (field == NO_MEMBER) {
+            throw new ReflectException(new NoSuchFieldException(name));
+        }
+        return (Field) field;
+    }
+
     private Field field0(String name) throws ReflectException {
         Class<?> type = type();
 
@@ -208,43 +218,36 @@ public class Reflect {
 
     public Method getMethod(String name, Object... args) throws ReflectException {
         Class<?>[] types = types(args);
+        Members members = members(type());
 
-        String methodKey = type().getName() + '&' + name + Arrays.toString(types);
+        MethodEntry entry = members.findMethod(name, types);
+        if (entry != null) {
+            if (entry.method == null) {
+                throw new ReflectException(new NoSuchMethodException(entry.missing));
+            }
+            return entry.method;
+        }
 
+        Method method;
         // Try invoking the "canonical" method, i.e. the one with exact
         // matching argument types
         try {
-            Method method = null;
-            if (methodCache != null) {
-                method = methodCache.get(methodKey);
-            }
-
-            if (method == null) {
-                method = exactMethod(name, types);
-                methodCache.put(methodKey, method);
-            }
-            return method;
+            method = exactMethod(name, types);
         }
 
         // If there is no exact match, try to find a method that has a "similar"
         // signature if primitive argument types are converted to their wrappers
         catch (NoSuchMethodException e) {
             try {
-                Method method = null;
-                if (methodCache != null) {
-                    method = methodCache.get(methodKey);
-                }
-
-                if (method == null) {
-                    method = similarMethod(name, types);
-                    methodCache.put(methodKey, method);
-                }
-
-                return method;
+                method = similarMethod(name, types);
             } catch (NoSuchMethodException e1) {
+                members.putMethod(name, types, null, e1.getMessage());
                 throw new ReflectException(e1);
             }
         }
+
+        members.putMethod(name, types, accessible(method), null);
+        return method;
     }
 
     private Method exactMethod(String name, Class<?>[] types) throws NoSuchMethodException {
@@ -574,17 +577,92 @@ public class Reflect {
 
     private static class NULL {}
 
+    //缓存中表示属性不存在
+    private static final Object NO_MEMBER = new Object();
+
+    private static Members members(Class<?> type) {
+        Members members = memberCache.get(type);
+        if (members == null) {
+            members = new Members();
+            Members previous = memberCache.putIfAbsent(type, members);
+            if (previous != null) {
+                members = previous;
+            }
+        }
+        return members;
+    }
+
+    /**
+     * 一个Class的属性和方法缓存, 以名称为key, 方法再按参数类型区分
+     */
+    private static class Members {
+        // value为Field或NO_MEMBER
+        final ConcurrentHashMap<String, Object> fields = new ConcurrentHashMap<>();
+        // 同名方法的不同参数类型, 数组只替换不修改
+        final ConcurrentHashMap<String, MethodEntry[]> methods = new ConcurrentHashMap<>();
+
+        MethodEntry findMethod(String name, Class<?>[] types) {
+            MethodEntry[] entries = methods.get(name);
+            if (entries != null) {
+                for (MethodEntry entry : entries) {
+                    if (entry.matches(types)) {
+                        return entry;
+                    }
+                }
+            }
+            return null;
+        }
+
+        synchronized void putMethod(String name, Class<?>[] types, Method method, String missing) {
+            if (findMethod(name, types) != null) {
+                return;
+            }
+
+            MethodEntry[] entries = methods.get(name);
+            MethodEntry[] newEntries;
+            if (entries == null) {
+                newEntries = new MethodEntry[1];
+            } else {
+                newEntries = Arrays.copyOf(entries, entries.length + 1);
+            }
+            newEntries[newEntries.length - 1] = new MethodEntry(types, method, missing);
+            methods.put(name, newEntries);
+        }
+    }
+
+    private static class MethodEntry {
+        final Class<?>[] types;
+        // 为null时表示没有匹配的方法
+        final Method method;
+        // 没有匹配的方法时的异常信息
+        final String missing;
+
+        MethodEntry(Class<?>[] types, Method method, String missing) {
+            this.types = types;
+            this.method = method;
+            this.missing = missing;
+        }
+
+        boolean matches(Class<?>[] other) {
+            if (types.length != other.length) {
+                return false;
+            }
+            for (int i = 0; i < types.length; i++) {
+                if (types[i] != other[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
     public static void clearAllCache() {
         if(classCache != null) {
             classCache.clear();
         }
 
-        if(fieldCache != null) {
-            fieldCache.clear();
-        }
-
-        if(methodCache != null) {
-            methodCache.clear();
+        if(memberCache != null) {
+            memberCache.clear();
         }
     }
 
@@ -0,0 +1,88 @@
+package com.sven.reflect;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Reflect与直接反射的耗时对比, 在JVM上直接运行main
+ * 每项先预热再计时, 输出每次调用的平均纳秒数
+ */
+public class ReflectBenchmark {
+
+    private static final int WARMUP = 200000;
+    private static final int ITERATIONS = 2000000;
+    // 查找失败的开销较大, 减少次数
+    private static final int MISS_ITERATIONS = 200000;
+
+    static class Target {
+        private int value = 42;
+
+        private int plus(int a, int b) {
+            return a + b + value;
+        }
+    }
+
+    interface Task {
+        Object run() throws Exception;
+    }
+
+    // 防止JIT消除调用
+    private static volatile Object sSink;
+
+    public static void main(String[] args) throws Exception {
+        final Target target = new Target();
+        final Reflect reflect = Reflect.on(target);
+
+        final Method method = Target.class.getDeclaredMethod("plus", int.class, int.class);
+        method.setAccessible(true);
+        final Field field = Target.class.getDeclaredField("value");
+        field.setAccessible(true);
+
+        report("call()", ITERATIONS, new Task() {
+            @Override
+            public Object run() throws Exception {
+                return reflect.call("plus", 1, 2).get();
+            }
+        });
+        report("Method.invoke", ITERATIONS, new Task() {
+            @Override
+            public Object run() throws Exception {
+                return method.invoke(target, 1, 2);
+            }
+        });
+        report("field get", ITERATIONS, new Task() {
+            @Override
+            public Object run() throws Exception {
+                return reflect.get("value");
+            }
+        });
+        report("Field.get", ITERATIONS, new Task() {
+            @Override
+            public Object run() throws Exception {
+                return field.get(target);
+            }
+        });
+        report("missing field", MISS_ITERATIONS, new Task() {
+            @Override
+            public Object run() throws Exception {
+                try {
+                    return reflect.get("missing");
+                } catch (Reflect.ReflectException e) {
+                    return e;
+                }
+            }
+        });
+    }
+
+    private static void report(String name, int iterations, Task task) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            sSink = task.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sSink = task.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println(String.format("%-16s %8.1f ns/op", name, (double) elapsed / iterations));
+    }
+}